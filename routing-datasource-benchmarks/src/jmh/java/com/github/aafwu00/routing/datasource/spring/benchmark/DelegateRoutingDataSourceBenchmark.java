@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.EnumRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRuleImpl;
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DelegateRoutingDataSourceFactory;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSources;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Checkout and release a connection through each layer of replication routing, compared with the pool itself.
+ *
+ * @author Taeho Kim
+ */
+@State(Scope.Benchmark)
+public class DelegateRoutingDataSourceBenchmark {
+    private HikariDataSource master;
+    private HikariDataSource slave;
+    private DelegateRoutingDataSource<ReplicationType> delegateRoutingDataSource;
+    private EnumRoutingDataSource<ReplicationType> enumRoutingDataSource;
+    private LazyConnectionDataSourceProxy lazyConnectionDataSourceProxy;
+
+    @Setup
+    public void setUp() {
+        master = H2DataSources.create("master");
+        slave = H2DataSources.create("slave");
+        final Map<ReplicationType, DataSource> targets = new EnumMap<>(ReplicationType.class);
+        targets.put(ReplicationType.Master, master);
+        targets.put(ReplicationType.Slave, slave);
+        delegateRoutingDataSource = new DelegateRoutingDataSource<>(new ReplicationRoutingRuleImpl());
+        delegateRoutingDataSource.setTargetDataSources(new HashMap<>(targets));
+        delegateRoutingDataSource.afterPropertiesSet();
+        enumRoutingDataSource = new EnumRoutingDataSource<>(new ReplicationRoutingRuleImpl(), ReplicationType.class);
+        enumRoutingDataSource.setTargetDataSources(new HashMap<>(targets));
+        enumRoutingDataSource.afterPropertiesSet();
+        final DelegateRoutingDataSourceFactory<ReplicationType> factory
+            = new DelegateRoutingDataSourceFactory<>(new ReplicationRoutingRuleImpl(), new TargetDataSources<>(targets));
+        factory.afterPropertiesSet();
+        lazyConnectionDataSourceProxy = factory.getObject();
+    }
+
+    @TearDown
+    public void tearDown() {
+        master.close();
+        slave.close();
+    }
+
+    @Benchmark
+    public Connection pool() throws SQLException {
+        return checkout(master);
+    }
+
+    @Benchmark
+    public Connection delegateRoutingDataSource() throws SQLException {
+        return checkout(delegateRoutingDataSource);
+    }
+
+    @Benchmark
+    public Connection enumRoutingDataSource() throws SQLException {
+        return checkout(enumRoutingDataSource);
+    }
+
+    /**
+     * Connection is not fetched until it is used
+     */
+    @Benchmark
+    public Connection lazyConnectionDataSourceProxy() throws SQLException {
+        return checkout(lazyConnectionDataSourceProxy);
+    }
+
+    /**
+     * Connection is fetched from target by {@link Connection#getMetaData()}, which the proxy does not answer by itself
+     */
+    @Benchmark
+    public boolean lazyConnectionDataSourceProxyUsed() throws SQLException {
+        try (Connection connection = lazyConnectionDataSourceProxy.getConnection()) {
+            return connection.getMetaData() != null;
+        }
+    }
+
+    private Connection checkout(final DataSource dataSource) throws SQLException {
+        final Connection result = dataSource.getConnection();
+        result.close();
+        return result;
+    }
+}
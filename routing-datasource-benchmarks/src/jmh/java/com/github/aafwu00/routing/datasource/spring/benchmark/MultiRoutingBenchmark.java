@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAutoConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.multi.MultiRoutingDataSourceRegistrar;
+
+/**
+ * Checkout and release a connection through one of `size` logical replication data sources
+ * registered by {@link MultiRoutingDataSourceRegistrar}, every one of which routes to the same `master` and `slave` pools,
+ * so the difference between sizes is the cost of having many routing data sources, not of a lookup among their keys.
+ *
+ * @author Taeho Kim
+ */
+@State(Scope.Benchmark)
+public class MultiRoutingBenchmark {
+    private static final String PREFIX = "datasource.routing.";
+    @Param({"1", "10", "100"})
+    private int size;
+    private ConfigurableApplicationContext context;
+    private DataSource[] dataSources;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RoutingDataSourceAutoConfiguration.class).web(WebApplicationType.NONE)
+                                                                                       .bannerMode(Banner.Mode.OFF)
+                                                                                       .properties(properties())
+                                                                                       .run();
+        dataSources = new DataSource[size];
+        for (int i = 0; i < size; i++) {
+            dataSources[i] = context.getBean(name(i) + "DataSource", LazyConnectionDataSourceProxy.class).getTargetDataSource();
+        }
+    }
+
+    private String[] properties() {
+        final List<String> result = new ArrayList<>();
+        result.add(PREFIX + "enabled=true");
+        target(result, "master");
+        target(result, "slave");
+        for (int i = 0; i < size; i++) {
+            result.add(PREFIX + "multi." + name(i) + ".master=master");
+            result.add(PREFIX + "multi." + name(i) + ".slave=slave");
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private void target(final List<String> properties, final String name) {
+        final String prefix = PREFIX + "targets." + name + ".";
+        properties.add(prefix + "url=jdbc:h2:mem:multi-" + name + ";DB_CLOSE_DELAY=-1");
+        properties.add(prefix + "driver-class-name=org.h2.Driver");
+        properties.add(prefix + "initialization-mode=never");
+        properties.add(prefix + "username=sa");
+    }
+
+    private String name(final int index) {
+        return "logical" + index;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Connection route(final Index index) throws SQLException {
+        try (Connection connection = dataSources[index.next(size)].getConnection()) {
+            return connection;
+        }
+    }
+
+    /**
+     * Rotates logical data sources per thread
+     */
+    @State(Scope.Thread)
+    public static class Index {
+        private int current;
+
+        int next(final int size) {
+            current = (current + 1) % size;
+            return current;
+        }
+    }
+}
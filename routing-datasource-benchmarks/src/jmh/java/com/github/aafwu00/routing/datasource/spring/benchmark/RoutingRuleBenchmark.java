@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.benchmark;
+
+import java.time.Duration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.aafwu00.routing.datasource.spring.MappedRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.ReadYourWritesRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRuleImpl;
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.SwitchableRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.SwitchableRoutingRuleImpl;
+import com.github.aafwu00.routing.datasource.spring.ThreadSessionKeyResolver;
+
+/**
+ * Cost of determining lookup key by each {@link com.github.aafwu00.routing.datasource.spring.RoutingRule}.
+ *
+ * @author Taeho Kim
+ */
+@State(Scope.Thread)
+public class RoutingRuleBenchmark {
+    private final ReplicationRoutingRule replicationRoutingRule = new ReplicationRoutingRuleImpl();
+    private final ReplicationRoutingRule readYourWritesRoutingRule
+        = new ReadYourWritesRoutingRule(new ThreadSessionKeyResolver(), Duration.ofSeconds(1));
+    private final SwitchableRoutingRule switchableRoutingRule = new SwitchableRoutingRuleImpl(() -> true);
+    private final MappedRoutingRule mappedRoutingRule = () -> "mapped";
+
+    @Benchmark
+    public ReplicationType replication() {
+        return replicationRoutingRule.determineCurrentLookupKey();
+    }
+
+    @Benchmark
+    public ReplicationType readYourWrites() {
+        return readYourWritesRoutingRule.determineCurrentLookupKey();
+    }
+
+    @Benchmark
+    public SwitchableMode switchable() {
+        return switchableRoutingRule.determineCurrentLookupKey();
+    }
+
+    @Benchmark
+    public String mapped() {
+        return mappedRoutingRule.determineCurrentLookupKey();
+    }
+
+    /**
+     * Same rules inside of read only transaction
+     */
+    @State(Scope.Thread)
+    public static class ReadOnlyTransaction {
+        @Setup(Level.Trial)
+        public void setUp() {
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            TransactionSynchronizationManager.clear();
+        }
+
+        @Benchmark
+        public ReplicationType replication(final RoutingRuleBenchmark benchmark) {
+            return benchmark.replicationRoutingRule.determineCurrentLookupKey();
+        }
+
+        @Benchmark
+        public ReplicationType readYourWrites(final RoutingRuleBenchmark benchmark) {
+            return benchmark.readYourWritesRoutingRule.determineCurrentLookupKey();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Switching} of which state is pushed by {@link #switchTo(boolean)} or {@link SwitchingEvent},
+ * so {@link #isOn()} is a single volatile read.
+ *
+ * @author Taeho Kim
+ */
+public class AtomicSwitching implements Switching, ApplicationListener<SwitchingEvent> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AtomicSwitching.class);
+    private final AtomicBoolean on;
+    private final List<SwitchingListener> listeners = new CopyOnWriteArrayList<>();
+
+    public AtomicSwitching() {
+        this(false);
+    }
+
+    public AtomicSwitching(final boolean on) {
+        this.on = new AtomicBoolean(on);
+    }
+
+    @Override
+    public boolean isOn() {
+        return on.get();
+    }
+
+    /**
+     * Listeners are notified only when state is changed
+     *
+     * @return previous state
+     */
+    public boolean switchTo(final boolean on) {
+        final boolean previous = this.on.getAndSet(on);
+        if (previous != on) {
+            LOGGER.info("Switched to `{}`", on);
+            listeners.forEach(listener -> onSwitched(listener, on));
+        }
+        return previous;
+    }
+
+    public void addListener(final SwitchingListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Partial percentage is ignored, as every session shares the state
+     */
+    @Override
+    public void onApplicationEvent(final SwitchingEvent event) {
+        if (event.isPartial()) {
+            LOGGER.warn("Ignored switching to `{}%`, which requires PercentageSwitching", event.getPercentage());
+            return;
+        }
+        switchTo(event.isOn());
+    }
+
+    private void onSwitched(final SwitchingListener listener, final boolean on) {
+        try {
+            listener.onSwitched(on);
+            // CHECKSTYLE:OFF
+        } catch (RuntimeException ex) {
+            // CHECKSTYLE:ON
+            LOGGER.warn("Failed to notify switching listener `{}`", listener, ex);
+        }
+    }
+}
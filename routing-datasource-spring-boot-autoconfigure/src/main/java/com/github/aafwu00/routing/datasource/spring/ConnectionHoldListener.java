@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+/**
+ * @author Taeho Kim
+ */
+public interface ConnectionHoldListener {
+    /**
+     * @param nanos elapsed time from {@code getConnection} to {@code close}
+     */
+    void onReleased(RoutingTarget target, long nanos);
+
+    /**
+     * Called once for a connection still held over the leak threshold
+     *
+     * @param nanos elapsed time from {@code getConnection} so far
+     */
+    void onLeakSuspected(RoutingTarget target, long nanos);
+}
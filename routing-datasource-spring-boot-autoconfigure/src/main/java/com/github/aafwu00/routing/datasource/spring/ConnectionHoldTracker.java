@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Measure how long connections stay checked out, and flag connections held over the leak threshold in background.
+ * Stack traces of acquisition are captured only for sampled connections, because filling them is expensive.
+ * A leak is flagged between once and twice of the threshold after acquisition.
+ *
+ * @author Taeho Kim
+ */
+public class ConnectionHoldTracker implements InitializingBean, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionHoldTracker.class);
+    private final Set<Hold> holds = ConcurrentHashMap.newKeySet();
+    private final List<ConnectionHoldListener> listeners = new CopyOnWriteArrayList<>();
+    private final Duration leakThreshold;
+    private final double stackTraceSampleRate;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param stackTraceSampleRate ratio of connections to capture stack traces of acquisition, between 0 and 1
+     */
+    public ConnectionHoldTracker(final Duration leakThreshold, final double stackTraceSampleRate) {
+        this.leakThreshold = requireNonNull(leakThreshold);
+        this.stackTraceSampleRate = stackTraceSampleRate;
+    }
+
+    public void addListener(final ConnectionHoldListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    public Connection track(final RoutingTarget target, final Connection connection) {
+        final Hold hold = new Hold(target, System.nanoTime(), stackTrace());
+        holds.add(hold);
+        return HeldConnectionHandler.wrap(connection, () -> release(hold));
+    }
+
+    private Optional<Throwable> stackTrace() {
+        if (ThreadLocalRandom.current().nextDouble() < stackTraceSampleRate) {
+            return Optional.of(new Throwable("Acquired by " + Thread.currentThread().getName()));
+        }
+        return Optional.empty();
+    }
+
+    private void release(final Hold hold) {
+        if (holds.remove(hold)) {
+            final long nanos = System.nanoTime() - hold.start;
+            listeners.forEach(listener -> listener.onReleased(hold.target, nanos));
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("connection-hold-"));
+        executor.scheduleWithFixedDelay(this::detect, leakThreshold.toMillis(), leakThreshold.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Flag connections held over the leak threshold, once for each
+     */
+    public void detect() {
+        final long now = System.nanoTime();
+        holds.stream()
+             .filter(hold -> now - hold.start >= leakThreshold.toNanos())
+             .filter(hold -> hold.flagged.compareAndSet(false, true))
+             .forEach(hold -> flag(hold, now - hold.start));
+    }
+
+    private void flag(final Hold hold, final long nanos) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (hold.stackTrace.isPresent()) {
+            LOGGER.warn("Connection of `{}` is held for {} ms, possibly leaked", hold.target, millis, hold.stackTrace.get());
+        } else {
+            LOGGER.warn("Connection of `{}` is held for {} ms, possibly leaked, stack trace was not sampled", hold.target, millis);
+        }
+        listeners.forEach(listener -> listener.onLeakSuspected(hold.target, nanos));
+    }
+
+    /**
+     * @return number of connections currently held
+     */
+    public int getHeld() {
+        return holds.size();
+    }
+
+    private static final class Hold {
+        private final RoutingTarget target;
+        private final long start;
+        private final Optional<Throwable> stackTrace;
+        private final AtomicBoolean flagged = new AtomicBoolean();
+
+        private Hold(final RoutingTarget target, final long start, final Optional<Throwable> stackTrace) {
+            this.target = target;
+            this.start = start;
+            this.stackTrace = stackTrace;
+        }
+    }
+}
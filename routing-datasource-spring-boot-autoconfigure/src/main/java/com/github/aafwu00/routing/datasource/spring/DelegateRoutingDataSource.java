@@ -16,6 +16,9 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
 import static java.util.Objects.requireNonNull;
@@ -25,14 +28,31 @@ import static java.util.Objects.requireNonNull;
  */
 public class DelegateRoutingDataSource<T> extends AbstractRoutingDataSource {
     private final RoutingRule<T> routingRule;
+    private RoutingDecisions decisions = new RoutingDecisions(Collections.emptySet());
 
     public DelegateRoutingDataSource(final RoutingRule<T> routingRule) {
         super();
         this.routingRule = requireNonNull(routingRule);
     }
 
+    @Override
+    public void setTargetDataSources(final Map<Object, Object> targetDataSources) {
+        super.setTargetDataSources(targetDataSources);
+        this.decisions = new RoutingDecisions(targetDataSources.keySet());
+    }
+
     @Override
     protected T determineCurrentLookupKey() {
-        return routingRule.determineCurrentLookupKey();
+        final T result = routingRule.determineCurrentLookupKey();
+        decisions.record(result);
+        return result;
+    }
+
+    protected RoutingRule<T> getRoutingRule() {
+        return routingRule;
+    }
+
+    public RoutingDecisions getDecisions() {
+        return decisions;
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link DelegateRoutingDataSource} of which targets and decision counters are indexed by ordinal of enum key,
+ * so determining target does not hash or resolve the key.
+ *
+ * @author Taeho Kim
+ */
+public class EnumRoutingDataSource<T> extends DelegateRoutingDataSource<T> {
+    private final Class<? extends Enum<?>> keyType;
+    private Map<Object, Object> targetDataSources;
+    private Optional<Object> defaultTargetDataSource = Optional.empty();
+    private DataSource[] resolvedTargets;
+    private LongAdder[] decisions;
+    private DataSource resolvedDefault;
+    private boolean lenientFallback = true;
+
+    /**
+     * @param keyType enum type of which constants are keys of `routingRule`, known only at runtime when keys come from configuration
+     */
+    public EnumRoutingDataSource(final RoutingRule<T> routingRule, final Class<? extends Enum<?>> keyType) {
+        super(routingRule);
+        this.keyType = requireNonNull(keyType);
+    }
+
+    @Override
+    public void setTargetDataSources(final Map<Object, Object> targetDataSources) {
+        super.setTargetDataSources(targetDataSources);
+        this.targetDataSources = targetDataSources;
+    }
+
+    @Override
+    public void setDefaultTargetDataSource(final Object defaultTargetDataSource) {
+        super.setDefaultTargetDataSource(defaultTargetDataSource);
+        this.defaultTargetDataSource = Optional.ofNullable(defaultTargetDataSource);
+    }
+
+    @Override
+    public void setLenientFallback(final boolean lenientFallback) {
+        super.setLenientFallback(lenientFallback);
+        this.lenientFallback = lenientFallback;
+    }
+
+    /**
+     * Counters of {@link #getDecisions()} are shared by ordinal
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        final int size = keyType.getEnumConstants().length;
+        final DataSource[] targets = new DataSource[size];
+        final LongAdder[] counters = new LongAdder[size];
+        for (final Map.Entry<Object, Object> entry : targetDataSources.entrySet()) {
+            final int ordinal = keyType.cast(entry.getKey()).ordinal();
+            targets[ordinal] = resolveSpecifiedDataSource(entry.getValue());
+            counters[ordinal] = getDecisions().counterOf(entry.getKey());
+        }
+        resolvedTargets = targets;
+        decisions = counters;
+        resolvedDefault = defaultTargetDataSource.map(this::resolveSpecifiedDataSource).orElse(null);
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        final T key = getRoutingRule().determineCurrentLookupKey();
+        if (keyType.isInstance(key)) {
+            final int ordinal = Enum.class.cast(key).ordinal();
+            if (resolvedTargets[ordinal] != null) {
+                decisions[ordinal].increment();
+                return resolvedTargets[ordinal];
+            }
+        }
+        getDecisions().record(key);
+        if (resolvedDefault != null && (lenientFallback || key == null)) {
+            return resolvedDefault;
+        }
+        throw new IllegalStateException("Cannot determine target DataSource for lookup key [" + key + "]");
+    }
+}
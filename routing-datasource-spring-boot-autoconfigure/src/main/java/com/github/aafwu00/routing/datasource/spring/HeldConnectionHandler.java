@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Release the hold when the connection is closed for the first time.
+ *
+ * @author Taeho Kim
+ */
+final class HeldConnectionHandler implements InvocationHandler {
+    private final Connection target;
+    private final Runnable release;
+
+    private HeldConnectionHandler(final Connection target, final Runnable release) {
+        this.target = requireNonNull(target);
+        this.release = requireNonNull(release);
+    }
+
+    static Connection wrap(final Connection connection, final Runnable release) {
+        return Connection.class.cast(Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                            new Class<?>[]{Connection.class},
+                                                            new HeldConnectionHandler(connection, release)));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if ("close".equals(method.getName())) {
+            release.run();
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
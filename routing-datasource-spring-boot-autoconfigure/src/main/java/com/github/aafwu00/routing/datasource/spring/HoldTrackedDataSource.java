@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Track how long connections of the target are held by {@link ConnectionHoldTracker}.
+ *
+ * @author Taeho Kim
+ */
+public class HoldTrackedDataSource extends DelegatingDataSource {
+    private final RoutingTarget target;
+    private final ConnectionHoldTracker tracker;
+
+    public HoldTrackedDataSource(final DataSource targetDataSource,
+                                 final RoutingTarget target,
+                                 final ConnectionHoldTracker tracker) {
+        super(targetDataSource);
+        this.target = requireNonNull(target);
+        this.tracker = requireNonNull(tracker);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracker.track(target, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return tracker.track(target, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public RoutingTarget getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Switching} which is on for `percentage` of sessions, decided by stable hash of session key,
+ * so a session sees consistent routing while the percentage is ramped up. Sessions without key are off.
+ *
+ * @author Taeho Kim
+ */
+public class PercentageSwitching implements Switching, ApplicationListener<SwitchingEvent> {
+    /**
+     * Percentage of which all sessions are on
+     */
+    public static final double FULL = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(PercentageSwitching.class);
+    private static final int BUCKETS = 10_000;
+    private static final double BUCKETS_PER_PERCENT = BUCKETS / FULL;
+    private static final int MIX1 = 0x85ebca6b;
+    private static final int MIX2 = 0xc2b2ae35;
+    private static final int SHIFT1 = 16;
+    private static final int SHIFT2 = 13;
+    private final SessionKeyResolver sessionKeyResolver;
+    private final AtomicInteger threshold = new AtomicInteger();
+    private final List<SwitchingListener> listeners = new CopyOnWriteArrayList<>();
+
+    public PercentageSwitching(final SessionKeyResolver sessionKeyResolver, final double percentage) {
+        this.sessionKeyResolver = requireNonNull(sessionKeyResolver);
+        setPercentage(percentage);
+    }
+
+    @Override
+    public boolean isOn() {
+        final int current = threshold.get();
+        if (current <= 0 || current >= BUCKETS) {
+            return current >= BUCKETS;
+        }
+        return sessionKeyResolver.currentSessionKey()
+                                 .map(key -> bucketOf(key) < current)
+                                 .orElse(false);
+    }
+
+    public double getPercentage() {
+        return threshold.get() / BUCKETS_PER_PERCENT;
+    }
+
+    public void setPercentage(final double percentage) {
+        if (!(percentage >= 0 && percentage <= FULL)) {
+            throw new IllegalArgumentException("percentage must be between 0 and 100: " + percentage);
+        }
+        final int value = (int) Math.round(percentage * BUCKETS_PER_PERCENT);
+        if (threshold.getAndSet(value) != value) {
+            LOGGER.info("Switched to `{}%`", percentage);
+            listeners.forEach(listener -> notify(listener, value));
+        }
+    }
+
+    /**
+     * Listeners are notified only when percentage is changed
+     */
+    public void addListener(final SwitchingListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    @Override
+    public void onApplicationEvent(final SwitchingEvent event) {
+        setPercentage(event.getPercentage());
+    }
+
+    private void notify(final SwitchingListener listener, final int value) {
+        try {
+            listener.onPercentageChanged(value / BUCKETS_PER_PERCENT);
+            if (value <= 0 || value >= BUCKETS) {
+                listener.onSwitched(value >= BUCKETS);
+            }
+            // CHECKSTYLE:OFF
+        } catch (RuntimeException ex) {
+            // CHECKSTYLE:ON
+            LOGGER.warn("Failed to notify switching listener `{}`", listener, ex);
+        }
+    }
+
+    /**
+     * Mix hash code of key, as close keys such as sequential user ids should not fall into close buckets
+     */
+    static int bucketOf(final String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> SHIFT1;
+        hash *= MIX1;
+        hash ^= hash >>> SHIFT2;
+        hash *= MIX2;
+        hash ^= hash >>> SHIFT1;
+        return Math.floorMod(hash, BUCKETS);
+    }
+}
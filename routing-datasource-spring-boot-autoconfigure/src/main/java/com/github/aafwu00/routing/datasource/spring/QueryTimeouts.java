@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.time.Duration;
+
+/**
+ * Convert durations to seconds of {@link java.sql.Statement#setQueryTimeout(int)}.
+ *
+ * @author Taeho Kim
+ */
+public final class QueryTimeouts {
+    private QueryTimeouts() {
+    }
+
+    /**
+     * Rounded up, as zero means no timeout
+     */
+    public static int secondsOf(final Duration timeout) {
+        if (timeout.getNano() > 0) {
+            return (int) timeout.getSeconds() + 1;
+        }
+        return (int) timeout.getSeconds();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ReadOnlyRoute#maxStaleness()} bound as a key of {@link RoutingContext}, so routing rules read it with the other keys at once.
+ * Like them, it is carried over to tasks by {@link RoutingContext#capture()}.
+ *
+ * @author Taeho Kim
+ */
+public final class ReadOnlyRouteContext {
+    private static final AtomicInteger MONITORS = new AtomicInteger();
+    private final Duration maxStaleness;
+
+    private ReadOnlyRouteContext(final Duration maxStaleness) {
+        this.maxStaleness = requireNonNull(maxStaleness);
+    }
+
+    /**
+     * @return key to be bound by {@link RoutingContext#call(Object, java.util.concurrent.Callable)}
+     */
+    public static ReadOnlyRouteContext of(final Duration maxStaleness) {
+        return new ReadOnlyRouteContext(maxStaleness);
+    }
+
+    public static Optional<Duration> getMaxStaleness() {
+        return RoutingContext.peek(ReadOnlyRouteContext.class)
+                             .map(context -> context.maxStaleness);
+    }
+
+    /**
+     * Whether {@link #getMaxStaleness()} can be enforced, reads in {@link ReadOnlyRoute} stay on master while no lag monitor is running
+     */
+    public static boolean isMonitored() {
+        return MONITORS.get() > 0;
+    }
+
+    /**
+     * Called by a lag monitor excluding replicas beyond {@link #getMaxStaleness()}, paired with {@link #removeMonitor()}
+     */
+    public static void addMonitor() {
+        MONITORS.incrementAndGet();
+    }
+
+    public static void removeMonitor() {
+        MONITORS.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "ReadOnlyRoute(" + maxStaleness + ")";
+    }
+}
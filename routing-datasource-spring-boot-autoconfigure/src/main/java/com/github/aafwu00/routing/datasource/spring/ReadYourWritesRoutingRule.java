@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+
+import static java.util.Objects.requireNonNull;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.bindResource;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.hasResource;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isActualTransactionActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.unbindResourceIfPossible;
+
+/**
+ * Route read only transactions of a session to {@link ReplicationType#Master} for `window` after the session committed a write,
+ * or until replicas have caught up when replication lag is known.
+ * Writes are kept in order, so expired writes and the oldest writes over `maxSessions` are evicted from the head on each write.
+ *
+ * @author Taeho Kim
+ */
+public class ReadYourWritesRoutingRule implements ReplicationRoutingRule {
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+    private final Map<String, Write> writes = new ConcurrentHashMap<>();
+    private final Queue<Write> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ordered = new AtomicInteger();
+    private final SessionKeyResolver sessionKeyResolver;
+    private final long windowNanos;
+    private final int maxSessions;
+    private final Supplier<Optional<Duration>> replicationLag;
+    private final LongSupplier clock;
+
+    public ReadYourWritesRoutingRule(final SessionKeyResolver sessionKeyResolver, final Duration window) {
+        this(sessionKeyResolver, window, Optional::empty);
+    }
+
+    /**
+     * @param replicationLag current maximum lag of replicas, empty when unknown
+     */
+    public ReadYourWritesRoutingRule(final SessionKeyResolver sessionKeyResolver,
+                                     final Duration window,
+                                     final Supplier<Optional<Duration>> replicationLag) {
+        this(sessionKeyResolver, window, DEFAULT_MAX_SESSIONS, replicationLag);
+    }
+
+    /**
+     * @param maxSessions maximum sessions pinned to {@link ReplicationType#Master}, the oldest write is evicted over it
+     * @param replicationLag current maximum lag of replicas, empty when unknown
+     */
+    public ReadYourWritesRoutingRule(final SessionKeyResolver sessionKeyResolver,
+                                     final Duration window,
+                                     final int maxSessions,
+                                     final Supplier<Optional<Duration>> replicationLag) {
+        this(sessionKeyResolver, window, maxSessions, replicationLag, System::nanoTime);
+    }
+
+    ReadYourWritesRoutingRule(final SessionKeyResolver sessionKeyResolver,
+                              final Duration window,
+                              final Supplier<Optional<Duration>> replicationLag,
+                              final LongSupplier clock) {
+        this(sessionKeyResolver, window, DEFAULT_MAX_SESSIONS, replicationLag, clock);
+    }
+
+    ReadYourWritesRoutingRule(final SessionKeyResolver sessionKeyResolver,
+                              final Duration window,
+                              final int maxSessions,
+                              final Supplier<Optional<Duration>> replicationLag,
+                              final LongSupplier clock) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        this.sessionKeyResolver = requireNonNull(sessionKeyResolver);
+        this.windowNanos = window.toNanos();
+        this.maxSessions = maxSessions;
+        this.replicationLag = requireNonNull(replicationLag);
+        this.clock = requireNonNull(clock);
+    }
+
+    @Override
+    public ReplicationType determineCurrentLookupKey() {
+        final ReplicationType result = ReplicationRoutingRule.super.determineCurrentLookupKey();
+        if (result == ReplicationType.Master) {
+            registerWriteIfNecessary();
+            return result;
+        }
+        if (sessionKeyResolver.currentSessionKey().filter(this::isRecentlyWritten).isPresent()) {
+            return ReplicationType.Master;
+        }
+        return result;
+    }
+
+    private void registerWriteIfNecessary() {
+        if (!isSynchronizationActive() || !isActualTransactionActive() || hasResource(this)) {
+            return;
+        }
+        sessionKeyResolver.currentSessionKey().ifPresent(this::registerWrite);
+    }
+
+    private void registerWrite(final String sessionKey) {
+        bindResource(this, sessionKey);
+        registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                recordWrite(sessionKey);
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                unbindResourceIfPossible(ReadYourWritesRoutingRule.this);
+            }
+        });
+    }
+
+    /**
+     * Pin the session to {@link ReplicationType#Master} from now
+     */
+    public void recordWrite(final String sessionKey) {
+        final long now = clock.getAsLong();
+        final Write write = new Write(sessionKey, now);
+        writes.put(sessionKey, write);
+        order.add(write);
+        ordered.incrementAndGet();
+        evict(now);
+    }
+
+    private void evict(final long now) {
+        Write eldest = order.peek();
+        while (eldest != null && (now - eldest.writtenNanos > windowNanos || ordered.get() > maxSessions)) {
+            final Write polled = order.poll();
+            if (polled != null) {
+                ordered.decrementAndGet();
+                writes.remove(polled.sessionKey, polled);
+            }
+            eldest = order.peek();
+        }
+    }
+
+    private boolean isRecentlyWritten(final String sessionKey) {
+        final Write written = writes.get(sessionKey);
+        if (written == null) {
+            return false;
+        }
+        final long elapsed = clock.getAsLong() - written.writtenNanos;
+        if (elapsed > windowNanos) {
+            writes.remove(sessionKey, written);
+            return false;
+        }
+        return replicationLag.get()
+                             .map(lag -> elapsed <= lag.toNanos())
+                             .orElse(true);
+    }
+
+    private static final class Write {
+        private final String sessionKey;
+        private final long writtenNanos;
+
+        Write(final String sessionKey, final long writtenNanos) {
+            this.sessionKey = sessionKey;
+            this.writtenNanos = writtenNanos;
+        }
+    }
+}
@@ -16,17 +16,56 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.util.Optional;
+
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isActualTransactionActive;
 import static org.springframework.transaction.support.TransactionSynchronizationManager.isCurrentTransactionReadOnly;
 
 /**
+ * Route to {@link ReplicationType} in {@link RoutingContext} if any, but never writes of a read write transaction to a slave,
+ * otherwise read only transactions, and non transactional reads in {@link ReadOnlyRoute}, to {@link ReplicationType#Slave}.
+ * Reads in {@link ReadOnlyRoute} stay on {@link ReplicationType#Master} while no lag monitor bounds the staleness.
+ * Both keys are found in a single read of {@link RoutingContext}, transaction is read only when they need it.
+ *
  * @author Taeho Kim
  */
 public interface ReplicationRoutingRule extends RoutingRule<ReplicationType> {
     @Override
     default ReplicationType determineCurrentLookupKey() {
-        if (isCurrentTransactionReadOnly()) {
+        final RoutingContext context = RoutingContext.current();
+        final ReplicationType routed = context.keyOrNull(ReplicationType.class);
+        if (routed == ReplicationType.Master || routed == ReplicationType.Slave && !isReadWriteTransaction()) {
+            return routed;
+        }
+        if (isReadOnly(context.keyOrNull(ReadOnlyRouteContext.class))) {
             return ReplicationType.Slave;
         }
         return ReplicationType.Master;
     }
+
+    /**
+     * {@link ReplicationType#Slave} in {@link RoutingContext} is ignored in a read write transaction,
+     * e.g. propagated from a read only transaction to a task starting its own transaction
+     */
+    default boolean isReadWriteTransaction() {
+        return isActualTransactionActive() && !isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * @param readOnlyRoute null outside {@link ReadOnlyRoute} methods
+     */
+    default boolean isReadOnly(final ReadOnlyRouteContext readOnlyRoute) {
+        if (readOnlyRoute == null) {
+            return isCurrentTransactionReadOnly();
+        }
+        return ReadOnlyRouteContext.isMonitored() && (isCurrentTransactionReadOnly() || !isActualTransactionActive());
+    }
+
+    @Override
+    default Optional<ReplicationType> fallbackOf(final ReplicationType key) {
+        if (key == ReplicationType.Slave) {
+            return Optional.of(ReplicationType.Master);
+        }
+        return Optional.empty();
+    }
 }
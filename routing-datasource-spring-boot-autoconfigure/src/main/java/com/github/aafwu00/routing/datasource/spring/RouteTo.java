@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Push keys of the annotated method to {@link RoutingContext} during invocation, so reads need not open a transaction,
+ * e.g. {@code @RouteTo(replication = ReplicationType.Slave)} or {@code @RouteTo("mappedKey")}.
+ * {@link ReplicationType#Slave} is ignored inside a read write transaction, so writes of the transaction never go to slave
+ * even through {@code LazyConnectionDataSourceProxy} which checks out the connection on first statement.
+ *
+ * @author Taeho Kim
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface RouteTo {
+    /**
+     * Key of mapped routing, empty to keep current key
+     */
+    String value() default "";
+
+    /**
+     * At most one, empty to keep current key
+     */
+    ReplicationType[] replication() default {};
+
+    /**
+     * At most one, empty to keep current key
+     */
+    SwitchableMode[] switchable() default {};
+}
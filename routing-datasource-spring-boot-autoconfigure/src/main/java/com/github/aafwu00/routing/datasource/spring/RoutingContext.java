@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static java.util.Objects.requireNonNull;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isCurrentTransactionReadOnly;
+
+/**
+ * Stack of route keys for current thread, which is consulted by routing rules before transaction.
+ * Unlike transaction, it is carried over to another thread by {@link #capture()} and {@link #wrap(Runnable)}.
+ * Bound by {@code ScopedValue} in {@link #run(Object, Runnable)}, {@link #call(Object, Callable)} and wrapped tasks on Java 25+,
+ * so virtual threads do not hold thread locals for them.
+ *
+ * @author Taeho Kim
+ */
+public final class RoutingContext {
+    private static final RoutingContext EMPTY = new RoutingContext(null, null);
+    private final Object key;
+    private final RoutingContext parent;
+
+    private RoutingContext(final Object key, final RoutingContext parent) {
+        this.key = key;
+        this.parent = parent;
+    }
+
+    public static RoutingContext empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return key on top of stack
+     */
+    public static Optional<Object> peek() {
+        return current().keyOf(Object.class);
+    }
+
+    /**
+     * @return nearest key of type, so an inner key of other type does not hide it
+     */
+    public static <T> Optional<T> peek(final Class<T> type) {
+        return current().keyOf(type);
+    }
+
+    /**
+     * @return scope to pop `key`, should be closed on the same thread
+     */
+    public static Scope push(final Object key) {
+        return current().with(key).attach();
+    }
+
+    public static void run(final Object key, final Runnable task) {
+        RoutingContextHolder.run(current().with(key), task);
+    }
+
+    public static <V> V call(final Object key, final Callable<V> task) throws Exception {
+        return RoutingContextHolder.call(current().with(key), task);
+    }
+
+    /**
+     * Same as {@link #call(Object, Callable)} for every key in order, which are bound at once by single scope
+     */
+    public static <V> V callAll(final List<?> keys, final Callable<V> task) throws Exception {
+        RoutingContext context = current();
+        for (final Object key : keys) {
+            context = context.with(key);
+        }
+        return RoutingContextHolder.call(context, task);
+    }
+
+    /**
+     * Snapshot of current thread, read only transaction is captured as {@link ReplicationType#Slave}
+     * because transaction is not visible on another thread.
+     */
+    public static RoutingContext capture() {
+        final RoutingContext result = current();
+        if (isCurrentTransactionReadOnly() && !result.keyOf(ReplicationType.class).isPresent()) {
+            return result.with(ReplicationType.Slave);
+        }
+        return result;
+    }
+
+    /**
+     * Read once per lookup by routing rules, which find keys of every type in it by {@link #keyOrNull(Class)}
+     */
+    static RoutingContext current() {
+        final RoutingContext result = RoutingContextHolder.get();
+        if (result == null) {
+            return EMPTY;
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * Replace context of current thread until returned scope is closed, prefer {@link #wrap(Runnable)} if possible
+     */
+    public Scope attach() {
+        return RoutingContextHolder.attach(this);
+    }
+
+    public Runnable wrap(final Runnable task) {
+        requireNonNull(task);
+        return () -> RoutingContextHolder.run(this, task);
+    }
+
+    public <V> Callable<V> wrap(final Callable<V> task) {
+        requireNonNull(task);
+        return () -> RoutingContextHolder.call(this, task);
+    }
+
+    /**
+     * @return new context of which top is `key`, this is not changed
+     */
+    public RoutingContext with(final Object key) {
+        return new RoutingContext(requireNonNull(key), this);
+    }
+
+    /**
+     * @return nearest key of type in this context
+     */
+    public <T> Optional<T> keyOf(final Class<T> type) {
+        return Optional.ofNullable(keyOrNull(type));
+    }
+
+    /**
+     * Same as {@link #keyOf(Class)} without wrapping, for routing rules on every lookup
+     *
+     * @return null when no key of type is bound
+     */
+    <T> T keyOrNull(final Class<T> type) {
+        RoutingContext context = this;
+        while (!context.isEmpty()) {
+            if (type.isInstance(context.key)) {
+                return type.cast(context.key);
+            }
+            context = context.parent;
+        }
+        return null;
+    }
+
+    /**
+     * Restores previous context when closed
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * Thread local storage of {@link RoutingContext}, replaced by {@code ScopedValue} on Java 25+ in multi release jar.
+ *
+ * @author Taeho Kim
+ */
+final class RoutingContextHolder {
+    private static final ThreadLocal<RoutingContext> CURRENT = new NamedThreadLocal<>("Routing context");
+
+    private RoutingContextHolder() {
+    }
+
+    /**
+     * @return null when no context is bound
+     */
+    static RoutingContext get() {
+        return CURRENT.get();
+    }
+
+    static RoutingContext.Scope attach(final RoutingContext context) {
+        final RoutingContext previous = CURRENT.get();
+        set(context);
+        return () -> set(previous);
+    }
+
+    static void run(final RoutingContext context, final Runnable task) {
+        try (RoutingContext.Scope ignored = attach(context)) {
+            task.run();
+        }
+    }
+
+    static <V> V call(final RoutingContext context, final Callable<V> task) throws Exception {
+        try (RoutingContext.Scope ignored = attach(context)) {
+            return task.call();
+        }
+    }
+
+    private static void set(final RoutingContext context) {
+        if (context == null || context.isEmpty()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+}
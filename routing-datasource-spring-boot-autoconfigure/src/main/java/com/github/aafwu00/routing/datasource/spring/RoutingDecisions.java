@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count lookup keys determined by routing rule. Keys which are null or not one of the targets fall back to
+ * the default target silently, so they are counted separately, and not by key to keep cardinality bounded.
+ *
+ * @author Taeho Kim
+ */
+public class RoutingDecisions {
+    private final Map<Object, LongAdder> decisions;
+    private final LongAdder nullKeys = new LongAdder();
+    private final LongAdder unknownKeys = new LongAdder();
+
+    public RoutingDecisions(final Collection<?> keys) {
+        final Map<Object, LongAdder> result = new HashMap<>();
+        keys.forEach(key -> result.put(key, new LongAdder()));
+        this.decisions = Collections.unmodifiableMap(result);
+    }
+
+    public void record(final Object key) {
+        if (key == null) {
+            nullKeys.increment();
+        } else {
+            final LongAdder counter = decisions.get(key);
+            if (counter == null) {
+                unknownKeys.increment();
+            } else {
+                counter.increment();
+            }
+        }
+    }
+
+    /**
+     * Counter of a target key, for routing data sources indexing counters by themselves
+     */
+    LongAdder counterOf(final Object key) {
+        return decisions.get(key);
+    }
+
+    public Set<Object> getKeys() {
+        return decisions.keySet();
+    }
+
+    public long getCount(final Object key) {
+        final LongAdder counter = decisions.get(key);
+        if (counter == null) {
+            return 0;
+        }
+        return counter.sum();
+    }
+
+    /**
+     * Count of null keys, which fall back to the default target
+     */
+    public long getNullKeys() {
+        return nullKeys.sum();
+    }
+
+    /**
+     * Count of keys not one of the targets, which fall back to the default target unless lenient fallback is disabled
+     */
+    public long getUnknownKeys() {
+        return unknownKeys.sum();
+    }
+}
@@ -16,9 +16,18 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.util.Optional;
+
 /**
  * @author Taeho Kim
  */
 public interface RoutingRule<T> {
     T determineCurrentLookupKey();
+
+    /**
+     * Key of target used instead of unavailable target of `key`, empty to use default target
+     */
+    default Optional<T> fallbackOf(final T key) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Routing type, logical name and lookup key of a target DataSource.
+ *
+ * @author Taeho Kim
+ */
+public final class RoutingTarget {
+    private final String routing;
+    private final String name;
+    private final String key;
+
+    public RoutingTarget(final String routing, final String name, final String key) {
+        this.routing = requireNonNull(routing);
+        this.name = requireNonNull(name);
+        this.key = requireNonNull(key);
+    }
+
+    public String getRouting() {
+        return routing;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RoutingTarget)) {
+            return false;
+        }
+        final RoutingTarget that = RoutingTarget.class.cast(other);
+        return routing.equals(that.routing) && name.equals(that.name) && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(routing, name, key);
+    }
+
+    @Override
+    public String toString() {
+        return routing + ":" + name + ":" + key;
+    }
+}
@@ -16,12 +16,20 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.util.Optional;
+
 /**
+ * Route to {@link SwitchableMode} in {@link RoutingContext} if any, otherwise by switch.
+ *
  * @author Taeho Kim
  */
 public interface SwitchableRoutingRule extends RoutingRule<SwitchableMode> {
     @Override
     default SwitchableMode determineCurrentLookupKey() {
+        final Optional<SwitchableMode> routed = RoutingContext.peek(SwitchableMode.class);
+        if (routed.isPresent()) {
+            return routed.get();
+        }
         if (isSwitchOn()) {
             return SwitchableMode.On;
         }
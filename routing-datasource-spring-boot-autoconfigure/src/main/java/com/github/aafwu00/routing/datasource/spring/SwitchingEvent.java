@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Request to change {@link AtomicSwitching} or {@link PercentageSwitching}.
+ *
+ * @author Taeho Kim
+ */
+public class SwitchingEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+    private final double percentage;
+
+    public SwitchingEvent(final Object source, final boolean on) {
+        this(source, percentageOf(on));
+    }
+
+    /**
+     * @param percentage of sessions to be on, {@link AtomicSwitching} ignores it unless 0 or {@link PercentageSwitching#FULL}
+     */
+    public SwitchingEvent(final Object source, final double percentage) {
+        super(source);
+        this.percentage = percentage;
+    }
+
+    public boolean isOn() {
+        return percentage >= PercentageSwitching.FULL;
+    }
+
+    /**
+     * @return whether only some of sessions are to be on, which is supported only by {@link PercentageSwitching}
+     */
+    public boolean isPartial() {
+        return percentage > 0 && percentage < PercentageSwitching.FULL;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    private static double percentageOf(final boolean on) {
+        if (on) {
+            return PercentageSwitching.FULL;
+        }
+        return 0;
+    }
+}
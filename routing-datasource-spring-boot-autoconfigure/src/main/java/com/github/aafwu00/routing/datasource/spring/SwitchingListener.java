@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+/**
+ * @author Taeho Kim
+ */
+@FunctionalInterface
+public interface SwitchingListener {
+    /**
+     * Called after switch is changed, on the thread which changed it.
+     * {@link PercentageSwitching} is switched on when it reaches {@link PercentageSwitching#FULL}, and off when it reaches 0
+     */
+    void onSwitched(boolean on);
+
+    /**
+     * Called after percentage of {@link PercentageSwitching} is changed, before {@link #onSwitched(boolean)} if any
+     */
+    default void onPercentageChanged(final double percentage) {
+    }
+}
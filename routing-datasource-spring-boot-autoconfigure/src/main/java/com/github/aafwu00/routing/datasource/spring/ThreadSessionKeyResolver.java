@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Optional;
+
+/**
+ * Current thread as a session, only when a session never leaves its thread such as a batch job.
+ * Pooled request threads serve different users, so a request or user key should be resolved instead.
+ *
+ * @author Taeho Kim
+ */
+public class ThreadSessionKeyResolver implements SessionKeyResolver {
+    private static final ThreadLocal<Optional<String>> KEY =
+        ThreadLocal.withInitial(() -> Optional.of("thread-" + Thread.currentThread().getId()));
+
+    @Override
+    public Optional<String> currentSessionKey() {
+        return KEY.get();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Report elapsed time of {@code getConnection} of the target, which is mostly waiting on its pool.
+ *
+ * @author Taeho Kim
+ */
+public class TimedDataSource extends DelegatingDataSource {
+    private final RoutingTarget target;
+    private final ConnectionAcquisitionListener listener;
+
+    public TimedDataSource(final DataSource targetDataSource,
+                           final RoutingTarget target,
+                           final ConnectionAcquisitionListener listener) {
+        super(targetDataSource);
+        this.target = requireNonNull(target);
+        this.listener = requireNonNull(listener);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            final Connection result = obtainTargetDataSource().getConnection();
+            acquired = true;
+            return result;
+        } finally {
+            listener.onAcquired(target, System.nanoTime() - start, acquired);
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            final Connection result = obtainTargetDataSource().getConnection(username, password);
+            acquired = true;
+            return result;
+        } finally {
+            listener.onAcquired(target, System.nanoTime() - start, acquired);
+        }
+    }
+
+    public RoutingTarget getTarget() {
+        return target;
+    }
+}
@@ -26,6 +26,16 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportSelector;
 import org.springframework.core.type.AnnotationMetadata;
 
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.r2dbc.R2dbcRoutingConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.CircuitBreakerConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ConnectionAcquisitionConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ConnectionHoldConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.HealthCheckConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RouteToConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingContextConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDecisionMetricsConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.StatementStatisticsConfiguration;
+
 import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCondition.PREFIX;
 
 /**
@@ -34,7 +44,16 @@ import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.Ro
 @Configuration
 @ConditionalOnProperty(PREFIX + "enabled")
 @AutoConfigureBefore(DataSourceAutoConfiguration.class)
-@Import(RoutingDataSourceAutoConfiguration.RoutingConfigurationImportSelector.class)
+@Import({CircuitBreakerConfiguration.class,
+         HealthCheckConfiguration.class,
+         ConnectionAcquisitionConfiguration.class,
+         ConnectionHoldConfiguration.class,
+         StatementStatisticsConfiguration.class,
+         RoutingDecisionMetricsConfiguration.class,
+         RoutingContextConfiguration.class,
+         RouteToConfiguration.class,
+         R2dbcRoutingConfiguration.class,
+         RoutingDataSourceAutoConfiguration.RoutingConfigurationImportSelector.class})
 public class RoutingDataSourceAutoConfiguration {
     /**
      * {@link ImportSelector} to add {@link RoutingType} configuration classes.
@@ -16,6 +16,10 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage;
@@ -25,9 +29,11 @@ import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
 import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
 import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCondition.PREFIX;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 
 /**
@@ -38,18 +44,37 @@ public class RoutingDataSourceAvailableCondition extends SpringBootCondition {
     private final String condition;
     private final String fallback;
     private final String defaults;
+    private final Optional<String> indexedDefaults;
 
     public RoutingDataSourceAvailableCondition(final String condition, final String fallback, final String defaults) {
+        this(condition, fallback, defaults, Optional.empty());
+    }
+
+    /**
+     * @param indexedDefaults list property, used when {@code defaults} is not specified
+     */
+    public RoutingDataSourceAvailableCondition(final String condition,
+                                               final String fallback,
+                                               final String defaults,
+                                               final String indexedDefaults) {
+        this(condition, fallback, defaults, Optional.of(indexedDefaults));
+    }
+
+    private RoutingDataSourceAvailableCondition(final String condition,
+                                                final String fallback,
+                                                final String defaults,
+                                                final Optional<String> indexedDefaults) {
         super();
         this.condition = condition;
         this.fallback = fallback;
         this.defaults = defaults;
+        this.indexedDefaults = indexedDefaults;
     }
 
     @Override
     public ConditionOutcome getMatchOutcome(final ConditionContext context, final AnnotatedTypeMetadata metadata) {
         final ConditionMessage.Builder message = ConditionMessage.forCondition(condition);
-        if (hasNotSubProperties(context, defaults)) {
+        if (hasNotSubProperties(context, defaults) && hasNotIndexedSubProperties(context)) {
             return ConditionOutcome.noMatch(message.didNotFind(PREFIX + defaults).atAll());
         }
         if (hasNotSubProperties(context, fallback)) {
@@ -71,5 +96,26 @@ public class RoutingDataSourceAvailableCondition extends SpringBootCondition {
             return true;
         }
     }
+
+    private boolean hasNotIndexedSubProperties(final ConditionContext context) {
+        return indexedDefaults.map(name -> hasNotIndexedSubProperties(context, name))
+                              .orElse(true);
+    }
+
+    private boolean hasNotIndexedSubProperties(final ConditionContext context, final String name) {
+        final ResolvableType type = ResolvableType.forClassWithGenerics(Map.class, String.class, String.class);
+        try {
+            return Binder.get(context.getEnvironment())
+                         .bind(ConfigurationPropertyName.of(PREFIX + name),
+                               Bindable.<List<Map<String, String>>>of(ResolvableType.forClassWithGenerics(List.class, type)))
+                         .orElse(emptyList())
+                         .isEmpty();
+            // CHECKSTYLE:OFF
+        } catch (Exception ex) {
+            // CHECKSTYLE:ON
+            LOGGER.debug("`{}{}` is empty", PREFIX, name);
+            return true;
+        }
+    }
 }
 
@@ -24,6 +24,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
 import com.github.aafwu00.routing.datasource.spring.RoutingRule;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCondition;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAvailableCondition;
@@ -62,10 +63,13 @@ public class MappedDataSourceConfiguration {
         return result;
     }
 
+    /**
+     * Key in {@link RoutingContext}, e.g. by {@link com.github.aafwu00.routing.datasource.spring.RouteTo}, otherwise defaults
+     */
     @Bean
     @ConditionalOnMissingBean
     public RoutingRule<String> routingRule() {
-        return () -> "";
+        return () -> RoutingContext.peek(String.class).orElse("");
     }
 
     @Configuration
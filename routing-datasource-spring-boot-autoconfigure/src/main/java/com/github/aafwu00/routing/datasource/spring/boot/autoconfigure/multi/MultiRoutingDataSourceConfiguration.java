@@ -23,18 +23,25 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandi
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 
 import com.github.aafwu00.routing.datasource.spring.MappedRoutingRule;
 import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRule;
 import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRuleImpl;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
 import com.github.aafwu00.routing.datasource.spring.SwitchableRoutingRule;
 import com.github.aafwu00.routing.datasource.spring.SwitchableRoutingRuleImpl;
 import com.github.aafwu00.routing.datasource.spring.Switching;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCondition;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAvailableCondition;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.LoadBalancerConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReadOnlyRouteConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReadYourWritesConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReplicationLagConfiguration;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.SwitchingConfiguration;
 
 import io.micrometer.core.instrument.binder.MeterBinder;
 
@@ -46,18 +53,17 @@ import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.mu
  */
 @Configuration
 @Conditional({RoutingCondition.class, MultiRoutingDataSourceConfiguration.MultiRoutingAvailableCondition.class})
+@Import({LoadBalancerConfiguration.class,
+         ReplicationLagConfiguration.class,
+         ReadYourWritesConfiguration.class,
+         ReadOnlyRouteConfiguration.class,
+         SwitchingConfiguration.class})
 public class MultiRoutingDataSourceConfiguration {
     @Bean
     public static MultiRoutingDataSourceRegistrar multiRoutingDataSourceRegistrar() {
         return new MultiRoutingDataSourceRegistrar();
     }
 
-    @Bean
-    @ConditionalOnMissingBean(Switching.class)
-    public Switching switching() {
-        return () -> false;
-    }
-
     @Bean
     @Primary
     @ConditionalOnMissingBean(SwitchableRoutingRule.class)
@@ -77,7 +83,7 @@ public class MultiRoutingDataSourceConfiguration {
     @Primary
     @ConditionalOnMissingBean(MappedRoutingRule.class)
     public MappedRoutingRule mappedRoutingRule() {
-        return () -> null;
+        return () -> RoutingContext.peek(String.class).orElse(null);
     }
 
     @Configuration
@@ -87,7 +93,7 @@ public class MultiRoutingDataSourceConfiguration {
         @Bean
         public RoutingDataSourceMetrics<String> routingDataSourceMetrics(
             final MultiRoutingDataSourcesHolder multiRoutingDataSourcesHolder) {
-            return new RoutingDataSourceMetrics<>(multiRoutingDataSourcesHolder.getTargetDataSources());
+            return new RoutingDataSourceMetrics<>("multi", multiRoutingDataSourcesHolder.getTargetDataSources());
         }
     }
 
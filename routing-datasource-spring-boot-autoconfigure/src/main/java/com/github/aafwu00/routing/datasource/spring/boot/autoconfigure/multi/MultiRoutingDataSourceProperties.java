@@ -17,7 +17,9 @@
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.multi;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
@@ -136,7 +138,14 @@ public class MultiRoutingDataSourceProperties implements BeanClassLoaderAware, I
     }
 
     private boolean containReplication(final MultiDataSourceName name) {
-        return targets.containsKey(name.getMaster()) && targets.containsKey(name.getSlave());
+        return targets.containsKey(name.getMaster()) && containSlaves(name);
+    }
+
+    private boolean containSlaves(final MultiDataSourceName name) {
+        if (hasText(name.getSlave()) && !targets.containsKey(name.getSlave())) {
+            return false;
+        }
+        return isEmpty(name.getSlaves()) || targets.keySet().containsAll(name.getSlaves());
     }
 
     private boolean containStandalone(final MultiDataSourceName name) {
@@ -166,6 +175,18 @@ public class MultiRoutingDataSourceProperties implements BeanClassLoaderAware, I
          * Slave(Read Only) DataSource Name
          */
         private String slave;
+        /**
+         * Slave(Read Only) DataSource Names, Load balanced with `slave`
+         */
+        private List<String> slaves;
+        /**
+         * Weight of Slave DataSource Name for `Weighted` load balancer, default 1
+         */
+        private Map<String, Integer> weights;
+        /**
+         * Zone or region of Slave DataSource Name, slaves in `load-balancer.zone` are preferred
+         */
+        private Map<String, String> zones;
         /**
          * Switch Off DataSource Name
          */
@@ -208,7 +229,25 @@ public class MultiRoutingDataSourceProperties implements BeanClassLoaderAware, I
         }
 
         public boolean hasReplication() {
-            return hasText(master) && hasText(slave);
+            return hasText(master) && (hasText(slave) || hasSlaves());
+        }
+
+        public boolean hasSlaves() {
+            return !isEmpty(slaves);
+        }
+
+        public int weightOf(final String name) {
+            if (isEmpty(weights) || !weights.containsKey(name)) {
+                return 1;
+            }
+            return weights.get(name);
+        }
+
+        public Optional<String> zoneOf(final String name) {
+            if (isEmpty(zones)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(zones.get(name));
         }
 
         public boolean hasSwitchable() {
@@ -243,6 +282,30 @@ public class MultiRoutingDataSourceProperties implements BeanClassLoaderAware, I
             this.slave = slave;
         }
 
+        public List<String> getSlaves() {
+            return slaves;
+        }
+
+        public void setSlaves(final List<String> slaves) {
+            this.slaves = slaves;
+        }
+
+        public Map<String, Integer> getWeights() {
+            return weights;
+        }
+
+        public void setWeights(final Map<String, Integer> weights) {
+            this.weights = weights;
+        }
+
+        public Map<String, String> getZones() {
+            return zones;
+        }
+
+        public void setZones(final Map<String, String> zones) {
+            this.zones = zones;
+        }
+
         public String getSwitchOff() {
             return switchOff;
         }
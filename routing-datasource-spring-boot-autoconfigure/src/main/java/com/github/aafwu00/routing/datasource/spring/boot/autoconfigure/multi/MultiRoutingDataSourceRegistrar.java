@@ -19,6 +19,7 @@ package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.multi;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -50,6 +51,8 @@ import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
 import com.github.aafwu00.routing.datasource.spring.SwitchableRoutingRule;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DelegateRoutingDataSourceFactory;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReplicationLagProperties;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
 
 import static com.github.aafwu00.routing.datasource.spring.ReplicationType.Master;
 import static com.github.aafwu00.routing.datasource.spring.ReplicationType.Slave;
@@ -60,6 +63,7 @@ import static org.springframework.beans.factory.config.BeanDefinition.ROLE_INFRA
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import static org.springframework.util.ClassUtils.getShortName;
 import static org.springframework.util.CollectionUtils.isEmpty;
+import static org.springframework.util.StringUtils.hasText;
 import static org.springframework.util.StringUtils.uncapitalize;
 
 /**
@@ -156,8 +160,40 @@ public class MultiRoutingDataSourceRegistrar implements BeanDefinitionRegistryPo
                                                       final MultiDataSourceName property) {
         final Map<ReplicationType, String> keys = new HashMap<>();
         keys.put(Master, property.getMaster());
-        keys.put(Slave, property.getSlave());
-        registerTargetDataSources(registry, name, keys);
+        if (property.hasSlaves() || isLagEnabled(registry)) {
+            final Map<ReplicationType, Map<String, Integer>> replicas = new HashMap<>();
+            replicas.put(Slave, replicas(property));
+            registerLoadBalancedTargetDataSources(registry, name, keys, replicas, zones(property), Master);
+        } else {
+            keys.put(Slave, property.getSlave());
+            registerTargetDataSources(registry, name, keys);
+        }
+    }
+
+    /**
+     * A single slave is grouped as well, so it is excluded while lagging
+     */
+    private boolean isLagEnabled(final BeanDefinitionRegistry registry) {
+        return beanFactory(registry).getBean(ConfigurableEnvironment.class)
+                                    .getProperty(ReplicationLagProperties.PREFIX + ".enabled", Boolean.class, false);
+    }
+
+    private Map<String, Integer> replicas(final MultiDataSourceName property) {
+        final Map<String, Integer> result = new LinkedHashMap<>();
+        if (hasText(property.getSlave())) {
+            result.put(property.getSlave(), property.weightOf(property.getSlave()));
+        }
+        if (property.hasSlaves()) {
+            property.getSlaves().forEach(slave -> result.put(slave, property.weightOf(slave)));
+        }
+        return result;
+    }
+
+    private Map<String, String> zones(final MultiDataSourceName property) {
+        final Map<String, String> result = new HashMap<>();
+        replicas(property).keySet()
+                          .forEach(slave -> property.zoneOf(slave).ifPresent(zone -> result.put(slave, zone)));
+        return result;
     }
 
     private void registerSwitchableTargetDataSources(final BeanDefinitionRegistry registry,
@@ -199,6 +235,38 @@ public class MultiRoutingDataSourceRegistrar implements BeanDefinitionRegistryPo
         LOGGER.info("MultiRoutingTargetDataSourcesFactory bean registered: `{}`", beanName);
     }
 
+    private <T> void registerLoadBalancedTargetDataSources(final BeanDefinitionRegistry registry,
+                                                           final String name,
+                                                           final Map<T, String> keys,
+                                                           final Map<T, Map<String, Integer>> replicas,
+                                                           final Map<String, String> zones,
+                                                           final T fallback) {
+        final String beanName = targetDataSourcesName(name);
+        final AbstractBeanDefinition beanDefinition = genericBeanDefinition(MultiRoutingTargetDataSourcesFactory.class)
+            .addConstructorArgReference(TARGET_DATA_SOURCES_HOLDER)
+            .addConstructorArgValue(keys)
+            .addConstructorArgValue(replicas)
+            .addConstructorArgValue(zones)
+            .addConstructorArgValue(fallback)
+            .addConstructorArgReference(loadBalancerName(registry))
+            .getBeanDefinition();
+        registry.registerBeanDefinition(beanName, beanDefinition);
+        LOGGER.info("MultiRoutingTargetDataSourcesFactory bean registered: `{}`, replicas:`{}`", beanName, replicas);
+    }
+
+    private String loadBalancerName(final BeanDefinitionRegistry registry) {
+        final String[] beanNames = beanFactory(registry).getBeanNamesForType(LoadBalancer.class);
+        if (beanNames.length == 1) {
+            return beanNames[0];
+        }
+        for (final String beanName : beanNames) {
+            if (registry.getBeanDefinition(beanName).isPrimary()) {
+                return beanName;
+            }
+        }
+        throw new NoUniqueBeanDefinitionException(LoadBalancer.class, beanNames);
+    }
+
     private String targetDataSourcesName(final String name) {
         return uncapitalize(name + "TargetDataSources");
     }
@@ -210,6 +278,7 @@ public class MultiRoutingDataSourceRegistrar implements BeanDefinitionRegistryPo
         final AbstractBeanDefinition beanDefinition = genericBeanDefinition(DelegateRoutingDataSourceFactory.class)
             .addConstructorArgReference(routingRuleName(registry, name, clazz))
             .addConstructorArgReference(targetDataSourcesName(name))
+            .addConstructorArgValue(name)
             .getBeanDefinition();
         registry.registerBeanDefinition(beanName, beanDefinition);
         LOGGER.info("DelegateRoutingDataSourceFactory bean registered: `{}` , name:`{}`, class:`{}`:{} ", beanName, name, clazz);
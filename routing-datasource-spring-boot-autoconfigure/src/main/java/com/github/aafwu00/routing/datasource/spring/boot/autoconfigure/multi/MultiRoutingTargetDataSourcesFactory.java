@@ -16,6 +16,8 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.multi;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,10 +27,14 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSources;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toList;
 
 /**
  * @author Taeho Kim
@@ -37,15 +43,47 @@ public class MultiRoutingTargetDataSourcesFactory<T> implements FactoryBean<Targ
                                                                 InitializingBean {
     private final MultiRoutingDataSourcesHolder holder;
     private final Map<T, String> keys;
+    private final Map<T, Map<String, Integer>> replicas;
+    private final Map<String, String> zones;
     private final Optional<String> defaults;
+    private final Optional<T> fallback;
+    private final Optional<LoadBalancer> loadBalancer;
     private TargetDataSources<T> target;
 
     public MultiRoutingTargetDataSourcesFactory(final MultiRoutingDataSourcesHolder holder,
                                                 final Map<T, String> keys,
                                                 final Optional<String> defaults) {
+        this(holder, keys, emptyMap(), emptyMap(), defaults, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * @param replicas load balanced target names and weights by key
+     * @param zones    zones of load balanced target names
+     * @param fallback key used when no replica is available
+     */
+    public MultiRoutingTargetDataSourcesFactory(final MultiRoutingDataSourcesHolder holder,
+                                                final Map<T, String> keys,
+                                                final Map<T, Map<String, Integer>> replicas,
+                                                final Map<String, String> zones,
+                                                final T fallback,
+                                                final LoadBalancer loadBalancer) {
+        this(holder, keys, replicas, zones, Optional.empty(), Optional.of(fallback), Optional.of(loadBalancer));
+    }
+
+    private MultiRoutingTargetDataSourcesFactory(final MultiRoutingDataSourcesHolder holder,
+                                                 final Map<T, String> keys,
+                                                 final Map<T, Map<String, Integer>> replicas,
+                                                 final Map<String, String> zones,
+                                                 final Optional<String> defaults,
+                                                 final Optional<T> fallback,
+                                                 final Optional<LoadBalancer> loadBalancer) {
         this.holder = requireNonNull(holder);
         this.keys = unmodifiableMap(requireNonNull(keys));
+        this.replicas = unmodifiableMap(requireNonNull(replicas));
+        this.zones = unmodifiableMap(requireNonNull(zones));
         this.defaults = requireNonNull(defaults);
+        this.fallback = requireNonNull(fallback);
+        this.loadBalancer = requireNonNull(loadBalancer);
     }
 
     public MultiRoutingTargetDataSourcesFactory(final MultiRoutingDataSourcesHolder holder,
@@ -75,9 +113,26 @@ public class MultiRoutingTargetDataSourcesFactory<T> implements FactoryBean<Targ
 
     @Override
     public void afterPropertiesSet() {
-        final Map<T, DataSource> dataSources = keys.entrySet()
-                                                   .stream()
-                                                   .collect(toMap(Map.Entry::getKey, key -> holder.determine(key.getValue())));
+        final Map<T, DataSource> dataSources = new HashMap<>();
+        keys.forEach((key, name) -> dataSources.put(key, holder.determine(name)));
+        replicas.forEach((key, names) -> dataSources.put(key, loadBalanced(names)));
         target = new TargetDataSources<>(dataSources, defaults.map(holder::determine));
     }
+
+    private DataSource loadBalanced(final Map<String, Integer> names) {
+        final List<Replica> result = names.entrySet()
+                                          .stream()
+                                          .map(entry -> replica(entry.getKey(), entry.getValue()))
+                                          .collect(toList());
+        return new LoadBalancedDataSource(result,
+                                          loadBalancer.orElseThrow(() -> new IllegalStateException("LoadBalancer is not exists")),
+                                          fallback.map(keys::get).map(holder::determine));
+    }
+
+    private Replica replica(final String name, final int weight) {
+        if (zones.containsKey(name)) {
+            return new Replica(name, holder.determine(name), weight, zones.get(name));
+        }
+        return new Replica(name, holder.determine(name), weight);
+    }
 }
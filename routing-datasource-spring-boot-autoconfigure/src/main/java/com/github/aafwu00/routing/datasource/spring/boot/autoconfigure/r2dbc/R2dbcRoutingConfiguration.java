@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.r2dbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.Switching;
+import com.github.aafwu00.routing.datasource.spring.r2dbc.ReactiveRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.r2dbc.ReactiveRoutingRules;
+import com.github.aafwu00.routing.datasource.spring.r2dbc.RoutingConnectionFactory;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routing `ConnectionFactory` of which rule reads only Reactor `Context`, rules of routing `DataSource` are not shared
+ * since they read transaction and routing state bound to thread.
+ *
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnClass({ConnectionFactory.class, Mono.class})
+@ConditionalOnProperty(prefix = R2dbcRoutingProperties.PREFIX, name = "enabled")
+@EnableConfigurationProperties(R2dbcRoutingProperties.class)
+public class R2dbcRoutingConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(ConnectionFactory.class)
+    public RoutingConnectionFactory<?> routingConnectionFactory(final R2dbcRoutingProperties properties,
+                                                                final ObjectProvider<ReactiveRoutingRule<ReplicationType>> replicationRule,
+                                                                final ObjectProvider<ReactiveRoutingRule<SwitchableMode>> switchableRule,
+                                                                final ObjectProvider<Switching> switching,
+                                                                final ObjectProvider<ReactiveRoutingRule<String>> mappedRule) {
+        switch (properties.getType()) {
+            case Replication:
+                return create(properties, replicationRule.getIfUnique(ReactiveRoutingRules::replication), ReplicationType::valueOf);
+            case Switchable:
+                return create(properties,
+                              switchableRule.getIfUnique(() -> ReactiveRoutingRules.switchable(switching.getIfUnique(() -> () -> false))),
+                              SwitchableMode::valueOf);
+            case Mapped:
+                return create(properties, mappedRule.getIfUnique(ReactiveRoutingRules::mapped), Function.identity());
+            default:
+                throw new IllegalStateException(properties.getType() + " routing type is not supported by R2DBC");
+        }
+    }
+
+    private <T> RoutingConnectionFactory<T> create(final R2dbcRoutingProperties properties,
+                                                   final ReactiveRoutingRule<T> routingRule,
+                                                   final Function<String, T> keyOf) {
+        final Map<T, ConnectionFactory> targets = new HashMap<>();
+        properties.getTargets().forEach((key, url) -> targets.put(keyOf.apply(key), ConnectionFactories.get(url)));
+        return new RoutingConnectionFactory<>(routingRule,
+                                              targets,
+                                              Optional.ofNullable(properties.getDefaults()).map(ConnectionFactories::get));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.r2dbc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = R2dbcRoutingProperties.PREFIX)
+public class R2dbcRoutingProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".r2dbc";
+    /**
+     * Whether to register routing `ConnectionFactory`
+     */
+    private boolean enabled;
+    /**
+     * Routing type of which rule is used, `Replication`, `Switchable` or `Mapped`
+     */
+    @NotNull
+    private RoutingType type = RoutingType.Replication;
+    /**
+     * R2DBC url used when no target is matched
+     */
+    private String defaults;
+    /**
+     * R2DBC urls by key, e.g. `Master` and `Slave` of `Replication`, `On` and `Off` of `Switchable`
+     */
+    private Map<String, String> targets = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public RoutingType getType() {
+        return type;
+    }
+
+    public void setType(final RoutingType type) {
+        this.type = type;
+    }
+
+    public String getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(final String defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, String> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(final Map<String, String> targets) {
+        this.targets = targets;
+    }
+}
@@ -16,6 +16,17 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -23,6 +34,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import com.github.aafwu00.routing.datasource.spring.ReplicationRoutingRuleImpl;
 import com.github.aafwu00.routing.datasource.spring.ReplicationType;
@@ -31,9 +45,19 @@ import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCo
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAvailableCondition;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DelegateRoutingDataSourceFactory;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.HedgeProperties;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.LoadBalancerConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReadOnlyRouteConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReadYourWritesConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReplicationLagConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReplicationLagProperties;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSources;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSourcesFactory;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetProperties;
+import com.github.aafwu00.routing.datasource.spring.hedge.HedgedQueryExecutor;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
 
 import io.micrometer.core.instrument.binder.MeterBinder;
 
@@ -42,6 +66,7 @@ import static com.github.aafwu00.routing.datasource.spring.ReplicationType.Slave
 import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCondition.PREFIX;
 import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication.ReplicationDataSourceProperties.MASTER;
 import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication.ReplicationDataSourceProperties.SLAVE;
+import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication.ReplicationDataSourceProperties.SLAVES;
 
 /**
  * @author Taeho Kim
@@ -49,6 +74,10 @@ import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.re
 @Configuration
 @Conditional({RoutingCondition.class, ReplicationDataSourceConfiguration.ReplicationAvailableCondition.class})
 @EnableConfigurationProperties(ReplicationDataSourceProperties.class)
+@Import({LoadBalancerConfiguration.class,
+         ReplicationLagConfiguration.class,
+         ReadYourWritesConfiguration.class,
+         ReadOnlyRouteConfiguration.class})
 public class ReplicationDataSourceConfiguration {
     @Bean
     public DelegateRoutingDataSourceFactory<ReplicationType> dataSource(final RoutingRule<ReplicationType> routingRule,
@@ -58,9 +87,34 @@ public class ReplicationDataSourceConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public TargetDataSourcesFactory<ReplicationType> targetDataSources(final ReplicationDataSourceProperties properties) {
-        return new TargetDataSourcesFactory<ReplicationType>().with(Master, properties.getMaster(), PREFIX + MASTER)
-                                                              .with(Slave, properties.getSlave(), PREFIX + SLAVE);
+    public TargetDataSourcesFactory<ReplicationType> targetDataSources(final ReplicationDataSourceProperties properties,
+                                                                       final LoadBalancer loadBalancer,
+                                                                       final Environment environment) {
+        final TargetDataSourcesFactory<ReplicationType> result = new TargetDataSourcesFactory<ReplicationType>()
+            .with(Master, properties.getMaster(), PREFIX + MASTER);
+        if (properties.getSlaves().isEmpty() && !isLagEnabled(environment)) {
+            return result.with(Slave, properties.getSlave(), PREFIX + SLAVE);
+        }
+        return result.with(Slave, replicas(properties), loadBalancer, Master);
+    }
+
+    /**
+     * A single slave is grouped as well, so it is excluded while lagging
+     */
+    private boolean isLagEnabled(final Environment environment) {
+        return environment.getProperty(ReplicationLagProperties.PREFIX + ".enabled", Boolean.class, false);
+    }
+
+    private List<TargetProperties<String>> replicas(final ReplicationDataSourceProperties properties) {
+        final List<TargetProperties<String>> result = new ArrayList<>();
+        if (properties.getSlave() != null) {
+            result.add(new TargetProperties<>(SLAVE, properties.getSlave(), PREFIX + SLAVE));
+        }
+        for (int i = 0; i < properties.getSlaves().size(); i++) {
+            final String name = SLAVES + "[" + i + "]";
+            result.add(new TargetProperties<>(name, properties.getSlaves().get(i), PREFIX + name));
+        }
+        return result;
     }
 
     @Bean
@@ -80,9 +134,44 @@ public class ReplicationDataSourceConfiguration {
         }
     }
 
+    @Configuration
+    @ConditionalOnProperty(prefix = HedgeProperties.PREFIX, name = "enabled")
+    @EnableConfigurationProperties(HedgeProperties.class)
+    static class HedgedQueryConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public HedgedQueryExecutor hedgedQueryExecutor(final TargetDataSources<ReplicationType> targetDataSources,
+                                                       final HedgeProperties properties) {
+            final DataSource slave = targetDataSources.getDataSources().get(Slave);
+            if (!(slave instanceof LoadBalancedDataSource)) {
+                throw new IllegalStateException("Hedged query requires `" + PREFIX + SLAVES + "`");
+            }
+            return new HedgedQueryExecutor(LoadBalancedDataSource.class.cast(slave),
+                                           executor(properties),
+                                           properties.getPercentile(),
+                                           properties.getDefaultDelay());
+        }
+
+        private ExecutorService executor(final HedgeProperties properties) {
+            return new ThreadPoolExecutor(properties.getPoolSize(),
+                                          properties.getPoolSize(),
+                                          0,
+                                          TimeUnit.MILLISECONDS,
+                                          queue(properties.getQueueCapacity()),
+                                          new CustomizableThreadFactory("hedged-query-"));
+        }
+
+        private BlockingQueue<Runnable> queue(final int capacity) {
+            if (capacity == 0) {
+                return new SynchronousQueue<>();
+            }
+            return new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
     static class ReplicationAvailableCondition extends RoutingDataSourceAvailableCondition {
         ReplicationAvailableCondition() {
-            super("Replication Routing DataSource", MASTER, SLAVE);
+            super("Replication Routing DataSource", MASTER, SLAVE, SLAVES);
         }
     }
 }
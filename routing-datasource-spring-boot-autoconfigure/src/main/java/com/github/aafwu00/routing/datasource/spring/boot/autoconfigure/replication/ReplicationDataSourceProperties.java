@@ -16,6 +16,10 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -25,6 +29,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSourceProperties;
 
 /**
  * @author Taeho Kim
@@ -34,6 +39,7 @@ import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingTy
 public class ReplicationDataSourceProperties implements BeanClassLoaderAware, InitializingBean {
     public static final String MASTER = "master";
     public static final String SLAVE = "slave";
+    public static final String SLAVES = "slaves";
     private ClassLoader classLoader;
     /**
      * Master DataSource
@@ -43,13 +49,22 @@ public class ReplicationDataSourceProperties implements BeanClassLoaderAware, In
     /**
      * Slave(Read Only) DataSource
      */
-    @NotNull
     private DataSourceProperties slave;
+    /**
+     * Slave(Read Only) DataSources, Load balanced with `slave`
+     */
+    @Valid
+    private List<TargetDataSourceProperties> slaves = new ArrayList<>();
 
     @Override
     public void afterPropertiesSet() throws Exception {
         afterPropertiesSet(master);
-        afterPropertiesSet(slave);
+        if (slave != null) {
+            afterPropertiesSet(slave);
+        }
+        for (final DataSourceProperties properties : slaves) {
+            afterPropertiesSet(properties);
+        }
     }
 
     private void afterPropertiesSet(final DataSourceProperties properties) throws Exception {
@@ -77,4 +92,12 @@ public class ReplicationDataSourceProperties implements BeanClassLoaderAware, In
     public void setSlave(final DataSourceProperties slave) {
         this.slave = slave;
     }
+
+    public List<TargetDataSourceProperties> getSlaves() {
+        return slaves;
+    }
+
+    public void setSlaves(final List<TargetDataSourceProperties> slaves) {
+        this.slaves = slaves;
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreaker;
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreakerRegistry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * State of each circuit breaker(0: closed, 1: open, 2: half open) and calls not permitted while opened.
+ *
+ * @author Taeho Kim
+ */
+public class CircuitBreakerMetrics implements MeterBinder {
+    private static final String PREFIX = "datasource.circuit-breaker.";
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    public CircuitBreakerMetrics(final CircuitBreakerRegistry circuitBreakers) {
+        this.circuitBreakers = requireNonNull(circuitBreakers);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        circuitBreakers.forEach(circuitBreaker -> bindTo(registry, circuitBreaker));
+    }
+
+    private void bindTo(final MeterRegistry registry, final CircuitBreaker circuitBreaker) {
+        Gauge.builder(PREFIX + "state", circuitBreaker, target -> target.getState().ordinal())
+             .tag("name", circuitBreaker.getName())
+             .register(registry);
+        FunctionCounter.builder(PREFIX + "not-permitted", circuitBreaker, CircuitBreaker::getNotPermittedCalls)
+                       .tag("name", circuitBreaker.getName())
+                       .register(registry);
+    }
+}
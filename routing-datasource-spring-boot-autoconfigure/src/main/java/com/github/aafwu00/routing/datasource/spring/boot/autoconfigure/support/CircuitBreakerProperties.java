@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = CircuitBreakerProperties.PREFIX)
+public class CircuitBreakerProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".circuit-breaker";
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_WAIT_DURATION = 10;
+    /**
+     * Whether to guard targets by circuit breakers
+     */
+    private boolean enabled;
+    /**
+     * Consecutive connection failures to open circuit breaker
+     */
+    @Min(1)
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    /**
+     * Duration to keep circuit breaker opened before trying target again
+     */
+    @NotNull
+    private Duration waitDuration = Duration.ofSeconds(DEFAULT_WAIT_DURATION);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getWaitDuration() {
+        return waitDuration;
+    }
+
+    public void setWaitDuration(final Duration waitDuration) {
+        this.waitDuration = waitDuration;
+    }
+}
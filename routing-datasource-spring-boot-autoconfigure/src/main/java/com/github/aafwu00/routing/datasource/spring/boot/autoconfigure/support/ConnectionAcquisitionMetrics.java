@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.aafwu00.routing.datasource.spring.ConnectionAcquisitionListener;
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Time of {@code getConnection} of each target, tagged by routing type, logical name, lookup key and outcome.
+ * Timers are created on the first acquisition, so they are kept in a composite of bound registries.
+ *
+ * @author Taeho Kim
+ */
+public class ConnectionAcquisitionMetrics implements MeterBinder, ConnectionAcquisitionListener {
+    private static final String NAME = "datasource.connection.acquire";
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Map<RoutingTarget, Timer> acquired = new ConcurrentHashMap<>();
+    private final Map<RoutingTarget, Timer> failed = new ConcurrentHashMap<>();
+    private final boolean histogram;
+
+    /**
+     * @param histogram whether to publish percentile histograms
+     */
+    public ConnectionAcquisitionMetrics(final boolean histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry target) {
+        registry.add(target);
+    }
+
+    @Override
+    public void onAcquired(final RoutingTarget target, final long nanos, final boolean success) {
+        if (success) {
+            acquired.computeIfAbsent(target, key -> timer(key, "success")).record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            failed.computeIfAbsent(target, key -> timer(key, "failure")).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(final RoutingTarget target, final String outcome) {
+        return Timer.builder(NAME)
+                    .tag("routing", target.getRouting())
+                    .tag("name", target.getName())
+                    .tag("key", target.getKey())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram(histogram)
+                    .register(registry);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.aafwu00.routing.datasource.spring.ConnectionHoldListener;
+import com.github.aafwu00.routing.datasource.spring.ConnectionHoldTracker;
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Time of connections held from {@code getConnection} to {@code close} and possible leaks,
+ * tagged by routing type, logical name and lookup key of each target.
+ * Timers and counters are created on the first release or leak, so they are kept in a composite of bound registries.
+ *
+ * @author Taeho Kim
+ */
+public class ConnectionHoldMetrics implements MeterBinder, ConnectionHoldListener {
+    private static final String PREFIX = "datasource.connection.";
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Map<RoutingTarget, Timer> holds = new ConcurrentHashMap<>();
+    private final Map<RoutingTarget, Counter> leaks = new ConcurrentHashMap<>();
+    private final AtomicBoolean listening = new AtomicBoolean();
+    private final ConnectionHoldTracker tracker;
+    private final boolean histogram;
+
+    /**
+     * @param histogram whether to publish percentile histograms
+     */
+    public ConnectionHoldMetrics(final ConnectionHoldTracker tracker, final boolean histogram) {
+        this.tracker = requireNonNull(tracker);
+        this.histogram = histogram;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry target) {
+        Gauge.builder(PREFIX + "held", tracker, ConnectionHoldTracker::getHeld)
+             .register(target);
+        registry.add(target);
+        if (listening.compareAndSet(false, true)) {
+            tracker.addListener(this);
+        }
+    }
+
+    @Override
+    public void onReleased(final RoutingTarget target, final long nanos) {
+        holds.computeIfAbsent(target, this::timer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onLeakSuspected(final RoutingTarget target, final long nanos) {
+        leaks.computeIfAbsent(target, this::counter).increment();
+    }
+
+    private Timer timer(final RoutingTarget target) {
+        return Timer.builder(PREFIX + "hold")
+                    .tags(tagsOf(target))
+                    .publishPercentileHistogram(histogram)
+                    .register(registry);
+    }
+
+    private Counter counter(final RoutingTarget target) {
+        return Counter.builder(PREFIX + "leaks")
+                      .tags(tagsOf(target))
+                      .register(registry);
+    }
+
+    private Tags tagsOf(final RoutingTarget target) {
+        return Tags.of("routing", target.getRouting(), "name", target.getName(), "key", target.getKey());
+    }
+}
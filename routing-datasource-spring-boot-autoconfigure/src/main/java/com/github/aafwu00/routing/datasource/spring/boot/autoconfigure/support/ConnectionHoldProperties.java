@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = ConnectionHoldProperties.PREFIX)
+public class ConnectionHoldProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".metrics.connection-hold";
+    private static final int DEFAULT_LEAK_THRESHOLD = 30;
+    private static final double DEFAULT_STACK_TRACE_SAMPLE_RATE = 0.01;
+    /**
+     * Whether to track how long connections of each target are held
+     */
+    private boolean enabled;
+    /**
+     * Whether to publish percentile histograms of the timers
+     */
+    private boolean histogram;
+    /**
+     * Connections held longer are logged as possibly leaked
+     */
+    @NotNull
+    private Duration leakThreshold = Duration.ofSeconds(DEFAULT_LEAK_THRESHOLD);
+    /**
+     * Ratio of connections to capture stack traces of acquisition, logged with possible leaks
+     */
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private double stackTraceSampleRate = DEFAULT_STACK_TRACE_SAMPLE_RATE;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(final boolean histogram) {
+        this.histogram = histogram;
+    }
+
+    public Duration getLeakThreshold() {
+        return leakThreshold;
+    }
+
+    public void setLeakThreshold(final Duration leakThreshold) {
+        this.leakThreshold = leakThreshold;
+    }
+
+    @AssertTrue(message = "leakThreshold must be positive")
+    public boolean isLeakThresholdPositive() {
+        return leakThreshold == null || !leakThreshold.isNegative() && !leakThreshold.isZero();
+    }
+
+    public double getStackTraceSampleRate() {
+        return stackTraceSampleRate;
+    }
+
+    public void setStackTraceSampleRate(final double stackTraceSampleRate) {
+        this.stackTraceSampleRate = stackTraceSampleRate;
+    }
+}
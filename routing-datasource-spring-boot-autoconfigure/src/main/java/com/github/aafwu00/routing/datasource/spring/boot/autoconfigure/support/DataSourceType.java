@@ -55,6 +55,10 @@ public enum DataSourceType {
                      .filter(type -> type.isSameType(dataSource)).findFirst();
     }
 
+    public static Optional<DataSourcePoolMetadata> metadataOf(final DataSource dataSource) {
+        return valueOf(dataSource).map(type -> type.create(dataSource));
+    }
+
     public boolean isSameType(final DataSource dataSource) {
         return isSameType(dataSource.getClass().getCanonicalName());
     }
@@ -16,30 +16,89 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import com.github.aafwu00.routing.datasource.spring.ConnectionAcquisitionListener;
+import com.github.aafwu00.routing.datasource.spring.ConnectionHoldTracker;
 import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.EnumRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.HoldTrackedDataSource;
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
 import com.github.aafwu00.routing.datasource.spring.RoutingRule;
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.TimedDataSource;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreakerDataSource;
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreakerRegistry;
+import com.github.aafwu00.routing.datasource.spring.health.HealthCheckedDataSource;
+import com.github.aafwu00.routing.datasource.spring.health.HealthChecker;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementStatistics;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementTimedDataSource;
 
 import static java.util.Objects.requireNonNull;
 
 /**
+ * Targets are guarded by circuit breakers when {@link CircuitBreakerRegistry} bean exists,
+ * and fall back while marked down when {@link HealthChecker} bean exists.
+ * {@code getConnection} of each target is reported to {@link ConnectionAcquisitionListener} beans,
+ * connections of each target are tracked until closed when {@link ConnectionHoldTracker} bean exists,
+ * and statements executed on them are recorded when {@link StatementStatistics} bean exists.
+ *
  * @author Taeho Kim
  */
 public class DelegateRoutingDataSourceFactory<T> implements FactoryBean<LazyConnectionDataSourceProxy>,
-                                                            InitializingBean {
+                                                            InitializingBean,
+                                                            BeanFactoryAware,
+                                                            BeanNameAware {
+    private static final String DEFAULTS = "defaults";
     private final RoutingRule<T> routingRule;
     private final TargetDataSources<T> dataSources;
+    private final Optional<String> name;
+    private Optional<CircuitBreakerRegistry> circuitBreakers = Optional.empty();
+    private Optional<HealthChecker> healthChecker = Optional.empty();
+    private List<ConnectionAcquisitionListener> acquisitionListeners = Collections.emptyList();
+    private Optional<ConnectionHoldTracker> holdTracker = Optional.empty();
+    private Optional<StatementStatistics> statementStatistics = Optional.empty();
+    private String beanName = "dataSource";
     private LazyConnectionDataSourceProxy target;
 
     public DelegateRoutingDataSourceFactory(final RoutingRule<T> routingRule,
                                             final TargetDataSources<T> dataSources) {
+        this(routingRule, dataSources, Optional.empty());
+    }
+
+    /**
+     * @param name prefix of circuit breaker and health check names
+     */
+    public DelegateRoutingDataSourceFactory(final RoutingRule<T> routingRule,
+                                            final TargetDataSources<T> dataSources,
+                                            final String name) {
+        this(routingRule, dataSources, Optional.of(name));
+    }
+
+    private DelegateRoutingDataSourceFactory(final RoutingRule<T> routingRule,
+                                             final TargetDataSources<T> dataSources,
+                                             final Optional<String> name) {
         this.routingRule = requireNonNull(routingRule);
         this.dataSources = requireNonNull(dataSources);
+        this.name = requireNonNull(name);
     }
 
     @Override
@@ -57,12 +116,136 @@ public class DelegateRoutingDataSourceFactory<T> implements FactoryBean<LazyConn
         return true;
     }
 
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) {
+        circuitBreakers = Optional.ofNullable(beanFactory.getBeanProvider(CircuitBreakerRegistry.class).getIfAvailable());
+        healthChecker = Optional.ofNullable(beanFactory.getBeanProvider(HealthChecker.class).getIfAvailable());
+        acquisitionListeners = beanFactory.getBeanProvider(ConnectionAcquisitionListener.class)
+                                          .orderedStream()
+                                          .collect(Collectors.toList());
+        holdTracker = Optional.ofNullable(beanFactory.getBeanProvider(ConnectionHoldTracker.class).getIfAvailable());
+        statementStatistics = Optional.ofNullable(beanFactory.getBeanProvider(StatementStatistics.class).getIfAvailable());
+    }
+
+    @Override
+    public void setBeanName(final String name) {
+        this.beanName = name;
+    }
+
     @Override
     public void afterPropertiesSet() {
-        final DelegateRoutingDataSource<T> dataSource = new DelegateRoutingDataSource<>(routingRule);
-        dataSources.getDefaults().ifPresent(dataSource::setDefaultTargetDataSource);
-        dataSource.setTargetDataSources((Map) dataSources.getDataSources());
+        final DelegateRoutingDataSource<T> dataSource = createDataSource();
+        dataSources.getDefaults()
+                   .map(defaults -> guard(DEFAULTS, defaults, Optional.empty()))
+                   .ifPresent(dataSource::setDefaultTargetDataSource);
+        dataSource.setTargetDataSources(guardTargets());
         dataSource.afterPropertiesSet();
         target = new LazyConnectionDataSourceProxy(dataSource);
     }
+
+    /**
+     * {@link EnumRoutingDataSource} when every key is a constant of the same enum
+     */
+    private DelegateRoutingDataSource<T> createDataSource() {
+        final Optional<Class<? extends Enum<?>>> enumType = enumType();
+        if (enumType.isPresent()) {
+            return new EnumRoutingDataSource<>(routingRule, enumType.get());
+        }
+        return new DelegateRoutingDataSource<>(routingRule);
+    }
+
+    private Optional<Class<? extends Enum<?>>> enumType() {
+        final Set<T> keys = dataSources.getDataSources().keySet();
+        if (keys.isEmpty() || !keys.stream().allMatch(Enum.class::isInstance)) {
+            return Optional.empty();
+        }
+        final Set<Class<? extends Enum<?>>> types = keys.stream()
+                                                        .map(key -> declaringClassOf((Enum<?>) key))
+                                                        .collect(Collectors.toSet());
+        if (types.size() == 1) {
+            return Optional.of(types.iterator().next());
+        }
+        return Optional.empty();
+    }
+
+    private static <E extends Enum<E>> Class<? extends Enum<?>> declaringClassOf(final Enum<E> key) {
+        return key.getDeclaringClass();
+    }
+
+    private Map<Object, Object> guardTargets() {
+        final Map<Object, Object> result = new HashMap<>();
+        dataSources.getDataSources().forEach((key, dataSource) -> result.put(key, guard(key.toString(), dataSource, fallbackOf(key))));
+        return result;
+    }
+
+    private DataSource guard(final String key, final DataSource dataSource, final Optional<DataSource> fallback) {
+        if (dataSource instanceof LoadBalancedDataSource) {
+            return timed(key, guard(key, LoadBalancedDataSource.class.cast(dataSource)));
+        }
+        DataSource result = timed(key, dataSource);
+        if (circuitBreakers.isPresent()) {
+            result = new CircuitBreakerDataSource(result, circuitBreakers.get().circuitBreaker(nameOf(key)), fallback);
+        }
+        if (healthChecker.isPresent()) {
+            result = new HealthCheckedDataSource(result, healthChecker.get().register(nameOf(key), dataSource), fallback);
+        }
+        return result;
+    }
+
+    private DataSource guard(final String key, final LoadBalancedDataSource dataSource) {
+        dataSource.addDecorator(replica -> timed(key, replica));
+        circuitBreakers.ifPresent(registry -> {
+            dataSource.addFilter(registry);
+            dataSource.addListener(registry);
+        });
+        healthChecker.ifPresent(checker -> {
+            dataSource.getReplicas().forEach(replica -> checker.register(replica.getName(), replica.getDataSource()));
+            dataSource.addFilter(checker);
+        });
+        return dataSource;
+    }
+
+    private Optional<DataSource> fallbackOf(final T key) {
+        final Optional<T> fallback = routingRule.fallbackOf(key).filter(target -> dataSources.determine(target).isPresent());
+        if (fallback.isPresent()) {
+            return dataSources.determine(fallback.get()).map(dataSource -> timed(fallback.get().toString(), dataSource));
+        }
+        return dataSources.getDefaults().map(defaults -> timed(DEFAULTS, defaults));
+    }
+
+    private DataSource timed(final String key, final DataSource dataSource) {
+        final RoutingTarget target = new RoutingTarget(routingType().name(), name.orElse(beanName), key);
+        DataSource result = dataSource;
+        if (statementStatistics.isPresent()) {
+            result = new StatementTimedDataSource(result, target, statementStatistics.get());
+        }
+        if (!acquisitionListeners.isEmpty()) {
+            result = new TimedDataSource(result, target, this::onAcquired);
+        }
+        if (holdTracker.isPresent()) {
+            result = new HoldTrackedDataSource(result, target, holdTracker.get());
+        }
+        return result;
+    }
+
+    private void onAcquired(final RoutingTarget target, final long nanos, final boolean acquired) {
+        for (final ConnectionAcquisitionListener listener : acquisitionListeners) {
+            listener.onAcquired(target, nanos, acquired);
+        }
+    }
+
+    private RoutingType routingType() {
+        final Optional<Class<? extends Enum<?>>> enumType = enumType();
+        if (enumType.filter(ReplicationType.class::equals).isPresent()) {
+            return RoutingType.Replication;
+        }
+        if (enumType.filter(SwitchableMode.class::equals).isPresent()) {
+            return RoutingType.Switchable;
+        }
+        return RoutingType.Mapped;
+    }
+
+    private String nameOf(final String key) {
+        return name.map(prefix -> prefix + "." + key).orElse(key);
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWrite;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes mirrored to `switchOn` by result(matched, diverged in update counts, failed on mirror) and dropped as saturated,
+ * tagged by logical name and target.
+ *
+ * @author Taeho Kim
+ */
+public class DualWriteMetrics implements MeterBinder {
+    private static final String PREFIX = "datasource.dual-write.";
+    private static final String TARGET = SwitchableMode.On.name();
+    private final String name;
+    private final DualWriter writer;
+
+    public DualWriteMetrics(final String name, final DualWriter writer) {
+        this.name = requireNonNull(name);
+        this.writer = requireNonNull(writer);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + "rejected", writer, DualWriter::getRejected)
+                       .tag("name", name)
+                       .tag("target", TARGET)
+                       .register(registry);
+        final Map<DualWrite.Result, Counter> writes = new EnumMap<>(DualWrite.Result.class);
+        for (final DualWrite.Result result : DualWrite.Result.values()) {
+            writes.put(result, counter(registry, result));
+        }
+        writer.addListener(write -> writes.get(write.getResult()).increment());
+    }
+
+    private Counter counter(final MeterRegistry registry, final DualWrite.Result result) {
+        return Counter.builder(PREFIX + "writes")
+                      .tag("name", name)
+                      .tag("target", TARGET)
+                      .tag("result", result.name().toLowerCase(Locale.ENGLISH))
+                      .register(registry);
+    }
+}
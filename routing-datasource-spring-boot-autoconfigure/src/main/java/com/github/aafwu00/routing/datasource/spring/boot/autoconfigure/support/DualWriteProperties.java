@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriteMode;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = DualWriteProperties.PREFIX)
+public class DualWriteProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".dual-write";
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_SHUTDOWN_TIMEOUT = 10;
+    /**
+     * Whether to mirror writes of `switch-off` to `switch-on`
+     */
+    private boolean enabled;
+    /**
+     * Mirror writes in the caller's transaction(`Sync`) or after commit in background(`Async`)
+     */
+    @NotNull
+    private DualWriteMode mode = DualWriteMode.Sync;
+    /**
+     * Capacity of pending transactions of `Async`, writes are dropped when full
+     */
+    @Min(1)
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    /**
+     * Time to wait for pending transactions of `Async` on shutdown, the rest are counted as rejected
+     */
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(DEFAULT_SHUTDOWN_TIMEOUT);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DualWriteMode getMode() {
+        return mode;
+    }
+
+    public void setMode(final DualWriteMode mode) {
+        this.mode = mode;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(final Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
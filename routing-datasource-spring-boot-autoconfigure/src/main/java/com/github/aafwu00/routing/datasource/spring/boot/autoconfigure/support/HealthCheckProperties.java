@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = HealthCheckProperties.PREFIX)
+public class HealthCheckProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".health";
+    private static final int DEFAULT_INTERVAL = 5;
+    /**
+     * Whether to check health of targets in background instead of validating connections on borrow
+     */
+    private boolean enabled;
+    /**
+     * Delay between checks
+     */
+    @NotNull
+    private Duration interval = Duration.ofSeconds(DEFAULT_INTERVAL);
+    /**
+     * Timeout of validation
+     */
+    @NotNull
+    private Duration timeout = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(final Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(final Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = HedgeProperties.PREFIX)
+public class HedgeProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".hedge";
+    private static final double DEFAULT_PERCENTILE = 0.95;
+    private static final int DEFAULT_DELAY = 50;
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    /**
+     * Whether to register `HedgedQueryExecutor` of `slaves`
+     */
+    private boolean enabled;
+    /**
+     * Percentile of recent latencies to wait before hedging to another slave
+     */
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax("1")
+    private double percentile = DEFAULT_PERCENTILE;
+    /**
+     * Delay before hedging until enough latencies are recorded
+     */
+    @NotNull
+    private Duration defaultDelay = Duration.ofMillis(DEFAULT_DELAY);
+    /**
+     * Maximum threads running hedged queries
+     */
+    @Min(1)
+    private int poolSize = DEFAULT_POOL_SIZE;
+    /**
+     * Capacity of pending hedged queries, hedging is skipped when full
+     */
+    @Min(0)
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getDefaultDelay() {
+        return defaultDelay;
+    }
+
+    public void setDefaultDelay(final Duration defaultDelay) {
+        this.defaultDelay = defaultDelay;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(final int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
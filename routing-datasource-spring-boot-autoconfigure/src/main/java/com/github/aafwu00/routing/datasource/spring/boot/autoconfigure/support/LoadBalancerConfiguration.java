@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LeastConnectionsLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ZoneAwareLoadBalancer;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancerConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    public LoadBalancer loadBalancer(final LoadBalancerProperties properties) {
+        final LoadBalancer result = properties.getType().create();
+        if (StringUtils.hasText(properties.getZone())) {
+            return ZoneAwareLoadBalancer.create(result, properties.getZone(), saturated(properties.getSaturation()));
+        }
+        return result;
+    }
+
+    /**
+     * Metadata is resolved once per replica, as {@link LeastConnectionsLoadBalancer} does
+     */
+    private Predicate<Replica> saturated(final double saturation) {
+        final Map<Replica, Optional<DataSourcePoolMetadata>> metadata = new ConcurrentHashMap<>();
+        return replica -> metadata(metadata, replica).map(DataSourcePoolMetadata::getUsage)
+                                                     .map(usage -> usage >= saturation)
+                                                     .orElse(false);
+    }
+
+    private Optional<DataSourcePoolMetadata> metadata(final Map<Replica, Optional<DataSourcePoolMetadata>> metadata,
+                                                      final Replica replica) {
+        final Optional<DataSourcePoolMetadata> result = metadata.get(replica);
+        if (result != null) {
+            return result;
+        }
+        return metadata.computeIfAbsent(replica, key -> DataSourceType.metadataOf(key.getDataSource()));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = LoadBalancerProperties.PREFIX)
+public class LoadBalancerProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".load-balancer";
+    private static final double DEFAULT_SATURATION = 0.9;
+    /**
+     * Replica selection strategy of `slaves`
+     */
+    @NotNull
+    private LoadBalancerType type = LoadBalancerType.RoundRobin;
+    /**
+     * Zone or region of this application, replicas in the same zone are preferred
+     */
+    private String zone;
+    /**
+     * Pool usage from which a replica in the same zone is regarded as saturated and other zones are used
+     */
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private double saturation = DEFAULT_SATURATION;
+
+    public LoadBalancerType getType() {
+        return type;
+    }
+
+    public void setType(final LoadBalancerType type) {
+        this.type = type;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(final String zone) {
+        this.zone = zone;
+    }
+
+    public double getSaturation() {
+        return saturation;
+    }
+
+    public void setSaturation(final double saturation) {
+        this.saturation = saturation;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.function.Supplier;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.EwmaLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LeastConnectionsLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.RandomLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.RoundRobinLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.WeightedLoadBalancer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * @author Taeho Kim
+ */
+public enum LoadBalancerType {
+    RoundRobin(RoundRobinLoadBalancer::new),
+    Random(RandomLoadBalancer::new),
+    Weighted(WeightedLoadBalancer::new),
+    LeastConnections(() -> new LeastConnectionsLoadBalancer(DataSourceType::metadataOf)),
+    Ewma(EwmaLoadBalancer::new);
+    private final Supplier<LoadBalancer> supplier;
+
+    LoadBalancerType(final Supplier<LoadBalancer> supplier) {
+        this.supplier = requireNonNull(supplier);
+    }
+
+    public LoadBalancer create() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Pool specific metrics read from pool MXBeans, each pool is only touched by its own nested class,
+ * so pools not on classpath are never loaded.
+ *
+ * @author Taeho Kim
+ */
+final class PoolMetrics {
+    static final String PREFIX = "datasource.pool.";
+    private static final String PENDING = "pending";
+    private static final String IDLE = "idle";
+
+    private PoolMetrics() {
+    }
+
+    static void bindTo(final MeterRegistry registry, final DataSourceType type, final DataSource dataSource, final Tags tags) {
+        switch (type) {
+            case Hikari:
+                HikariPoolMetrics.bindTo(registry, dataSource, tags);
+                break;
+            case Tomcat:
+                TomcatPoolMetrics.bindTo(registry, dataSource, tags);
+                break;
+            case DBCP2:
+                Dbcp2PoolMetrics.bindTo(registry, dataSource, tags);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static <T> void gauge(final MeterRegistry registry,
+                                  final String name,
+                                  final T pool,
+                                  final ToDoubleFunction<T> function,
+                                  final Tags tags) {
+        Gauge.builder(PREFIX + name, pool, function).tags(tags).register(registry);
+    }
+
+    private static <T> void counter(final MeterRegistry registry,
+                                    final String name,
+                                    final T pool,
+                                    final ToDoubleFunction<T> function,
+                                    final Tags tags) {
+        FunctionCounter.builder(PREFIX + name, pool, function).tags(tags).register(registry);
+    }
+
+    /**
+     * {@link HikariPoolMXBean} is available after the pool is started. Connection timeouts and creation time are
+     * recorded as {@code hikaricp.connections.*} by {@link MicrometerMetricsTrackerFactory}, unless other tracker is set.
+     */
+    private static final class HikariPoolMetrics {
+        static void bindTo(final MeterRegistry registry, final DataSource dataSource, final Tags tags) {
+            final HikariDataSource pool = HikariDataSource.class.cast(dataSource);
+            gauge(registry, PENDING, pool, target -> value(target, HikariPoolMXBean::getThreadsAwaitingConnection), tags);
+            gauge(registry, IDLE, pool, target -> value(target, HikariPoolMXBean::getIdleConnections), tags);
+            gauge(registry, "total", pool, target -> value(target, HikariPoolMXBean::getTotalConnections), tags);
+            if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+
+        private static double value(final HikariDataSource pool, final ToDoubleFunction<HikariPoolMXBean> function) {
+            return Optional.ofNullable(pool.getHikariPoolMXBean())
+                           .map(function::applyAsDouble)
+                           .orElse(Double.NaN);
+        }
+    }
+
+    /**
+     * Same attributes as {@code ConnectionPoolMBean}, which is registered only when JMX is enabled.
+     * The pool is read without being created.
+     */
+    private static final class TomcatPoolMetrics {
+        static void bindTo(final MeterRegistry registry, final DataSource dataSource, final Tags tags) {
+            final DataSourceProxy pool = DataSourceProxy.class.cast(dataSource);
+            gauge(registry, PENDING, pool, target -> value(target, ConnectionPool::getWaitCount, Double.NaN), tags);
+            gauge(registry, IDLE, pool, target -> value(target, ConnectionPool::getIdle, Double.NaN), tags);
+            counter(registry, "created", pool, target -> value(target, ConnectionPool::getCreatedCount, 0), tags);
+            counter(registry, "abandoned", pool, target -> value(target, ConnectionPool::getRemoveAbandonedCount, 0), tags);
+        }
+
+        private static double value(final DataSourceProxy pool,
+                                    final ToDoubleFunction<ConnectionPool> function,
+                                    final double defaults) {
+            return Optional.ofNullable(pool.getPool())
+                           .map(function::applyAsDouble)
+                           .orElse(defaults);
+        }
+    }
+
+    /**
+     * {@code BasicDataSourceMXBean} does not expose waiting threads.
+     */
+    private static final class Dbcp2PoolMetrics {
+        static void bindTo(final MeterRegistry registry, final DataSource dataSource, final Tags tags) {
+            gauge(registry, IDLE, BasicDataSource.class.cast(dataSource), BasicDataSource::getNumIdle, tags);
+        }
+    }
+}
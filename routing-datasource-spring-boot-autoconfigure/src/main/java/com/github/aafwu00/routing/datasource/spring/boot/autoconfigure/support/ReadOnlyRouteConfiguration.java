@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRoute;
+
+/**
+ * Infrastructure advisor of {@link ReadOnlyRoute}, applied by the auto proxy creator of transaction management.
+ *
+ * @author Taeho Kim
+ */
+@Configuration
+public class ReadOnlyRouteConfiguration {
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readOnlyRouteAdvisor() {
+        final ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadOnlyRoute.class, true))
+            .union(AnnotationMatchingPointcut.forMethodAnnotation(ReadOnlyRoute.class));
+        return new DefaultPointcutAdvisor(pointcut, new ReadOnlyRouteInterceptor());
+    }
+}
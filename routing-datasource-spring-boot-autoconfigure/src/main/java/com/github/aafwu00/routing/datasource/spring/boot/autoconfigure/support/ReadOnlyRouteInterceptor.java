@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRoute;
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRouteContext;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+/**
+ * Bind {@link ReadOnlyRoute#maxStaleness()} to {@link RoutingContext} by {@link ReadOnlyRouteContext} during invocation.
+ *
+ * @author Taeho Kim
+ */
+public class ReadOnlyRouteInterceptor implements MethodInterceptor {
+    private final Map<MethodClassKey, Optional<ReadOnlyRouteContext>> keyCache = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        final Optional<ReadOnlyRouteContext> key = keyCache.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+                                                                            cacheKey -> keyOf(invocation.getMethod(), targetClass));
+        if (!key.isPresent()) {
+            return invocation.proceed();
+        }
+        return ScopedInvocation.proceed(invocation, task -> RoutingContext.call(key.get(), task));
+    }
+
+    private Optional<ReadOnlyRouteContext> keyOf(final Method invoked, final Class<?> targetClass) {
+        final Method method = AopUtils.getMostSpecificMethod(invoked, targetClass);
+        final ReadOnlyRoute annotation
+            = Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, ReadOnlyRoute.class))
+                      .orElseGet(() -> AnnotatedElementUtils.findMergedAnnotation(targetClass, ReadOnlyRoute.class));
+        return Optional.ofNullable(annotation)
+                       .map(ReadOnlyRoute::maxStaleness)
+                       .map(DurationStyle::detectAndParse)
+                       .map(ReadOnlyRouteContext::of);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+import com.github.aafwu00.routing.datasource.spring.ReadYourWritesRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.RoutingRule;
+import com.github.aafwu00.routing.datasource.spring.SessionKeyResolver;
+import com.github.aafwu00.routing.datasource.spring.lag.ReplicationLagMonitor;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnProperty(prefix = ReadYourWritesProperties.PREFIX, name = "enabled")
+@EnableConfigurationProperties(ReadYourWritesProperties.class)
+public class ReadYourWritesConfiguration {
+    /**
+     * {@link SessionKeyResolver} bean is required, pooled threads are shared by sessions of different users
+     */
+    @Bean
+    @ConditionalOnMissingBean(RoutingRule.class)
+    public ReadYourWritesRoutingRule readYourWritesRoutingRule(final ObjectProvider<SessionKeyResolver> sessionKeyResolver,
+                                                               final ReadYourWritesProperties properties,
+                                                               final ObjectProvider<ReplicationLagMonitor> monitor) {
+        final SessionKeyResolver resolver = sessionKeyResolver.getIfAvailable();
+        Assert.state(resolver != null, "`" + ReadYourWritesProperties.PREFIX + ".enabled` requires a SessionKeyResolver bean");
+        return new ReadYourWritesRoutingRule(resolver,
+                                             properties.getWindow(),
+                                             properties.getMaxSessions(),
+                                             () -> Optional.ofNullable(monitor.getIfAvailable()).flatMap(ReplicationLagMonitor::getMaxLag));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.ReadYourWritesRoutingRule;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = ReadYourWritesProperties.PREFIX)
+public class ReadYourWritesProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".read-your-writes";
+    /**
+     * Whether to route reads of a session to `master` after the session committed a write
+     */
+    private boolean enabled;
+    /**
+     * Duration to route reads to `master` after a write, shortened when replicas have caught up
+     */
+    @NotNull
+    private Duration window = Duration.ofSeconds(1);
+    /**
+     * Maximum sessions routed to `master`, the oldest write is evicted over it
+     */
+    @Min(1)
+    private int maxSessions = ReadYourWritesRoutingRule.DEFAULT_MAX_SESSIONS;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(final Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(final int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.lag.QueryReplicationLagProbe;
+import com.github.aafwu00.routing.datasource.spring.lag.ReplicationLagMonitor;
+import com.github.aafwu00.routing.datasource.spring.lag.ReplicationLagProbe;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import static com.github.aafwu00.routing.datasource.spring.QueryTimeouts.secondsOf;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnProperty(prefix = ReplicationLagProperties.PREFIX, name = "enabled")
+@EnableConfigurationProperties(ReplicationLagProperties.class)
+public class ReplicationLagConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplicationLagProbe replicationLagProbe(final ReplicationLagProperties properties) {
+        Assert.hasText(properties.getQuery(), "`" + ReplicationLagProperties.PREFIX + ".query` is required");
+        return new QueryReplicationLagProbe(properties.getQuery(), secondsOf(properties.getTimeout()));
+    }
+
+    @Bean
+    public ReplicationLagMonitor replicationLagMonitor(final List<TargetDataSources<?>> targetDataSources,
+                                                       final ReplicationLagProbe probe,
+                                                       final ReplicationLagProperties properties) {
+        return new ReplicationLagMonitor(loadBalanced(targetDataSources), probe, properties.getThreshold(), properties.getInterval());
+    }
+
+    private List<LoadBalancedDataSource> loadBalanced(final List<TargetDataSources<?>> targetDataSources) {
+        return targetDataSources.stream()
+                                .flatMap(target -> target.getDataSources().values().stream())
+                                .filter(LoadBalancedDataSource.class::isInstance)
+                                .map(LoadBalancedDataSource.class::cast)
+                                .collect(Collectors.toList());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
+    @ConditionalOnClass(MeterBinder.class)
+    static class ReplicationLagMetricsConfiguration {
+        @Bean
+        public ReplicationLagMetrics replicationLagMetrics(final ReplicationLagMonitor monitor) {
+            return new ReplicationLagMetrics(monitor);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import com.github.aafwu00.routing.datasource.spring.lag.ReplicationLagMonitor;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replication lag of each replica in milliseconds, `NaN` when failed to probe.
+ *
+ * @author Taeho Kim
+ */
+public class ReplicationLagMetrics implements MeterBinder {
+    private final ReplicationLagMonitor monitor;
+
+    public ReplicationLagMetrics(final ReplicationLagMonitor monitor) {
+        this.monitor = requireNonNull(monitor);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        monitor.getReplicas().forEach(replica -> bindTo(registry, replica));
+    }
+
+    private void bindTo(final MeterRegistry registry, final Replica replica) {
+        Gauge.builder("datasource.replication.lag", replica, this::lag)
+             .tag("replica", replica.getName())
+             .baseUnit("milliseconds")
+             .register(registry);
+    }
+
+    private double lag(final Replica replica) {
+        return monitor.getLag(replica)
+                      .map(lag -> (double) lag.toMillis())
+                      .orElse(Double.NaN);
+    }
+}
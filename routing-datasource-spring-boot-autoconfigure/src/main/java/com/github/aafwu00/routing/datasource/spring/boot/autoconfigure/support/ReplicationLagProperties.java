@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = ReplicationLagProperties.PREFIX)
+public class ReplicationLagProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".lag";
+    /**
+     * Whether to probe replication lag of `slave` and `slaves`
+     */
+    private boolean enabled;
+    /**
+     * Query of which first column is the timestamp of last replicated heartbeat or the lag in milliseconds
+     */
+    private String query;
+    /**
+     * Replicas of which lag exceeds threshold are excluded
+     */
+    @NotNull
+    private Duration threshold = Duration.ofSeconds(1);
+    /**
+     * Delay between probes
+     */
+    @NotNull
+    private Duration interval = Duration.ofSeconds(1);
+    /**
+     * Query timeout of probe
+     */
+    @NotNull
+    private Duration timeout = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(final String query) {
+        this.query = query;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(final Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(final Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(final Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.RouteTo;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Bind keys of {@link RouteTo} to {@link RoutingContext} by scope during invocation, keys are cached per method of target class.
+ *
+ * @author Taeho Kim
+ */
+public class RouteToInterceptor implements MethodInterceptor {
+    private final Map<MethodClassKey, List<Object>> keysCache = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final List<Object> keys = keysOf(invocation);
+        if (keys.isEmpty()) {
+            return invocation.proceed();
+        }
+        return ScopedInvocation.proceed(invocation, task -> RoutingContext.callAll(keys, task));
+    }
+
+    private List<Object> keysOf(final MethodInvocation invocation) {
+        final Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        final List<Object> keys = keysCache.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+                                                            key -> keys(invocation.getMethod(), targetClass));
+        if (isReadWriteTransaction() && keys.contains(ReplicationType.Slave)) {
+            return keys.stream()
+                       .filter(key -> key != ReplicationType.Slave)
+                       .collect(toList());
+        }
+        return keys;
+    }
+
+    /**
+     * Connection of read write transaction may be checked out later than invocation, so slave is not pushed at all
+     */
+    private boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private List<Object> keys(final Method invoked, final Class<?> targetClass) {
+        final Method method = AopUtils.getMostSpecificMethod(invoked, targetClass);
+        final RouteTo annotation = Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, RouteTo.class))
+                                           .orElseGet(() -> AnnotatedElementUtils.findMergedAnnotation(targetClass, RouteTo.class));
+        return Optional.ofNullable(annotation)
+                       .map(this::keysOf)
+                       .orElseGet(Collections::emptyList);
+    }
+
+    private List<Object> keysOf(final RouteTo annotation) {
+        final List<Object> result = new ArrayList<>();
+        if (StringUtils.hasText(annotation.value())) {
+            result.add(annotation.value());
+        }
+        result.addAll(Arrays.asList(annotation.replication()));
+        result.addAll(Arrays.asList(annotation.switchable()));
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.concurrent.RoutingContextTaskDecorator;
+
+/**
+ * Propagate {@link RoutingContext} to {@code @Async} methods, by task decorator of auto configured task executor.
+ * Opt in, as it takes the single {@link TaskDecorator} of the executor, other decorator can be wrapped by
+ * {@link RoutingContextTaskDecorator#RoutingContextTaskDecorator(TaskDecorator)} instead.
+ *
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnProperty(prefix = RoutingType.SCOPE, name = "context-propagation")
+public class RoutingContextConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public RoutingContextTaskDecorator routingContextTaskDecorator() {
+        return new RoutingContextTaskDecorator();
+    }
+}
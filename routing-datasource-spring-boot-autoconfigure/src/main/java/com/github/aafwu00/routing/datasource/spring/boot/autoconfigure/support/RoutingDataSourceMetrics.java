@@ -16,65 +16,88 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
 
-import java.util.Locale;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.ToDoubleFunction;
+import java.util.function.Function;
 
 import javax.sql.DataSource;
 
 import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
 
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.MeterBinder;
 
+import static java.util.Objects.requireNonNull;
+
 /**
+ * Pool gauges of each target and replica as {@code datasource.pool.*}, tagged by logical name, target and pool type.
+ * Pool specific metrics are bound by {@link PoolMetrics}.
+ *
  * @author Taeho Kim
  */
 public class RoutingDataSourceMetrics<T> implements MeterBinder {
-    private final Map<String, DataSourcePoolMetadata> metadataByPrefix = new ConcurrentHashMap<>();
+    private static final String DEFAULT_NAME = "dataSource";
+    private final String name;
+    private final Map<String, DataSource> dataSourcesByTarget = new LinkedHashMap<>();
 
     public RoutingDataSourceMetrics(final TargetDataSources<T> dataSources) {
-        dataSources.getDataSources().forEach(this::putIfPresent);
-        dataSources.getDefaults().flatMap(this::metadata).ifPresent(metadata -> metadataByPrefix.putIfAbsent("defaults", metadata));
-    }
-
-    private void putIfPresent(final T name, final DataSource dataSource) {
-        metadata(dataSource).ifPresent(metadata -> put(name, metadata));
+        this(DEFAULT_NAME, dataSources);
     }
 
-    private Optional<DataSourcePoolMetadata> metadata(final DataSource dataSource) {
-        return DataSourceType.valueOf(dataSource)
-                             .map(type -> type.create(dataSource));
+    /**
+     * @param name logical name of routing DataSource
+     */
+    public RoutingDataSourceMetrics(final String name, final TargetDataSources<T> dataSources) {
+        this.name = requireNonNull(name);
+        dataSources.getDataSources().forEach(this::putIfPresent);
+        dataSources.getDefaults().ifPresent(defaults -> putIfPresent("defaults", defaults));
     }
 
-    private void put(final T name, final DataSourcePoolMetadata metadata) {
-        metadataByPrefix.put(key(name), metadata);
+    private void putIfPresent(final Object target, final DataSource dataSource) {
+        if (dataSource instanceof LoadBalancedDataSource) {
+            LoadBalancedDataSource.class.cast(dataSource).getReplicas().forEach(this::putReplicaIfPresent);
+        } else if (DataSourceType.valueOf(dataSource).isPresent()) {
+            dataSourcesByTarget.putIfAbsent(target.toString(), dataSource);
+        }
     }
 
-    private String key(final T name) {
-        return "datasource." + name.toString().toLowerCase(Locale.getDefault());
+    private void putReplicaIfPresent(final Replica replica) {
+        putIfPresent(replica.getName(), replica.getDataSource());
     }
 
     @Override
     public void bindTo(final MeterRegistry registry) {
-        metadataByPrefix.forEach((prefix, metadata) -> {
-            bindTo(registry, prefix, "active", metadata, DataSourcePoolMetadata::getActive);
-            bindTo(registry, prefix, "usage", metadata, DataSourcePoolMetadata::getUsage);
-            bindTo(registry, prefix, "max", metadata, DataSourcePoolMetadata::getMax);
-            bindTo(registry, prefix, "min", metadata, DataSourcePoolMetadata::getMin);
-        });
+        dataSourcesByTarget.forEach((target, dataSource) -> bindTo(registry, target, dataSource));
+    }
+
+    private void bindTo(final MeterRegistry registry, final String target, final DataSource dataSource) {
+        final DataSourceType type = DataSourceType.valueOf(dataSource).orElseThrow(IllegalStateException::new);
+        final Tags tags = Tags.of("name", name, "target", target, "pool", type.getPrefix());
+        final DataSourcePoolMetadata metadata = type.create(dataSource);
+        bindTo(registry, "active", tags, metadata, DataSourcePoolMetadata::getActive);
+        bindTo(registry, "usage", tags, metadata, DataSourcePoolMetadata::getUsage);
+        bindTo(registry, "max", tags, metadata, DataSourcePoolMetadata::getMax);
+        bindTo(registry, "min", tags, metadata, DataSourcePoolMetadata::getMin);
+        PoolMetrics.bindTo(registry, type, dataSource, tags);
     }
 
     private void bindTo(final MeterRegistry registry,
-                        final String prefix,
-                        final String name,
+                        final String metric,
+                        final Tags tags,
                         final DataSourcePoolMetadata metadata,
-                        final ToDoubleFunction<DataSourcePoolMetadata> function) {
-        Gauge.builder(prefix + "." + name, metadata, function)
-             .tag("datasource", name)
+                        final Function<DataSourcePoolMetadata, Number> function) {
+        Gauge.builder(PoolMetrics.PREFIX + metric, metadata, target -> value(function.apply(target)))
+             .tags(tags)
              .register(registry);
     }
+
+    private double value(final Number number) {
+        return Optional.ofNullable(number).map(Number::doubleValue).orElse(Double.NaN);
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingDecisions;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Lookup keys determined by each routing DataSource, and those falling back to the default target by reason.
+ *
+ * @author Taeho Kim
+ */
+public class RoutingDecisionMetrics implements MeterBinder {
+    private static final String NAME = "name";
+    private final Map<String, RoutingDecisions> decisionsByName;
+
+    /**
+     * @param decisionsByName decisions by bean name of routing DataSource
+     */
+    public RoutingDecisionMetrics(final Map<String, RoutingDecisions> decisionsByName) {
+        this.decisionsByName = new HashMap<>(decisionsByName);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        decisionsByName.forEach((name, decisions) -> {
+            decisions.getKeys().forEach(key -> bindTo(registry, name, decisions, key));
+            FunctionCounter.builder("datasource.routing.fallbacks", decisions, RoutingDecisions::getNullKeys)
+                           .tag(NAME, name)
+                           .tag("reason", "null")
+                           .register(registry);
+            FunctionCounter.builder("datasource.routing.fallbacks", decisions, RoutingDecisions::getUnknownKeys)
+                           .tag(NAME, name)
+                           .tag("reason", "unknown")
+                           .register(registry);
+        });
+    }
+
+    private void bindTo(final MeterRegistry registry, final String name, final RoutingDecisions decisions, final Object key) {
+        FunctionCounter.builder("datasource.routing.decisions", decisions, target -> target.getCount(key))
+                       .tag(NAME, name)
+                       .tag("key", key.toString())
+                       .register(registry);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.RoutingDecisions;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
+@ConditionalOnClass(MeterBinder.class)
+public class RoutingDecisionMetricsConfiguration {
+    @Bean
+    public RoutingDecisionMetrics routingDecisionMetrics(final ListableBeanFactory beanFactory) {
+        final Map<String, RoutingDecisions> result = new HashMap<>();
+        beanFactory.getBeansOfType(LazyConnectionDataSourceProxy.class).forEach((name, dataSource) -> {
+            if (dataSource.getTargetDataSource() instanceof DelegateRoutingDataSource) {
+                result.put(name, DelegateRoutingDataSource.class.cast(dataSource.getTargetDataSource()).getDecisions());
+            }
+        });
+        return new RoutingDecisionMetrics(result);
+    }
+}
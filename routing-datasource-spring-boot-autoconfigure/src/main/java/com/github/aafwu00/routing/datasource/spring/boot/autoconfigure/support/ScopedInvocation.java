@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.concurrent.Callable;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+/**
+ * Proceed {@link MethodInvocation} as {@link Callable} in scope of {@link RoutingContext}, rethrowing what it throws as is.
+ *
+ * @author Taeho Kim
+ */
+final class ScopedInvocation {
+    private ScopedInvocation() {
+    }
+
+    /**
+     * @param scope binds context during call of task, e.g. {@code task -> RoutingContext.call(key, task)}
+     */
+    static Object proceed(final MethodInvocation invocation, final Scope scope) throws Throwable {
+        try {
+            return scope.call(() -> proceed(invocation));
+        } catch (UndeclaredInvocationException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Object proceed(final MethodInvocation invocation) throws Exception {
+        try {
+            return invocation.proceed();
+            // CHECKSTYLE:OFF
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // CHECKSTYLE:ON
+            throw new UndeclaredInvocationException(ex);
+        }
+    }
+
+    @FunctionalInterface
+    interface Scope {
+        Object call(Callable<Object> task) throws Exception;
+    }
+
+    /**
+     * Carries a throwable which is neither exception nor error out of {@link Callable}
+     */
+    private static class UndeclaredInvocationException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UndeclaredInvocationException(final Throwable cause) {
+            super(cause);
+        }
+    }
+}
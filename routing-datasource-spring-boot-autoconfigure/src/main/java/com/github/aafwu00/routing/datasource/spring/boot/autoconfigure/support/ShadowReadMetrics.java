@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowRead;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowReader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads replayed on `switchOn` by result of comparison and dropped as saturated, and latency of each target,
+ * tagged by logical name and target.
+ *
+ * @author Taeho Kim
+ */
+public class ShadowReadMetrics implements MeterBinder {
+    private static final String PREFIX = "datasource.shadow-read.";
+    private static final String NAME = "name";
+    private static final String TARGET = "target";
+    private final String name;
+    private final ShadowReader reader;
+
+    public ShadowReadMetrics(final String name, final ShadowReader reader) {
+        this.name = requireNonNull(name);
+        this.reader = requireNonNull(reader);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + "rejected", reader, ShadowReader::getRejected)
+                       .tag(NAME, name)
+                       .tag(TARGET, SwitchableMode.On.name())
+                       .register(registry);
+        final Map<ShadowRead.Result, Counter> reads = new EnumMap<>(ShadowRead.Result.class);
+        for (final ShadowRead.Result result : ShadowRead.Result.values()) {
+            reads.put(result, counter(registry, result));
+        }
+        final Timer primary = latency(registry, SwitchableMode.Off);
+        final Timer shadow = latency(registry, SwitchableMode.On);
+        reader.addListener(read -> {
+            reads.get(read.getResult()).increment();
+            if (read.getResult() != ShadowRead.Result.Failed) {
+                primary.record(read.getPrimaryNanos(), TimeUnit.NANOSECONDS);
+                shadow.record(read.getShadowNanos(), TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private Counter counter(final MeterRegistry registry, final ShadowRead.Result result) {
+        return Counter.builder(PREFIX + "reads")
+                      .tag(NAME, name)
+                      .tag(TARGET, SwitchableMode.On.name())
+                      .tag("result", result.name().toLowerCase(Locale.ENGLISH))
+                      .register(registry);
+    }
+
+    private Timer latency(final MeterRegistry registry, final SwitchableMode target) {
+        return Timer.builder(PREFIX + "latency")
+                    .tag(NAME, name)
+                    .tag(TARGET, target.name())
+                    .register(registry);
+    }
+}
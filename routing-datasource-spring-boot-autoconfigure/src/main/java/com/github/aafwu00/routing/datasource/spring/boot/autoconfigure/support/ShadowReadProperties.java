@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = ShadowReadProperties.PREFIX)
+public class ShadowReadProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".shadow-read";
+    private static final double DEFAULT_SAMPLE_RATE = 0.01;
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final int DEFAULT_TIMEOUT = 5;
+    /**
+     * Whether to send sampled reads of `switch-off` to `switch-on` as well
+     */
+    private boolean enabled;
+    /**
+     * Ratio of reads sent to `switch-on`
+     */
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private double sampleRate = DEFAULT_SAMPLE_RATE;
+    /**
+     * Maximum threads running shadow reads
+     */
+    @Min(1)
+    private int poolSize = DEFAULT_POOL_SIZE;
+    /**
+     * Capacity of pending shadow reads, reads are dropped when full
+     */
+    @Min(0)
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    /**
+     * Query timeout of shadow reads
+     */
+    @NotNull
+    private Duration timeout = Duration.ofSeconds(DEFAULT_TIMEOUT);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(final int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(final Duration timeout) {
+        this.timeout = timeout;
+    }
+}
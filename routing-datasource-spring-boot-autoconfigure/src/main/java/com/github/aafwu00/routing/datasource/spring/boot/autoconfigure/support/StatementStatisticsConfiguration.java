@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementStatistics;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@ConditionalOnProperty(prefix = StatementStatisticsProperties.PREFIX, name = "enabled")
+@EnableConfigurationProperties(StatementStatisticsProperties.class)
+public class StatementStatisticsConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    public StatementStatistics statementStatistics(final StatementStatisticsProperties properties) {
+        return new StatementStatistics(properties.getMaxFingerprints());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
+    @ConditionalOnClass(MeterBinder.class)
+    static class StatementStatisticsMetricsConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public StatementStatisticsMetrics statementStatisticsMetrics(final StatementStatistics statistics,
+                                                                     final StatementStatisticsProperties properties) {
+            return new StatementStatisticsMetrics(statistics, properties.isHistogram());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    static class StatementStatisticsEndpointConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnEnabledEndpoint
+        public StatementStatisticsEndpoint statementStatisticsEndpoint(final StatementStatistics statistics) {
+            return new StatementStatisticsEndpoint(statistics);
+        }
+    }
+}
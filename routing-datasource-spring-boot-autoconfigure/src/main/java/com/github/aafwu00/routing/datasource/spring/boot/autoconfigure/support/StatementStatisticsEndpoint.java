@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementStatistics;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Show slowest and most frequent statements of each target by fingerprint, and reset them.
+ *
+ * @author Taeho Kim
+ */
+@Endpoint(id = "statements")
+public class StatementStatisticsEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+    private final StatementStatistics statistics;
+
+    public StatementStatisticsEndpoint(final StatementStatistics statistics) {
+        this.statistics = requireNonNull(statistics);
+    }
+
+    /**
+     * @param limit maximum statements of each table, 10 if absent
+     */
+    @ReadOperation
+    public Map<String, Object> statements(@Nullable final Integer limit) {
+        int size = DEFAULT_LIMIT;
+        if (limit != null) {
+            size = limit;
+        }
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (final RoutingTarget target : statistics.getTargets()) {
+            final Map<String, Object> tables = new LinkedHashMap<>();
+            tables.put("slowest", statistics.getSlowest(target, size));
+            tables.put("frequent", statistics.getMostFrequent(target, size));
+            result.put(target.toString(), tables);
+        }
+        result.put("dropped", statistics.getDropped());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementListener;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementStatistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Time of {@code execute*} of statements tagged by routing type, logical name and lookup key of each target.
+ * Fingerprints are not tagged to keep cardinality bounded, they are shown by {@link StatementStatisticsEndpoint}.
+ * Timers are created on the first execution, so they are kept in a composite of bound registries.
+ *
+ * @author Taeho Kim
+ */
+public class StatementStatisticsMetrics implements MeterBinder, StatementListener {
+    private static final String PREFIX = "datasource.statement.";
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Map<RoutingTarget, Timer> executed = new ConcurrentHashMap<>();
+    private final AtomicBoolean listening = new AtomicBoolean();
+    private final StatementStatistics statistics;
+    private final boolean histogram;
+
+    /**
+     * @param histogram whether to publish percentile histograms
+     */
+    public StatementStatisticsMetrics(final StatementStatistics statistics, final boolean histogram) {
+        this.statistics = requireNonNull(statistics);
+        this.histogram = histogram;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry target) {
+        FunctionCounter.builder(PREFIX + "dropped", statistics, StatementStatistics::getDropped)
+                       .register(target);
+        registry.add(target);
+        if (listening.compareAndSet(false, true)) {
+            statistics.addListener(this);
+        }
+    }
+
+    @Override
+    public void onExecuted(final RoutingTarget target, final String fingerprint, final long nanos) {
+        executed.computeIfAbsent(target, this::timer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(final RoutingTarget target) {
+        return Timer.builder(PREFIX + "execute")
+                    .tag("routing", target.getRouting())
+                    .tag("name", target.getName())
+                    .tag("key", target.getKey())
+                    .publishPercentileHistogram(histogram)
+                    .register(registry);
+    }
+}
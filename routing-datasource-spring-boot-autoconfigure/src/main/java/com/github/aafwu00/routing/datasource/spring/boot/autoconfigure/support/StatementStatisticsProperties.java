@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = StatementStatisticsProperties.PREFIX)
+public class StatementStatisticsProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".metrics.statements";
+    private static final int DEFAULT_MAX_FINGERPRINTS = 500;
+    /**
+     * Whether to record executions of statements on each target by fingerprint
+     */
+    private boolean enabled;
+    /**
+     * Whether to publish percentile histograms of the timers
+     */
+    private boolean histogram;
+    /**
+     * Maximum fingerprints kept in each of the frequent and slowest tables of each target
+     */
+    @Min(1)
+    private int maxFingerprints = DEFAULT_MAX_FINGERPRINTS;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(final boolean histogram) {
+        this.histogram = histogram;
+    }
+
+    public int getMaxFingerprints() {
+        return maxFingerprints;
+    }
+
+    public void setMaxFingerprints(final int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+import com.github.aafwu00.routing.datasource.spring.AtomicSwitching;
+import com.github.aafwu00.routing.datasource.spring.PercentageSwitching;
+import com.github.aafwu00.routing.datasource.spring.SessionKeyResolver;
+import com.github.aafwu00.routing.datasource.spring.Switching;
+import com.github.aafwu00.routing.datasource.spring.SwitchingListener;
+
+/**
+ * @author Taeho Kim
+ */
+@Configuration
+@EnableConfigurationProperties(SwitchingProperties.class)
+public class SwitchingConfiguration {
+    @Bean
+    @ConditionalOnMissingBean(Switching.class)
+    @ConditionalOnProperty(prefix = SwitchingProperties.PREFIX, name = "percentage")
+    public PercentageSwitching percentageSwitching(final SwitchingProperties properties,
+                                                   final ObjectProvider<SessionKeyResolver> sessionKeyResolver,
+                                                   final ObjectProvider<SwitchingListener> listeners) {
+        final SessionKeyResolver resolver = sessionKeyResolver.getIfAvailable();
+        Assert.state(resolver != null, "`" + SwitchingProperties.PREFIX + ".percentage` requires a SessionKeyResolver bean");
+        final PercentageSwitching result = new PercentageSwitching(resolver, properties.getPercentage());
+        listeners.orderedStream().forEach(result::addListener);
+        return result;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(Switching.class)
+    public AtomicSwitching switching(final ObjectProvider<SwitchingListener> listeners) {
+        final AtomicSwitching result = new AtomicSwitching();
+        listeners.orderedStream().forEach(result::addListener);
+        return result;
+    }
+
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    static class SwitchingEndpointConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnEnabledEndpoint
+        public SwitchingEndpoint switchingEndpoint(final Switching switching, final ApplicationEventPublisher publisher) {
+            return new SwitchingEndpoint(switching, publisher);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+
+import com.github.aafwu00.routing.datasource.spring.PercentageSwitching;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.Switching;
+import com.github.aafwu00.routing.datasource.spring.SwitchingEvent;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Show and change {@link Switching}, change is published as {@link SwitchingEvent}.
+ * Disabled by default, as it changes routing of every session.
+ *
+ * @author Taeho Kim
+ */
+@Endpoint(id = "switching", enableByDefault = false)
+public class SwitchingEndpoint {
+    private static final String MODE = "mode";
+    private static final String PERCENTAGE = "percentage";
+    private final Switching switching;
+    private final ApplicationEventPublisher publisher;
+
+    public SwitchingEndpoint(final Switching switching, final ApplicationEventPublisher publisher) {
+        this.switching = requireNonNull(switching);
+        this.publisher = requireNonNull(publisher);
+    }
+
+    /**
+     * Mode of current session, and percentage of {@link PercentageSwitching}
+     */
+    @ReadOperation
+    public Map<String, Object> switching() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put(MODE, modeOf(switching.isOn()));
+        if (switching instanceof PercentageSwitching) {
+            result.put(PERCENTAGE, PercentageSwitching.class.cast(switching).getPercentage());
+        }
+        return result;
+    }
+
+    /**
+     * @param percentage used instead of `mode` if present, between 0 and 100, only 0 or 100 unless {@link PercentageSwitching} is used
+     */
+    @WriteOperation
+    public Map<String, Object> switchTo(@Nullable final SwitchableMode mode, @Nullable final Double percentage) {
+        if (percentage != null) {
+            publisher.publishEvent(percentageOf(percentage.doubleValue()));
+        } else if (mode != null) {
+            publisher.publishEvent(new SwitchingEvent(this, mode == SwitchableMode.On));
+        }
+        return switching();
+    }
+
+    private SwitchingEvent percentageOf(final double percentage) {
+        if (!(percentage >= 0 && percentage <= PercentageSwitching.FULL)) {
+            throw new InvalidEndpointRequestException("Percentage is out of range: " + percentage,
+                                                      "Percentage must be between 0 and 100");
+        }
+        final SwitchingEvent result = new SwitchingEvent(this, percentage);
+        if (result.isPartial() && !(switching instanceof PercentageSwitching)) {
+            throw new InvalidEndpointRequestException("Percentage is not supported by " + switching.getClass().getSimpleName(),
+                                                      "Percentage must be 0 or 100");
+        }
+        return result;
+    }
+
+    private SwitchableMode modeOf(final boolean on) {
+        if (on) {
+            return SwitchableMode.On;
+        }
+        return SwitchableMode.Off;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
+
+/**
+ * @author Taeho Kim
+ */
+@Validated
+@ConfigurationProperties(prefix = SwitchingProperties.PREFIX)
+public class SwitchingProperties {
+    public static final String PREFIX = RoutingType.SCOPE + ".switching";
+    /**
+     * Initial percentage of sessions routed to `switch-on`, split by `SessionKeyResolver` when set
+     */
+    @DecimalMin("0")
+    @DecimalMax("100")
+    private Double percentage;
+
+    public Double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(final Double percentage) {
+        this.percentage = percentage;
+    }
+}
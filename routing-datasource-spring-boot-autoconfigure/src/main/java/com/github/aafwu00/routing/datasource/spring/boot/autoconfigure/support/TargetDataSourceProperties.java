@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * {@link DataSourceProperties} of a load balanced replica.
+ *
+ * @author Taeho Kim
+ */
+public class TargetDataSourceProperties extends DataSourceProperties {
+    /**
+     * Weight for `Weighted` load balancer
+     */
+    @Min(1)
+    private int weight = 1;
+    /**
+     * Zone or region where the replica is located, replicas in `load-balancer.zone` are preferred
+     */
+    private String zone;
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(final int weight) {
+        this.weight = weight;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(final String zone) {
+        this.zone = zone;
+    }
+}
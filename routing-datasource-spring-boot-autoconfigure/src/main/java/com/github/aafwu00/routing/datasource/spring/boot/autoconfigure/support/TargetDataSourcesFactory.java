@@ -16,11 +16,14 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
@@ -47,6 +50,10 @@ import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.util.StringUtils;
 
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
@@ -55,6 +62,7 @@ import static java.util.Objects.requireNonNull;
  */
 public class TargetDataSourcesFactory<T> implements FactoryBean<TargetDataSources<T>>, InitializingBean, ApplicationContextAware {
     private final List<TargetProperties<T>> targetProperties = new ArrayList<>();
+    private final Map<T, Function<Map<T, DataSource>, DataSource>> loadBalanced = new ConcurrentHashMap<>();
     private final Map<DataSourceProperties, DataSource> build = new ConcurrentHashMap<>();
     private final Optional<TargetProperties<T>> defaults;
     private ApplicationContext applicationContext;
@@ -82,6 +90,31 @@ public class TargetDataSourcesFactory<T> implements FactoryBean<TargetDataSource
         return this;
     }
 
+    public TargetDataSourcesFactory<T> with(final T key,
+                                            final List<TargetProperties<String>> replicas,
+                                            final LoadBalancer loadBalancer) {
+        return withReplicas(key, replicas, loadBalancer, Optional.empty());
+    }
+
+    /**
+     * @param fallback key of target used when no replica is available
+     */
+    public TargetDataSourcesFactory<T> with(final T key,
+                                            final List<TargetProperties<String>> replicas,
+                                            final LoadBalancer loadBalancer,
+                                            final T fallback) {
+        return withReplicas(key, replicas, loadBalancer, Optional.of(fallback));
+    }
+
+    private TargetDataSourcesFactory<T> withReplicas(final T key,
+                                                     final List<TargetProperties<String>> replicas,
+                                                     final LoadBalancer loadBalancer,
+                                                     final Optional<T> fallback) {
+        final List<TargetProperties<String>> properties = new ArrayList<>(replicas);
+        loadBalanced.put(key, targets -> new LoadBalancedDataSource(buildReplicas(properties), loadBalancer, fallback.map(targets::get)));
+        return this;
+    }
+
     @Override
     public TargetDataSources<T> getObject() {
         return target;
@@ -116,9 +149,31 @@ public class TargetDataSourcesFactory<T> implements FactoryBean<TargetDataSource
     private Map<T, DataSource> buildTargetDataSources() {
         final Map<T, DataSource> result = new ConcurrentHashMap<>();
         targetProperties.forEach(target -> result.put(target.getKey(), buildDataSource(target.getProperties(), target.getNamePrefix())));
+        loadBalanced.forEach((key, dataSource) -> result.put(key, dataSource.apply(result)));
         return result;
     }
 
+    private List<Replica> buildReplicas(final List<TargetProperties<String>> replicas) {
+        return replicas.stream()
+                       .map(this::buildReplica)
+                       .collect(Collectors.toList());
+    }
+
+    private Replica buildReplica(final TargetProperties<String> target) {
+        final DataSource dataSource = buildDataSource(target.getProperties(), target.getNamePrefix());
+        if (target.getProperties() instanceof TargetDataSourceProperties) {
+            return buildReplica(target.getKey(), dataSource, TargetDataSourceProperties.class.cast(target.getProperties()));
+        }
+        return new Replica(target.getKey(), dataSource);
+    }
+
+    private Replica buildReplica(final String name, final DataSource dataSource, final TargetDataSourceProperties properties) {
+        if (StringUtils.hasText(properties.getZone())) {
+            return new Replica(name, dataSource, properties.getWeight(), properties.getZone());
+        }
+        return new Replica(name, dataSource, properties.getWeight());
+    }
+
     private DataSource buildDataSource(final DataSourceProperties properties, final String namePrefix) {
         if (build.containsKey(properties)) {
             return build.get(properties);
@@ -143,12 +198,30 @@ public class TargetDataSourcesFactory<T> implements FactoryBean<TargetDataSource
             final String validationQuery = databaseDriver.getValidationQuery();
             if (validationQuery != null) {
                 final BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(dataSource);
-                beanWrapper.setPropertyValue("testOnBorrow", true);
+                beanWrapper.setPropertyValue("testOnBorrow", !isHealthCheckEnabled());
                 beanWrapper.setPropertyValue("validationQuery", validationQuery);
+                if (isHealthCheckEnabled()) {
+                    beanWrapper.setPropertyValue("testWhileIdle", true);
+                    beanWrapper.setPropertyValue("validationInterval", healthCheckInterval().toMillis());
+                }
             }
         }
     }
 
+    /**
+     * Validation on borrow is replaced by background health check, broken idle connections are still evicted
+     */
+    private boolean isHealthCheckEnabled() {
+        return applicationContext.getEnvironment().getProperty(HealthCheckProperties.PREFIX + ".enabled", Boolean.class, false);
+    }
+
+    private Duration healthCheckInterval() {
+        return Binder.get(applicationContext.getEnvironment())
+                     .bind(HealthCheckProperties.PREFIX, HealthCheckProperties.class)
+                     .orElseGet(HealthCheckProperties::new)
+                     .getInterval();
+    }
+
     private String namePrefix(final DataSource dataSource, final String namePrefix) {
         return namePrefix + "." + DataSourceType.valueOf(dataSource)
                                                 .map(DataSourceType::getPrefix)
@@ -16,6 +16,18 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.switchable;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -23,6 +35,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import com.github.aafwu00.routing.datasource.spring.RoutingRule;
 import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
@@ -32,9 +46,18 @@ import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingCo
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAvailableCondition;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingType;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DelegateRoutingDataSourceFactory;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DualWriteMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DualWriteProperties;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ShadowReadMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ShadowReadProperties;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.SwitchingConfiguration;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSources;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.TargetDataSourcesFactory;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriteDataSource;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriter;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowReadDataSource;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowReader;
 
 import io.micrometer.core.instrument.binder.MeterBinder;
 
@@ -50,11 +73,22 @@ import static com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.sw
 @Configuration
 @Conditional({RoutingCondition.class, SwitchableDataSourceConfiguration.SwitchableAvailableCondition.class})
 @EnableConfigurationProperties(SwitchableDataSourceProperties.class)
+@Import(SwitchingConfiguration.class)
 public class SwitchableDataSourceConfiguration {
-    @Bean
+    static final String NAME = "dataSource";
+
+    /**
+     * `switchOff` mirrors writes to `switchOn` by {@link DualWriter}, and then sends sampled reads by {@link ShadowReader}
+     */
+    @Bean(NAME)
     public DelegateRoutingDataSourceFactory<SwitchableMode> dataSource(final RoutingRule<SwitchableMode> routingRule,
-                                                                       final TargetDataSources<SwitchableMode> dataSources) {
-        return new DelegateRoutingDataSourceFactory<>(routingRule, dataSources);
+                                                                       final TargetDataSources<SwitchableMode> dataSources,
+                                                                       final ObjectProvider<DualWriter> dualWriter,
+                                                                       final ObjectProvider<ShadowReader> shadowReader) {
+        final Map<SwitchableMode, DataSource> targets = new EnumMap<>(dataSources.getDataSources());
+        dualWriter.ifAvailable(writer -> targets.computeIfPresent(Off, (key, target) -> new DualWriteDataSource(target, writer)));
+        shadowReader.ifAvailable(reader -> targets.computeIfPresent(Off, (key, target) -> new ShadowReadDataSource(target, reader)));
+        return new DelegateRoutingDataSourceFactory<>(routingRule, new TargetDataSources<>(targets, dataSources.getDefaults()));
     }
 
     @Bean
@@ -71,12 +105,6 @@ public class SwitchableDataSourceConfiguration {
         return new SwitchableRoutingRuleImpl(switching);
     }
 
-    @Bean
-    @ConditionalOnMissingBean
-    public Switching switching() {
-        return () -> false;
-    }
-
     @Configuration
     @ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
     @ConditionalOnClass(MeterBinder.class)
@@ -88,6 +116,81 @@ public class SwitchableDataSourceConfiguration {
         }
     }
 
+    @Configuration
+    @ConditionalOnProperty(prefix = DualWriteProperties.PREFIX, name = "enabled")
+    @EnableConfigurationProperties(DualWriteProperties.class)
+    static class DualWriteConfiguration {
+        /**
+         * A single thread keeps the order of commits for `Async`
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public DualWriter dualWriter(final TargetDataSources<SwitchableMode> targetDataSources,
+                                     final DualWriteProperties properties) {
+            final ExecutorService executor = new ThreadPoolExecutor(1,
+                                                                    1,
+                                                                    0,
+                                                                    TimeUnit.MILLISECONDS,
+                                                                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                                                                    new CustomizableThreadFactory("dual-write-"));
+            return new DualWriter(targetDataSources.getDataSources().get(On),
+                                  properties.getMode(),
+                                  executor,
+                                  properties.getShutdownTimeout());
+        }
+
+        @Configuration
+        @ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
+        @ConditionalOnClass(MeterBinder.class)
+        static class DualWriteMetricsConfiguration {
+            @Bean
+            public DualWriteMetrics dualWriteMetrics(final DualWriter dualWriter) {
+                return new DualWriteMetrics(NAME, dualWriter);
+            }
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = ShadowReadProperties.PREFIX, name = "enabled")
+    @EnableConfigurationProperties(ShadowReadProperties.class)
+    static class ShadowReadConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public ShadowReader shadowReader(final TargetDataSources<SwitchableMode> targetDataSources,
+                                         final ShadowReadProperties properties) {
+            return new ShadowReader(targetDataSources.getDataSources().get(On),
+                                    executor(properties),
+                                    properties.getSampleRate(),
+                                    properties.getTimeout());
+        }
+
+        private ExecutorService executor(final ShadowReadProperties properties) {
+            return new ThreadPoolExecutor(properties.getPoolSize(),
+                                          properties.getPoolSize(),
+                                          0,
+                                          TimeUnit.MILLISECONDS,
+                                          queue(properties.getQueueCapacity()),
+                                          new CustomizableThreadFactory("shadow-read-"));
+        }
+
+        private BlockingQueue<Runnable> queue(final int capacity) {
+            if (capacity == 0) {
+                return new SynchronousQueue<>();
+            }
+            return new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Configuration
+        @ConditionalOnProperty(value = RoutingType.SCOPE + ".metrics.enabled", matchIfMissing = true)
+        @ConditionalOnClass(MeterBinder.class)
+        static class ShadowReadMetricsConfiguration {
+            @Bean
+            public ShadowReadMetrics shadowReadMetrics(final ShadowReader shadowReader) {
+                return new ShadowReadMetrics(NAME, shadowReader);
+            }
+        }
+    }
+
     static class SwitchableAvailableCondition extends RoutingDataSourceAvailableCondition {
         SwitchableAvailableCondition() {
             super("Switchable Routing DataSource", SWITCH_OFF, SWITCH_ON);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Circuit breaker of a target, opened after `failureThreshold` consecutive connection failures.
+ * After `waitDuration` it becomes half open, a single trial call is permitted and its result closes or reopens it.
+ *
+ * @author Taeho Kim
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+    private final String name;
+    private final int failureThreshold;
+    private final long waitNanos;
+    private final LongSupplier clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.Closed);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean trial = new AtomicBoolean();
+    private final LongAdder notPermittedCalls = new LongAdder();
+
+    public CircuitBreaker(final String name, final int failureThreshold, final Duration waitDuration) {
+        this(name, failureThreshold, waitDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(final String name, final int failureThreshold, final Duration waitDuration, final LongSupplier clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = requireNonNull(name);
+        this.failureThreshold = failureThreshold;
+        this.waitNanos = waitDuration.toNanos();
+        this.clock = requireNonNull(clock);
+    }
+
+    /**
+     * @return false when opened, or half opened while the trial call is running, counted as not permitted call
+     */
+    public boolean isCallPermitted() {
+        final State current = getState();
+        if (current == State.Open || current == State.HalfOpen && !trial.compareAndSet(false, true)) {
+            notPermittedCalls.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return false when opened, or half opened while the trial call is running, without claiming the trial call
+     */
+    public boolean isAvailable() {
+        final State current = getState();
+        return current == State.Closed || current == State.HalfOpen && !trial.get();
+    }
+
+    /**
+     * Give back the trial call claimed by {@link #isCallPermitted()} when the call is not made
+     */
+    public void release() {
+        if (getState() == State.HalfOpen) {
+            trial.set(false);
+        }
+    }
+
+    public void onSuccess() {
+        failures.set(0);
+        trial.set(false);
+        if (state.getAndSet(State.Closed) != State.Closed) {
+            LOGGER.info("Circuit breaker of `{}` is closed", name);
+        }
+    }
+
+    public void onFailure() {
+        if (getState() == State.HalfOpen || failures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt.set(clock.getAsLong());
+        trial.set(false);
+        if (state.getAndSet(State.Open) != State.Open) {
+            LOGGER.warn("Circuit breaker of `{}` is opened", name);
+        }
+    }
+
+    public State getState() {
+        if (state.get() == State.Open && clock.getAsLong() - openedAt.get() >= waitNanos) {
+            state.compareAndSet(State.Open, State.HalfOpen);
+        }
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    /**
+     * State of {@link CircuitBreaker}
+     */
+    public enum State {
+        Closed,
+        Open,
+        HalfOpen
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Get connection from target guarded by {@link CircuitBreaker}, from `fallback` while it is opened.
+ * Without `fallback`, fail fast instead of waiting for connection timeout of the pool.
+ *
+ * @author Taeho Kim
+ */
+public class CircuitBreakerDataSource extends DelegatingDataSource {
+    private final CircuitBreaker circuitBreaker;
+    private final Optional<DataSource> fallback;
+
+    public CircuitBreakerDataSource(final DataSource target, final CircuitBreaker circuitBreaker, final Optional<DataSource> fallback) {
+        super(target);
+        this.circuitBreaker = requireNonNull(circuitBreaker);
+        this.fallback = requireNonNull(fallback);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(final ConnectionFactory factory) throws SQLException {
+        if (circuitBreaker.isCallPermitted()) {
+            return connect(factory);
+        }
+        if (fallback.isPresent()) {
+            return factory.create(fallback.get());
+        }
+        throw new SQLTransientConnectionException("Circuit breaker of `" + circuitBreaker.getName() + "` is opened");
+    }
+
+    private Connection connect(final ConnectionFactory factory) throws SQLException {
+        try {
+            final Connection result = factory.create(obtainTargetDataSource());
+            circuitBreaker.onSuccess();
+            return result;
+            // CHECKSTYLE:OFF
+        } catch (SQLException | RuntimeException e) {
+            // CHECKSTYLE:ON
+            circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection create(DataSource dataSource) throws SQLException;
+    }
+}
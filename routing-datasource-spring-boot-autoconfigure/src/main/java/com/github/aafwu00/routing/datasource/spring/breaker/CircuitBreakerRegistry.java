@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaFilter;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaListener;
+
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link CircuitBreaker}s by target name, also excludes replicas of which circuit breaker is opened.
+ *
+ * @author Taeho Kim
+ */
+public class CircuitBreakerRegistry implements ReplicaFilter, ReplicaListener {
+    private final int failureThreshold;
+    private final Duration waitDuration;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final List<Consumer<CircuitBreaker>> listeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreakerRegistry(final int failureThreshold, final Duration waitDuration) {
+        this.failureThreshold = failureThreshold;
+        this.waitDuration = requireNonNull(waitDuration);
+    }
+
+    public CircuitBreaker circuitBreaker(final String name) {
+        return circuitBreakers.computeIfAbsent(name, this::create);
+    }
+
+    private CircuitBreaker create(final String name) {
+        final CircuitBreaker result = new CircuitBreaker(name, failureThreshold, waitDuration);
+        listeners.forEach(listener -> listener.accept(result));
+        return result;
+    }
+
+    /**
+     * Apply `consumer` to registered circuit breakers and ones registered later
+     */
+    public void forEach(final Consumer<CircuitBreaker> consumer) {
+        listeners.add(requireNonNull(consumer));
+        circuitBreakers.values().forEach(consumer);
+    }
+
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        return unmodifiableCollection(circuitBreakers.values());
+    }
+
+    @Override
+    public boolean isAvailable(final Replica replica) {
+        return circuitBreaker(replica.getName()).isAvailable();
+    }
+
+    @Override
+    public boolean tryAcquire(final Replica replica) {
+        return circuitBreaker(replica.getName()).isCallPermitted();
+    }
+
+    @Override
+    public void release(final Replica replica) {
+        circuitBreaker(replica.getName()).release();
+    }
+
+    @Override
+    public void onConnected(final Replica replica) {
+        circuitBreaker(replica.getName()).onSuccess();
+    }
+
+    @Override
+    public void onConnectionFailure(final Replica replica, final SQLException exception) {
+        circuitBreaker(replica.getName()).onFailure();
+    }
+}
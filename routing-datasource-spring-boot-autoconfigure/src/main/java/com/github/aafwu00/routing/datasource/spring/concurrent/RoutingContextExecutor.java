@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.concurrent;
+
+import java.util.concurrent.Executor;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Executor} running tasks in {@link RoutingContext} captured on submitting thread,
+ * e.g. {@code CompletableFuture.supplyAsync(supplier, new RoutingContextExecutor(executor))}.
+ *
+ * @author Taeho Kim
+ */
+public class RoutingContextExecutor implements Executor {
+    private final Executor delegate;
+
+    public RoutingContextExecutor(final Executor delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(RoutingContext.capture().wrap(command));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Run task in {@link RoutingContext} captured on submitting thread, such as {@code @Async} methods.
+ *
+ * @author Taeho Kim
+ */
+public class RoutingContextTaskDecorator implements TaskDecorator {
+    private final TaskDecorator delegate;
+
+    public RoutingContextTaskDecorator() {
+        this(runnable -> runnable);
+    }
+
+    /**
+     * @param delegate other decorator of the executor, applied inside {@link RoutingContext}
+     */
+    public RoutingContextTaskDecorator(final TaskDecorator delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        return RoutingContext.capture().wrap(delegate.decorate(runnable));
+    }
+}
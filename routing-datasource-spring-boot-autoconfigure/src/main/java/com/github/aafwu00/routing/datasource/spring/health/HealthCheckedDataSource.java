@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.health;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Get connection from `fallback` while target is marked down by {@link HealthChecker},
+ * target is still used without `fallback`.
+ *
+ * @author Taeho Kim
+ */
+public class HealthCheckedDataSource extends DelegatingDataSource {
+    private final BooleanSupplier up;
+    private final Optional<DataSource> fallback;
+
+    public HealthCheckedDataSource(final DataSource target, final BooleanSupplier up, final Optional<DataSource> fallback) {
+        super(target);
+        this.up = requireNonNull(up);
+        this.fallback = requireNonNull(fallback);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return determineDataSource().getConnection(username, password);
+    }
+
+    private DataSource determineDataSource() {
+        if (up.getAsBoolean() || !fallback.isPresent()) {
+            return obtainTargetDataSource();
+        }
+        return fallback.get();
+    }
+
+    public boolean isUp() {
+        return up.getAsBoolean();
+    }
+}
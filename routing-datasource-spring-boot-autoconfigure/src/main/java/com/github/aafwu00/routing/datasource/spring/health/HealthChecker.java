@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.health;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaFilter;
+
+import static com.github.aafwu00.routing.datasource.spring.QueryTimeouts.secondsOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validate registered data sources in background with {@link Connection#isValid(int)}, and mark them up or down.
+ * Every data source is checked once even if it is registered by several routing data sources,
+ * so validation on borrow of pools is not needed. Data sources are checked in parallel,
+ * so a data source blocked on connection timeout does not delay the others.
+ *
+ * @author Taeho Kim
+ */
+public class HealthChecker implements ReplicaFilter, InitializingBean, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthChecker.class);
+    private final Map<DataSource, Target> targets = new ConcurrentHashMap<>();
+    private final Duration interval;
+    private final int timeoutSeconds;
+    private ScheduledExecutorService executor;
+    private ExecutorService validators;
+
+    public HealthChecker(final Duration interval, final Duration timeout) {
+        this.interval = requireNonNull(interval);
+        this.timeoutSeconds = secondsOf(timeout);
+    }
+
+    /**
+     * @return whether `dataSource` is up
+     */
+    public BooleanSupplier register(final String name, final DataSource dataSource) {
+        final Target target = targets.computeIfAbsent(dataSource, key -> new Target(name));
+        return target.up::get;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("health-check-"));
+        validators = Executors.newCachedThreadPool(new CustomizableThreadFactory("health-validation-"));
+        executor.scheduleWithFixedDelay(this::submit, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            validators.shutdownNow();
+        }
+    }
+
+    /**
+     * Check every data source once in current thread
+     */
+    public void check() {
+        targets.forEach(this::check);
+    }
+
+    /**
+     * Data source still being checked by previous round is skipped
+     */
+    private void submit() {
+        targets.forEach((dataSource, target) -> {
+            if (target.checking.compareAndSet(false, true)) {
+                validators.execute(() -> checkAndRelease(dataSource, target));
+            }
+        });
+    }
+
+    private void checkAndRelease(final DataSource dataSource, final Target target) {
+        try {
+            check(dataSource, target);
+        } finally {
+            target.checking.set(false);
+        }
+    }
+
+    private void check(final DataSource dataSource, final Target target) {
+        final boolean up = isValid(dataSource, target.name);
+        if (target.up.getAndSet(up) != up) {
+            LOGGER.warn("`{}` is {}", target.name, status(up));
+        }
+    }
+
+    private boolean isValid(final DataSource dataSource, final String name) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(timeoutSeconds);
+            // CHECKSTYLE:OFF
+        } catch (Exception ex) {
+            // CHECKSTYLE:ON
+            LOGGER.debug("Failed to check health of `{}`", name, ex);
+            return false;
+        }
+    }
+
+    private String status(final boolean up) {
+        if (up) {
+            return "up";
+        }
+        return "down";
+    }
+
+    /**
+     * Unregistered data source is regarded as up
+     */
+    public boolean isUp(final DataSource dataSource) {
+        final Target target = targets.get(dataSource);
+        return target == null || target.up.get();
+    }
+
+    @Override
+    public boolean isAvailable(final Replica replica) {
+        return isUp(replica.getDataSource());
+    }
+
+    /**
+     * Whether each data source is up by name
+     */
+    public Map<String, Boolean> getStatus() {
+        final Map<String, Boolean> result = new LinkedHashMap<>();
+        targets.values().forEach(target -> result.put(target.name, target.up.get()));
+        return result;
+    }
+
+    private static final class Target {
+        private final String name;
+        private final AtomicBoolean up = new AtomicBoolean(true);
+        private final AtomicBoolean checking = new AtomicBoolean();
+
+        Target(final String name) {
+            this.name = requireNonNull(name);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.hedge;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Run a read only query on a replica, and the same query on another replica when the first one does not answer
+ * within the `percentile` of recent latencies. The first result wins and the statement of the other is cancelled.
+ * Queries run on their own connections, so this is for reads outside of transactions.
+ * Connections are checked out through {@link LoadBalancedDataSource#dataSourceOf(Replica)}, so circuit breakers and metrics see them,
+ * and latencies of failed and cancelled attempts are recorded as well as of winners.
+ *
+ * @author Taeho Kim
+ */
+public class HedgedQueryExecutor implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HedgedQueryExecutor.class);
+    private final LoadBalancedDataSource dataSource;
+    private final ExecutorService executor;
+    private final LatencyPercentile latencies;
+    private final long defaultDelayNanos;
+    private final Map<Replica, JdbcTemplate> jdbcTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * @param percentile    percentile of latency to wait before hedging, e.g. 0.95
+     * @param defaultDelay  delay before hedging until enough latencies are recorded
+     */
+    public HedgedQueryExecutor(final LoadBalancedDataSource dataSource,
+                               final ExecutorService executor,
+                               final double percentile,
+                               final Duration defaultDelay) {
+        this.dataSource = requireNonNull(dataSource);
+        this.executor = requireNonNull(executor);
+        this.latencies = new LatencyPercentile(percentile);
+        this.defaultDelayNanos = defaultDelay.toNanos();
+    }
+
+    public <T> T query(final String sql, final ResultSetExtractor<T> extractor, final Object... args) {
+        final Optional<Replica> primary = dataSource.choose();
+        final Optional<Replica> secondary = primary.flatMap(this::another);
+        if (secondary.isPresent()) {
+            return hedge(new Race<>(new Query<>(sql, extractor, args)), primary.get(), secondary.get());
+        }
+        return primary.map(this::jdbcTemplate)
+                      .orElseGet(() -> new JdbcTemplate(dataSource))
+                      .query(sql, extractor, args);
+    }
+
+    private Optional<Replica> another(final Replica primary) {
+        final List<Replica> others = dataSource.getAvailableReplicas()
+                                               .stream()
+                                               .filter(replica -> replica != primary)
+                                               .collect(Collectors.toList());
+        if (others.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(others.get(ThreadLocalRandom.current().nextInt(others.size())));
+    }
+
+    private <T> T hedge(final Race<T> race, final Replica primary, final Replica secondary) {
+        if (!race.start(primary)) {
+            return race.query.run(jdbcTemplate(primary), new AtomicReference<>());
+        }
+        try {
+            if (!race.await(latencies.get(defaultDelayNanos)) && race.start(secondary)) {
+                LOGGER.debug("Hedge query to `{}` as `{}` is slow", secondary.getName(), primary.getName());
+            }
+            return race.await();
+        } finally {
+            race.cancel();
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate(final Replica replica) {
+        return jdbcTemplates.computeIfAbsent(replica, key -> new JdbcTemplate(dataSource.dataSourceOf(key)));
+    }
+
+    /**
+     * Recent latency percentile in nanoseconds used as hedging delay
+     */
+    public long getDelayNanos() {
+        return latencies.get(defaultDelayNanos);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class Query<T> {
+        private final String sql;
+        private final ResultSetExtractor<T> extractor;
+        private final Object[] args;
+
+        Query(final String sql, final ResultSetExtractor<T> extractor, final Object... args) {
+            this.sql = requireNonNull(sql);
+            this.extractor = requireNonNull(extractor);
+            this.args = args;
+        }
+
+        T run(final JdbcTemplate jdbcTemplate, final AtomicReference<PreparedStatement> statement) {
+            return jdbcTemplate.query(connection -> prepare(connection, statement), new ArgumentPreparedStatementSetter(args), extractor);
+        }
+
+        private PreparedStatement prepare(final Connection connection,
+                                          final AtomicReference<PreparedStatement> statement) throws SQLException {
+            final PreparedStatement result = connection.prepareStatement(sql);
+            statement.set(result);
+            return result;
+        }
+    }
+
+    private final class Race<T> {
+        private final Query<T> query;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final Map<Future<?>, AtomicReference<PreparedStatement>> attempts = new ConcurrentHashMap<>();
+
+        Race(final Query<T> query) {
+            this.query = query;
+        }
+
+        boolean start(final Replica replica) {
+            final AtomicReference<PreparedStatement> statement = new AtomicReference<>();
+            running.incrementAndGet();
+            try {
+                attempts.put(executor.submit(() -> run(replica, statement)), statement);
+                return true;
+            } catch (final RejectedExecutionException e) {
+                running.decrementAndGet();
+                LOGGER.debug("Hedged query to `{}` is rejected", replica.getName(), e);
+                return false;
+            }
+        }
+
+        private void run(final Replica replica, final AtomicReference<PreparedStatement> statement) {
+            final long start = System.nanoTime();
+            try {
+                result.complete(query.run(jdbcTemplate(replica), statement));
+                // CHECKSTYLE:OFF
+            } catch (Throwable ex) {
+                // CHECKSTYLE:ON
+                if (running.decrementAndGet() == 0) {
+                    result.completeExceptionally(ex);
+                }
+            } finally {
+                latencies.record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * @return whether the race is finished within timeout
+         */
+        boolean await(final long timeoutNanos) {
+            try {
+                result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (final TimeoutException e) {
+                return false;
+            } catch (final ExecutionException e) {
+                return true;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransientDataAccessResourceException("Interrupted while waiting hedged query", e);
+            }
+        }
+
+        T await() {
+            try {
+                return result.get();
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw Error.class.cast(e.getCause());
+                }
+                throw RuntimeException.class.cast(e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransientDataAccessResourceException("Interrupted while waiting hedged query", e);
+            }
+        }
+
+        void cancel() {
+            attempts.forEach((future, statement) -> {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                    cancel(statement.get());
+                }
+            });
+        }
+
+        private void cancel(final PreparedStatement statement) {
+            if (statement == null) {
+                return;
+            }
+            try {
+                statement.cancel();
+            } catch (final SQLException e) {
+                LOGGER.debug("Failed to cancel hedged query", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentile over a ring buffer of recent latencies, recalculated every {@link #RECALCULATE_INTERVAL} samples.
+ *
+ * @author Taeho Kim
+ */
+final class LatencyPercentile {
+    static final int RECALCULATE_INTERVAL = 64;
+    private static final int SIZE = 1024;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong cached = new AtomicLong(-1);
+    private final double percentile;
+
+    LatencyPercentile(final double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+        }
+        this.percentile = percentile;
+    }
+
+    void record(final long nanos) {
+        final int index = count.getAndIncrement();
+        samples.set(Math.floorMod(index, SIZE), nanos);
+        if (Math.floorMod(index + 1, RECALCULATE_INTERVAL) == 0) {
+            recalculate(Math.min(index + 1, SIZE));
+        }
+    }
+
+    private void recalculate(final int size) {
+        final long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        cached.set(sorted[Math.max(0, (int) Math.ceil(percentile * size) - 1)]);
+    }
+
+    /**
+     * Percentile in nanoseconds, `defaultNanos` until enough samples are recorded
+     */
+    long get(final long defaultNanos) {
+        final long result = cached.get();
+        if (result < 0) {
+            return defaultNanos;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.lag;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Measure replication lag with a query of which first column is the timestamp of last replicated heartbeat
+ * (e.g. `SELECT ts FROM heartbeat`, `SELECT pg_last_xact_replay_timestamp()`) or the lag in milliseconds.
+ * `NULL` is treated as no lag.
+ *
+ * @author Taeho Kim
+ */
+public class QueryReplicationLagProbe implements ReplicationLagProbe {
+    private final String query;
+    private final int queryTimeout;
+    private final Clock clock;
+
+    /**
+     * @param queryTimeout seconds, zero is unlimited
+     */
+    public QueryReplicationLagProbe(final String query, final int queryTimeout) {
+        this(query, queryTimeout, Clock.systemUTC());
+    }
+
+    public QueryReplicationLagProbe(final String query, final int queryTimeout, final Clock clock) {
+        this.query = requireNonNull(query);
+        this.queryTimeout = queryTimeout;
+        this.clock = requireNonNull(clock);
+    }
+
+    @Override
+    public Duration measure(final DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeout);
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Replication lag query returned no row: " + query);
+                }
+                return lag(resultSet);
+            }
+        }
+    }
+
+    private Duration lag(final ResultSet resultSet) throws SQLException {
+        final Object value = resultSet.getObject(1);
+        if (value instanceof Number) {
+            return Duration.ofMillis(Number.class.cast(value).longValue());
+        }
+        final Timestamp timestamp = resultSet.getTimestamp(1);
+        if (timestamp == null) {
+            return Duration.ZERO;
+        }
+        return positive(Duration.between(timestamp.toInstant(), clock.instant()));
+    }
+
+    private Duration positive(final Duration duration) {
+        if (duration.isNegative()) {
+            return Duration.ZERO;
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.lag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRouteContext;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaFilter;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Probe replication lag of every replica in background,
+ * and exclude replicas of which lag exceeds `threshold`, failed to probe or is not probed yet from rotation.
+ *
+ * @author Taeho Kim
+ */
+public class ReplicationLagMonitor implements ReplicaFilter, InitializingBean, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationLagMonitor.class);
+    private static final long UNKNOWN = -1;
+    private final List<LoadBalancedDataSource> dataSources;
+    private final Map<Replica, AtomicLong> lags = new ConcurrentHashMap<>();
+    private final ReplicationLagProbe probe;
+    private final Duration threshold;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    public ReplicationLagMonitor(final List<LoadBalancedDataSource> dataSources,
+                                 final ReplicationLagProbe probe,
+                                 final Duration threshold,
+                                 final Duration interval) {
+        this.dataSources = unmodifiableList(new ArrayList<>(dataSources));
+        this.probe = requireNonNull(probe);
+        this.threshold = requireNonNull(threshold);
+        this.interval = requireNonNull(interval);
+        this.dataSources.forEach(dataSource -> dataSource.getReplicas().forEach(replica -> lags.put(replica, new AtomicLong(UNKNOWN))));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        dataSources.forEach(dataSource -> dataSource.addFilter(this));
+        ReadOnlyRouteContext.addMonitor();
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replication-lag-"));
+        executor.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            ReadOnlyRouteContext.removeMonitor();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Probe every replica once
+     */
+    public void probe() {
+        lags.forEach(this::probe);
+    }
+
+    private void probe(final Replica replica, final AtomicLong lag) {
+        try {
+            lag.set(probe.measure(replica.getDataSource()).toMillis());
+            // CHECKSTYLE:OFF
+        } catch (Exception ex) {
+            // CHECKSTYLE:ON
+            lag.set(UNKNOWN);
+            LOGGER.warn("Failed to probe replication lag of `{}`", replica.getName(), ex);
+        }
+    }
+
+    /**
+     * Lag is compared with {@link ReadOnlyRouteContext#getMaxStaleness()} when it is tighter than `threshold`
+     */
+    @Override
+    public boolean isAvailable(final Replica replica) {
+        final Duration bound = ReadOnlyRouteContext.getMaxStaleness()
+                                                   .filter(maxStaleness -> maxStaleness.compareTo(threshold) < 0)
+                                                   .orElse(threshold);
+        return getLag(replica).map(lag -> lag.compareTo(bound) <= 0)
+                              .orElse(false);
+    }
+
+    /**
+     * Last measured lag, empty when the replica is unknown or failed to probe
+     */
+    public Optional<Duration> getLag(final Replica replica) {
+        final long lag = Optional.ofNullable(lags.get(replica))
+                                 .map(AtomicLong::get)
+                                 .orElse(UNKNOWN);
+        if (lag == UNKNOWN) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(lag));
+    }
+
+    /**
+     * Maximum of last measured lags, empty when no replica is probed successfully
+     */
+    public Optional<Duration> getMaxLag() {
+        final OptionalLong max = lags.values()
+                                     .stream()
+                                     .mapToLong(AtomicLong::get)
+                                     .filter(lag -> lag != UNKNOWN)
+                                     .max();
+        if (max.isPresent()) {
+            return Optional.of(Duration.ofMillis(max.getAsLong()));
+        }
+        return Optional.empty();
+    }
+
+    public List<Replica> getReplicas() {
+        return new ArrayList<>(lags.keySet());
+    }
+}
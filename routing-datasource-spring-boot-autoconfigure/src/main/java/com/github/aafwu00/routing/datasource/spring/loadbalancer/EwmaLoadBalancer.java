@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Power of two choices over exponentially weighted moving averages of checkout and query latency.
+ * Averages decay toward zero while a replica is idle, so a replica recovered from slowness is probed again.
+ *
+ * @author Taeho Kim
+ */
+public class EwmaLoadBalancer implements LoadBalancer, LatencyAware {
+    private static final Duration DEFAULT_DECAY = Duration.ofSeconds(10);
+    private final Map<Replica, Ewma> checkouts = new ConcurrentHashMap<>();
+    private final Map<Replica, Ewma> queries = new ConcurrentHashMap<>();
+    private final double decayNanos;
+    private final LongSupplier clock;
+
+    public EwmaLoadBalancer() {
+        this(DEFAULT_DECAY);
+    }
+
+    public EwmaLoadBalancer(final Duration decay) {
+        this(decay, System::nanoTime);
+    }
+
+    EwmaLoadBalancer(final Duration decay, final LongSupplier clock) {
+        if (decay.isNegative() || decay.isZero()) {
+            throw new IllegalArgumentException("decay must be positive: " + decay);
+        }
+        this.decayNanos = decay.toNanos();
+        this.clock = requireNonNull(clock);
+    }
+
+    @Override
+    public Replica choose(final List<Replica> replicas) {
+        final int size = replicas.size();
+        if (size == 1) {
+            return replicas.get(0);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        return lower(replicas.get(first), replicas.get(second));
+    }
+
+    private Replica lower(final Replica first, final Replica second) {
+        if (score(second) < score(first)) {
+            return second;
+        }
+        return first;
+    }
+
+    /**
+     * Sum of decayed checkout and query latency averages in nanoseconds
+     */
+    public double score(final Replica replica) {
+        final long now = clock.getAsLong();
+        return score(checkouts, replica, now) + score(queries, replica, now);
+    }
+
+    private double score(final Map<Replica, Ewma> averages, final Replica replica, final long now) {
+        final Ewma ewma = averages.get(replica);
+        if (ewma == null) {
+            return 0;
+        }
+        return ewma.value(now);
+    }
+
+    @Override
+    public void recordCheckout(final Replica replica, final long elapsedNanos) {
+        record(checkouts, replica, elapsedNanos);
+    }
+
+    @Override
+    public void recordQuery(final Replica replica, final long elapsedNanos) {
+        record(queries, replica, elapsedNanos);
+    }
+
+    private void record(final Map<Replica, Ewma> averages, final Replica replica, final long elapsedNanos) {
+        averages.computeIfAbsent(replica, key -> new Ewma()).update(clock.getAsLong(), elapsedNanos);
+    }
+
+    private final class Ewma {
+        private final AtomicReference<Sample> sample = new AtomicReference<>();
+
+        double value(final long now) {
+            final Sample current = sample.get();
+            if (current == null) {
+                return 0;
+            }
+            return current.value * current.weight(now);
+        }
+
+        void update(final long now, final long elapsedNanos) {
+            Sample current;
+            Sample next;
+            do {
+                current = sample.get();
+                next = next(current, now, elapsedNanos);
+            } while (!sample.compareAndSet(current, next));
+        }
+
+        private Sample next(final Sample current, final long now, final long elapsedNanos) {
+            if (current == null) {
+                return new Sample(elapsedNanos, now);
+            }
+            final double weight = current.weight(now);
+            return new Sample(current.value * weight + elapsedNanos * (1 - weight), now);
+        }
+    }
+
+    private final class Sample {
+        private final double value;
+        private final long timestamp;
+
+        Sample(final double value, final long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+        double weight(final long now) {
+            return Math.exp(-Math.max(0, now - timestamp) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+/**
+ * {@link LoadBalancer} that is fed with observed latencies of the chosen {@link Replica}.
+ *
+ * @author Taeho Kim
+ */
+public interface LatencyAware {
+    /**
+     * Called after a connection of replica is checked out
+     */
+    void recordCheckout(Replica replica, long elapsedNanos);
+
+    /**
+     * Called after a statement of replica is executed
+     */
+    void recordQuery(Replica replica, long elapsedNanos);
+}
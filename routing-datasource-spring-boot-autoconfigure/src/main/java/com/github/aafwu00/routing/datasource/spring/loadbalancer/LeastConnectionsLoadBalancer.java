@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Choose the replica with the lowest pool usage, active connections over maximum of the pool.
+ * Pool state is read from the {@link DataSourcePoolMetadata} gauges without locking,
+ * scanning from a random offset so that equally loaded replicas share traffic.
+ * Replicas are chosen round robin while usage of any of them is unknown, as loads are not comparable then.
+ *
+ * @author Taeho Kim
+ */
+public class LeastConnectionsLoadBalancer implements LoadBalancer {
+    private final Function<DataSource, Optional<DataSourcePoolMetadata>> resolver;
+    private final Map<Replica, Optional<DataSourcePoolMetadata>> metadata = new ConcurrentHashMap<>();
+    private final LoadBalancer fallback = new RoundRobinLoadBalancer();
+
+    public LeastConnectionsLoadBalancer(final Function<DataSource, Optional<DataSourcePoolMetadata>> resolver) {
+        this.resolver = requireNonNull(resolver);
+    }
+
+    @Override
+    public Replica choose(final List<Replica> replicas) {
+        final int size = replicas.size();
+        final int offset = ThreadLocalRandom.current().nextInt(size);
+        Replica result = replicas.get(offset);
+        float least = load(result);
+        for (int i = 1; i < size && !Float.isNaN(least); i++) {
+            final Replica replica = replicas.get((offset + i) % size);
+            final float load = load(replica);
+            if (Float.isNaN(load) || load < least) {
+                least = load;
+                result = replica;
+            }
+        }
+        if (Float.isNaN(least)) {
+            return fallback.choose(replicas);
+        }
+        return result;
+    }
+
+    /**
+     * @return usage between 0 and 1, {@code NaN} if unknown
+     */
+    private float load(final Replica replica) {
+        return metadata(replica).map(this::usageOf)
+                                .orElse(Float.NaN);
+    }
+
+    private Optional<DataSourcePoolMetadata> metadata(final Replica replica) {
+        final Optional<DataSourcePoolMetadata> result = metadata.get(replica);
+        if (result != null) {
+            return result;
+        }
+        return metadata.computeIfAbsent(replica, key -> resolver.apply(key.getDataSource()));
+    }
+
+    private float usageOf(final DataSourcePoolMetadata pool) {
+        final Float usage = pool.getUsage();
+        if (usage != null && usage >= 0) {
+            return usage;
+        }
+        final Integer active = pool.getActive();
+        final Integer max = pool.getMax();
+        if (active == null || max == null || max <= 0) {
+            return Float.NaN;
+        }
+        return active / (float) max;
+    }
+}
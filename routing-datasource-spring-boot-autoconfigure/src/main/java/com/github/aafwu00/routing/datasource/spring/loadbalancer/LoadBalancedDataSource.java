@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Group of replicas registered under a single lookup key, one replica is chosen by {@link LoadBalancer} per checkout.
+ * Replicas rejected by any {@link ReplicaFilter} are skipped, and `fallback` is used when no replica is left
+ * (without `fallback`, every replica stays in rotation).
+ *
+ * @author Taeho Kim
+ */
+public class LoadBalancedDataSource extends AbstractDataSource {
+    private final List<Replica> replicas;
+    private final LoadBalancer loadBalancer;
+    private final Optional<DataSource> fallback;
+    private final List<ReplicaFilter> filters = new CopyOnWriteArrayList<>();
+    private final List<ReplicaListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<UnaryOperator<DataSource>> decorators = new CopyOnWriteArrayList<>();
+
+    public LoadBalancedDataSource(final List<Replica> replicas, final LoadBalancer loadBalancer) {
+        this(replicas, loadBalancer, Optional.empty());
+    }
+
+    public LoadBalancedDataSource(final List<Replica> replicas, final LoadBalancer loadBalancer, final Optional<DataSource> fallback) {
+        super();
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("replicas must not be empty");
+        }
+        this.replicas = unmodifiableList(new ArrayList<>(replicas));
+        this.loadBalancer = requireNonNull(loadBalancer);
+        this.fallback = requireNonNull(fallback);
+    }
+
+    public void addFilter(final ReplicaFilter filter) {
+        filters.add(requireNonNull(filter));
+    }
+
+    public void addListener(final ReplicaListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Decorate data sources given by {@link #dataSourceOf(Replica)}, as checkouts of this group are decorated by the routing data source
+     */
+    public void addDecorator(final UnaryOperator<DataSource> decorator) {
+        decorators.add(requireNonNull(decorator));
+    }
+
+    /**
+     * Data source connecting to the replica only, checkouts are notified to listeners and recorded as those of this group
+     */
+    public DataSource dataSourceOf(final Replica replica) {
+        if (!replicas.contains(replica)) {
+            throw new IllegalArgumentException("replica `" + replica.getName() + "` is not a member");
+        }
+        DataSource result = new ReplicaDataSource(replica);
+        for (final UnaryOperator<DataSource> decorator : decorators) {
+            result = decorator.apply(result);
+        }
+        return result;
+    }
+
+    /**
+     * Choose one of available replicas, empty when every replica is excluded by filters
+     */
+    public Optional<Replica> choose() {
+        final List<Replica> available = getAvailableReplicas();
+        if (available.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(loadBalancer.choose(available));
+    }
+
+    /**
+     * Replicas not excluded by filters
+     */
+    public List<Replica> getAvailableReplicas() {
+        if (filters.isEmpty()) {
+            return replicas;
+        }
+        final List<Replica> result = new ArrayList<>(replicas.size());
+        for (final Replica replica : replicas) {
+            if (isAvailable(replica)) {
+                result.add(replica);
+            }
+        }
+        return result;
+    }
+
+    private boolean isAvailable(final Replica replica) {
+        for (final ReplicaFilter filter : filters) {
+            if (!filter.isAvailable(replica)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public Optional<DataSource> getFallback() {
+        return fallback;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(final ConnectionFactory factory) throws SQLException {
+        final Optional<Replica> replica = choose();
+        if (replica.isPresent() && acquire(replica.get())) {
+            return getConnection(replica.get(), factory);
+        }
+        if (fallback.isPresent()) {
+            return factory.create(fallback.get());
+        }
+        return getConnection(loadBalancer.choose(replicas), factory);
+    }
+
+    private boolean acquire(final Replica replica) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (!filters.get(i).tryAcquire(replica)) {
+                release(replica, i);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void release(final Replica replica, final int acquired) {
+        for (int i = 0; i < acquired; i++) {
+            filters.get(i).release(replica);
+        }
+    }
+
+    private Connection getConnection(final Replica replica, final ConnectionFactory factory) throws SQLException {
+        try {
+            final Connection result = connect(replica, factory);
+            listeners.forEach(listener -> listener.onConnected(replica));
+            return result;
+        } catch (final SQLException e) {
+            listeners.forEach(listener -> listener.onConnectionFailure(replica, e));
+            throw e;
+        }
+    }
+
+    private Connection connect(final Replica replica, final ConnectionFactory factory) throws SQLException {
+        if (loadBalancer instanceof LatencyAware) {
+            return record(replica, LatencyAware.class.cast(loadBalancer), factory);
+        }
+        return factory.create(replica.getDataSource());
+    }
+
+    private Connection record(final Replica replica, final LatencyAware latencyAware, final ConnectionFactory factory) throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection;
+        try {
+            connection = factory.create(replica.getDataSource());
+        } finally {
+            latencyAware.recordCheckout(replica, System.nanoTime() - start);
+        }
+        return QueryLatencyHandler.wrap(connection, elapsedNanos -> latencyAware.recordQuery(replica, elapsedNanos));
+    }
+
+    private final class ReplicaDataSource extends AbstractDataSource {
+        private final Replica replica;
+
+        ReplicaDataSource(final Replica replica) {
+            super();
+            this.replica = replica;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return checkout(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            return checkout(dataSource -> dataSource.getConnection(username, password));
+        }
+
+        private Connection checkout(final ConnectionFactory factory) throws SQLException {
+            if (!acquire(replica)) {
+                throw new SQLTransientConnectionException("replica `" + replica.getName() + "` is not available");
+            }
+            return LoadBalancedDataSource.this.getConnection(replica, factory);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection create(DataSource dataSource) throws SQLException;
+    }
+}
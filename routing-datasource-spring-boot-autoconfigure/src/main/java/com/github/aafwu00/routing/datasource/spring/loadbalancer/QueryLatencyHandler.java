@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.function.LongConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Report elapsed time of {@code execute*} of statements created by the connection,
+ * failed or timed out executions are reported too so a slow replica is not kept in favor.
+ *
+ * @author Taeho Kim
+ */
+final class QueryLatencyHandler implements InvocationHandler {
+    private final Object target;
+    private final LongConsumer recorder;
+
+    private QueryLatencyHandler(final Object target, final LongConsumer recorder) {
+        this.target = requireNonNull(target);
+        this.recorder = requireNonNull(recorder);
+    }
+
+    static Connection wrap(final Connection connection, final LongConsumer recorder) {
+        return Connection.class.cast(proxy(Connection.class, connection, recorder));
+    }
+
+    private static Object proxy(final Class<?> type, final Object target, final LongConsumer recorder) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new QueryLatencyHandler(target, recorder));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        try {
+            return intercept(method, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object intercept(final Method method, final Object[] args) throws IllegalAccessException, InvocationTargetException {
+        if (method.getName().startsWith("execute")) {
+            final long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } finally {
+                recorder.accept(System.nanoTime() - start);
+            }
+        }
+        final Object result = method.invoke(target, args);
+        if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+            return proxy(method.getReturnType(), result, recorder);
+        }
+        return result;
+    }
+}
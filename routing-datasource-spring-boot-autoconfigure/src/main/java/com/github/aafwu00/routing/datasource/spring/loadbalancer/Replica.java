@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * One member of a {@link LoadBalancedDataSource}.
+ *
+ * @author Taeho Kim
+ */
+public class Replica {
+    private static final int DEFAULT_WEIGHT = 1;
+    private final String name;
+    private final DataSource dataSource;
+    private final int weight;
+    private final Optional<String> zone;
+
+    public Replica(final String name, final DataSource dataSource) {
+        this(name, dataSource, DEFAULT_WEIGHT);
+    }
+
+    public Replica(final String name, final DataSource dataSource, final int weight) {
+        this(name, dataSource, weight, Optional.empty());
+    }
+
+    /**
+     * @param zone zone or region where the replica is located
+     */
+    public Replica(final String name, final DataSource dataSource, final int weight, final String zone) {
+        this(name, dataSource, weight, Optional.of(zone));
+    }
+
+    private Replica(final String name, final DataSource dataSource, final int weight, final Optional<String> zone) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight of '" + name + "' must be positive: " + weight);
+        }
+        this.name = requireNonNull(name);
+        this.dataSource = requireNonNull(dataSource);
+        this.weight = weight;
+        this.zone = requireNonNull(zone);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public Optional<String> getZone() {
+        return zone;
+    }
+
+    @Override
+    public String toString() {
+        return "Replica(" + name + ")";
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+/**
+ * Exclude unavailable replicas from rotation of {@link LoadBalancedDataSource}.
+ * {@link #isAvailable(Replica)} is asked for every replica before one is chosen, so it must be free of side effects,
+ * a permit for the replica is claimed by {@link #tryAcquire(Replica)} only when it is chosen to connect.
+ *
+ * @author Taeho Kim
+ */
+@FunctionalInterface
+public interface ReplicaFilter {
+    boolean isAvailable(Replica replica);
+
+    /**
+     * Claim a call to the replica chosen to connect, the result of connection is notified to {@link ReplicaListener}
+     */
+    default boolean tryAcquire(final Replica replica) {
+        return isAvailable(replica);
+    }
+
+    /**
+     * Give back the call claimed by {@link #tryAcquire(Replica)} as the replica is not connected by another filter
+     */
+    default void release(final Replica replica) {
+    }
+}
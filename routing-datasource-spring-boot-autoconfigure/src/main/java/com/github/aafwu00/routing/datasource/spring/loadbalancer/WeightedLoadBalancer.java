@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random choice in proportion to {@link Replica#getWeight()}.
+ *
+ * @author Taeho Kim
+ */
+public class WeightedLoadBalancer implements LoadBalancer {
+    @Override
+    public Replica choose(final List<Replica> replicas) {
+        int total = 0;
+        for (final Replica replica : replicas) {
+            total += replica.getWeight();
+        }
+        int random = ThreadLocalRandom.current().nextInt(total);
+        for (final Replica replica : replicas) {
+            random -= replica.getWeight();
+            if (random < 0) {
+                return replica;
+            }
+        }
+        return replicas.get(replicas.size() - 1);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Prefer replicas in the same `zone` as the application, and spill over to other zones
+ * only when every local replica is excluded(e.g. unhealthy or lagging) or saturated.
+ *
+ * @author Taeho Kim
+ */
+public class ZoneAwareLoadBalancer implements LoadBalancer {
+    private final LoadBalancer delegate;
+    private final String zone;
+    private final Predicate<Replica> saturated;
+
+    public ZoneAwareLoadBalancer(final LoadBalancer delegate, final String zone) {
+        this(delegate, zone, replica -> false);
+    }
+
+    /**
+     * @param saturated whether a replica has no room for more connections
+     */
+    public ZoneAwareLoadBalancer(final LoadBalancer delegate, final String zone, final Predicate<Replica> saturated) {
+        this.delegate = requireNonNull(delegate);
+        this.zone = requireNonNull(zone);
+        this.saturated = requireNonNull(saturated);
+    }
+
+    /**
+     * Create {@link ZoneAwareLoadBalancer} which is also {@link LatencyAware} when `delegate` is
+     */
+    public static ZoneAwareLoadBalancer create(final LoadBalancer delegate, final String zone, final Predicate<Replica> saturated) {
+        if (delegate instanceof LatencyAware) {
+            return new LatencyAwareZoneAwareLoadBalancer(delegate, zone, saturated);
+        }
+        return new ZoneAwareLoadBalancer(delegate, zone, saturated);
+    }
+
+    /**
+     * Replicas are partitioned in a single pass, testing saturation of each replica once
+     */
+    @Override
+    public Replica choose(final List<Replica> replicas) {
+        final List<Replica> local = new ArrayList<>(replicas.size());
+        final List<Replica> unsaturated = new ArrayList<>(replicas.size());
+        for (final Replica replica : replicas) {
+            if (!saturated.test(replica)) {
+                unsaturated.add(replica);
+                addIfLocal(local, replica);
+            }
+        }
+        if (!local.isEmpty()) {
+            return delegate.choose(local);
+        }
+        if (!unsaturated.isEmpty()) {
+            return delegate.choose(unsaturated);
+        }
+        return delegate.choose(replicas);
+    }
+
+    private void addIfLocal(final List<Replica> local, final Replica replica) {
+        if (isLocal(replica)) {
+            local.add(replica);
+        }
+    }
+
+    private boolean isLocal(final Replica replica) {
+        return replica.getZone()
+                      .map(zone::equals)
+                      .orElse(false);
+    }
+
+    public LoadBalancer getDelegate() {
+        return delegate;
+    }
+
+    private static final class LatencyAwareZoneAwareLoadBalancer extends ZoneAwareLoadBalancer implements LatencyAware {
+        private final LatencyAware latencyAware;
+
+        LatencyAwareZoneAwareLoadBalancer(final LoadBalancer delegate, final String zone, final Predicate<Replica> saturated) {
+            super(delegate, zone, saturated);
+            this.latencyAware = LatencyAware.class.cast(delegate);
+        }
+
+        @Override
+        public void recordCheckout(final Replica replica, final long elapsedNanos) {
+            latencyAware.recordCheckout(replica, elapsedNanos);
+        }
+
+        @Override
+        public void recordQuery(final Replica replica, final long elapsedNanos) {
+            latencyAware.recordQuery(replica, elapsedNanos);
+        }
+    }
+}
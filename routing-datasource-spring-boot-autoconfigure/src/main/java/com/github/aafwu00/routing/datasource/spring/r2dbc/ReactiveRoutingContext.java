@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.r2dbc;
+
+import java.util.function.Function;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+import reactor.util.context.Context;
+
+/**
+ * {@link RoutingContext} carried by Reactor {@link Context} instead of thread,
+ * e.g. {@code flux.subscriberContext(ReactiveRoutingContext.routeTo(ReplicationType.Slave))}.
+ *
+ * @author Taeho Kim
+ */
+public final class ReactiveRoutingContext {
+    private ReactiveRoutingContext() {
+    }
+
+    /**
+     * @return function pushing `key` to {@link RoutingContext} of subscriber
+     */
+    public static Function<Context, Context> routeTo(final Object key) {
+        return context -> context.put(RoutingContext.class, of(context).with(key));
+    }
+
+    public static RoutingContext of(final Context context) {
+        return context.getOrDefault(RoutingContext.class, RoutingContext.empty());
+    }
+}
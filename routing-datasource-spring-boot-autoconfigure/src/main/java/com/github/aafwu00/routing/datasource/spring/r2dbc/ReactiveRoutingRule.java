@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.r2dbc;
+
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of {@link com.github.aafwu00.routing.datasource.spring.RoutingRule}, which reads only Reactor {@link Context}
+ * of subscriber, not transaction or routing state bound to thread, as the thread is shared by other subscribers.
+ * See {@link ReactiveRoutingRules} for rules of each routing type.
+ *
+ * @author Taeho Kim
+ */
+@FunctionalInterface
+public interface ReactiveRoutingRule<T> {
+    T determineCurrentLookupKey(Context context);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.r2dbc;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.Switching;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ReactiveRoutingRule} of each routing type, keys are routed by {@link ReactiveRoutingContext}.
+ *
+ * @author Taeho Kim
+ */
+public final class ReactiveRoutingRules {
+    private ReactiveRoutingRules() {
+    }
+
+    /**
+     * {@link ReplicationType#Slave} only when it is routed by {@link ReactiveRoutingContext}
+     */
+    public static ReactiveRoutingRule<ReplicationType> replication() {
+        return context -> ReactiveRoutingContext.of(context)
+                                                .keyOf(ReplicationType.class)
+                                                .orElse(ReplicationType.Master);
+    }
+
+    /**
+     * Mode routed by {@link ReactiveRoutingContext}, otherwise mode of `switching`
+     */
+    public static ReactiveRoutingRule<SwitchableMode> switchable(final Switching switching) {
+        requireNonNull(switching);
+        return context -> ReactiveRoutingContext.of(context)
+                                                .keyOf(SwitchableMode.class)
+                                                .orElseGet(() -> modeOf(switching));
+    }
+
+    /**
+     * Key routed by {@link ReactiveRoutingContext}, null when not routed
+     */
+    public static ReactiveRoutingRule<String> mapped() {
+        return context -> ReactiveRoutingContext.of(context)
+                                                .keyOf(String.class)
+                                                .orElse(null);
+    }
+
+    private static SwitchableMode modeOf(final Switching switching) {
+        if (switching.isOn()) {
+            return SwitchableMode.On;
+        }
+        return SwitchableMode.Off;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.r2dbc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reactive counterpart of {@link com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource}.
+ * {@link ReactiveRoutingRule} is evaluated with Reactor {@link Context} of subscriber, see {@link ReactiveRoutingContext},
+ * as thread bound transaction and routing state are not available.
+ *
+ * @author Taeho Kim
+ */
+public class RoutingConnectionFactory<T> implements ConnectionFactory {
+    private static final ConnectionFactoryMetadata METADATA = () -> "Routing";
+    private final ReactiveRoutingRule<T> routingRule;
+    private final Map<T, ConnectionFactory> targets;
+    private final Optional<ConnectionFactory> defaults;
+
+    public RoutingConnectionFactory(final ReactiveRoutingRule<T> routingRule, final Map<T, ConnectionFactory> targets) {
+        this(routingRule, targets, Optional.empty());
+    }
+
+    /**
+     * @param defaults used when no target is matched with key
+     */
+    public RoutingConnectionFactory(final ReactiveRoutingRule<T> routingRule,
+                                    final Map<T, ConnectionFactory> targets,
+                                    final Optional<ConnectionFactory> defaults) {
+        this.routingRule = requireNonNull(routingRule);
+        this.targets = Collections.unmodifiableMap(new HashMap<>(targets));
+        this.defaults = requireNonNull(defaults);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.subscriberContext()
+                   .map(this::determineTargetConnectionFactory)
+                   .flatMap(connectionFactory -> Mono.from(connectionFactory.create()));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return METADATA;
+    }
+
+    public Map<T, ConnectionFactory> getTargets() {
+        return targets;
+    }
+
+    private ConnectionFactory determineTargetConnectionFactory(final Context context) {
+        final T key = routingRule.determineCurrentLookupKey(context);
+        return Optional.ofNullable(key)
+                       .map(targets::get)
+                       .map(Optional::of)
+                       .orElse(defaults)
+                       .orElseThrow(() -> new IllegalStateException(
+                           "Cannot determine target ConnectionFactory for lookup key [" + key + "]"));
+    }
+}
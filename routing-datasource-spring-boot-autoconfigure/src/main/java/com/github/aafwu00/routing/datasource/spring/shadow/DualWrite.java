@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Update counts of a write on primary and mirror.
+ *
+ * @author Taeho Kim
+ */
+public final class DualWrite {
+    private final String sql;
+    private final long primaryCount;
+    private final Optional<Long> mirrorCount;
+
+    DualWrite(final String sql, final long primaryCount, final Optional<Long> mirrorCount) {
+        this.sql = requireNonNull(sql);
+        this.primaryCount = primaryCount;
+        this.mirrorCount = requireNonNull(mirrorCount);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getPrimaryCount() {
+        return primaryCount;
+    }
+
+    /**
+     * Empty when failed on mirror
+     */
+    public Optional<Long> getMirrorCount() {
+        return mirrorCount;
+    }
+
+    public Result getResult() {
+        if (!mirrorCount.isPresent()) {
+            return Result.Failed;
+        }
+        if (mirrorCount.get() == primaryCount) {
+            return Result.Matched;
+        }
+        return Result.Diverged;
+    }
+
+    public enum Result {
+        Matched,
+        Diverged,
+        Failed
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Capture {@code executeUpdate}, {@code execute} without result set and {@code executeBatch}
+ * of statements created by the connection, and hand them to {@link DualWriteSession} with transaction and savepoints.
+ *
+ * @author Taeho Kim
+ */
+final class DualWriteHandler implements InvocationHandler {
+    private final Object target;
+    private final DualWriteSession session;
+    private final Optional<ShadowQuery> query;
+    private final List<ShadowQuery> batch = new ArrayList<>();
+
+    private DualWriteHandler(final Object target, final DualWriteSession session, final Optional<ShadowQuery> query) {
+        this.target = requireNonNull(target);
+        this.session = requireNonNull(session);
+        this.query = requireNonNull(query);
+    }
+
+    static Connection wrap(final Connection connection, final DualWriter writer) {
+        final DualWriteSession session = new DualWriteSession(connection, writer);
+        return Connection.class.cast(proxy(Connection.class, new DualWriteHandler(connection, session, Optional.empty())));
+    }
+
+    private static Object proxy(final Class<?> type, final DualWriteHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        try {
+            if (target instanceof Connection) {
+                return interceptConnection(method, args);
+            }
+            return interceptStatement(method, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object interceptConnection(final Method method, final Object[] args) throws ReflectiveOperationException {
+        if ("close".equals(method.getName())) {
+            try {
+                return method.invoke(target, args);
+            } finally {
+                session.close();
+            }
+        }
+        final Object result = method.invoke(target, args);
+        switch (method.getName()) {
+            case "commit":
+                session.commit();
+                break;
+            case "rollback":
+                rollback(args);
+                break;
+            case "setSavepoint":
+                session.setSavepoint(Savepoint.class.cast(result));
+                break;
+            case "releaseSavepoint":
+                session.releaseSavepoint(Savepoint.class.cast(args[0]));
+                break;
+            case "setAutoCommit":
+                session.setAutoCommit(Boolean.class.cast(args[0]));
+                break;
+            default:
+                return wrapStatement(method, args, result);
+        }
+        return result;
+    }
+
+    private void rollback(final Object[] args) {
+        if (args == null) {
+            session.rollback();
+        } else {
+            session.rollback(Savepoint.class.cast(args[0]));
+        }
+    }
+
+    private Object wrapStatement(final Method method, final Object[] args, final Object result) {
+        if (result instanceof PreparedStatement && "prepareStatement".equals(method.getName())) {
+            final ShadowQuery prepared = new ShadowQuery(String.class.cast(args[0]));
+            return proxy(PreparedStatement.class, new DualWriteHandler(result, session, Optional.of(prepared)));
+        }
+        if (result instanceof Statement && "createStatement".equals(method.getName())) {
+            return proxy(Statement.class, new DualWriteHandler(result, session, Optional.empty()));
+        }
+        return result;
+    }
+
+    private Object interceptStatement(final Method method, final Object[] args) throws ReflectiveOperationException, SQLException {
+        capture(method, args);
+        final Object result = method.invoke(target, args);
+        final Optional<Long> count = updateCount(method.getName(), result);
+        if (count.isPresent()) {
+            final List<ShadowQuery> queries = executedQueries(method.getName(), args);
+            if (!queries.isEmpty()) {
+                session.written(new DualWriter.Write(queries, count.get()));
+            }
+        }
+        return result;
+    }
+
+    private void capture(final Method method, final Object[] args) {
+        final String name = method.getName();
+        if (name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+            query.ifPresent(captured -> captured.setParameter(method, args));
+        } else if ("clearParameters".equals(name)) {
+            query.ifPresent(ShadowQuery::clearParameters);
+        } else if ("addBatch".equals(name)) {
+            batch.add(sqlOf(args).map(ShadowQuery::new).orElseGet(() -> query.get().copy()));
+        } else if ("clearBatch".equals(name)) {
+            batch.clear();
+        }
+    }
+
+    private Optional<Long> updateCount(final String name, final Object result) throws SQLException {
+        if (!name.startsWith("execute")) {
+            return Optional.empty();
+        }
+        if (Boolean.FALSE.equals(result)) {
+            return Optional.of((long) Statement.class.cast(target).getUpdateCount());
+        }
+        return countOf(result);
+    }
+
+    private Optional<Long> countOf(final Object result) {
+        if (result instanceof int[]) {
+            return Optional.of(Arrays.stream((int[]) result).asLongStream().sum());
+        }
+        if (result instanceof long[]) {
+            return Optional.of(Arrays.stream((long[]) result).sum());
+        }
+        return Optional.ofNullable(result).filter(Number.class::isInstance).map(count -> Number.class.cast(count).longValue());
+    }
+
+    private List<ShadowQuery> executedQueries(final String name, final Object[] args) {
+        if (name.endsWith("Batch")) {
+            final List<ShadowQuery> result = new ArrayList<>(batch);
+            batch.clear();
+            return result;
+        }
+        final Optional<ShadowQuery> executed = sqlOf(args).map(ShadowQuery::new);
+        if (executed.isPresent()) {
+            return Collections.singletonList(executed.get());
+        }
+        return query.map(ShadowQuery::copy).map(Collections::singletonList).orElse(Collections.emptyList());
+    }
+
+    private Optional<String> sqlOf(final Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            return Optional.of(String.class.cast(args[0]));
+        }
+        return Optional.empty();
+    }
+}
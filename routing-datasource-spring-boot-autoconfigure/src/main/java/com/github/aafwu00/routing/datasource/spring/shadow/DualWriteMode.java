@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+/**
+ * How writes are mirrored to another target.
+ *
+ * @author Taeho Kim
+ */
+public enum DualWriteMode {
+    /**
+     * On a mirror connection of the caller, in the same transaction boundary
+     */
+    Sync,
+    /**
+     * After commit in background, in order through a bounded queue
+     */
+    Async
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes and mirror connection of a primary connection, follows commit, rollback, savepoints and auto commit of it.
+ * Writes of a transaction are reported on commit, and {@link DualWriteMode#Sync} rolls back mirror instead
+ * when any of them failed, so mirror never commits a part of the transaction.
+ *
+ * @author Taeho Kim
+ */
+final class DualWriteSession {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DualWriteSession.class);
+    private final Connection connection;
+    private final DualWriter writer;
+    private final List<DualWriter.Write> pending = new ArrayList<>();
+    private final List<Optional<Long>> counts = new ArrayList<>();
+    private final Map<Savepoint, Mark> savepoints = new IdentityHashMap<>();
+    private Optional<Connection> mirror = Optional.empty();
+    private boolean failed;
+
+    DualWriteSession(final Connection connection, final DualWriter writer) {
+        this.connection = requireNonNull(connection);
+        this.writer = requireNonNull(writer);
+    }
+
+    void written(final DualWriter.Write write) throws SQLException {
+        if (isSync()) {
+            writeSync(write);
+        } else {
+            pending.add(write);
+            if (connection.getAutoCommit()) {
+                flush();
+            }
+        }
+    }
+
+    private void writeSync(final DualWriter.Write write) throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        final Optional<Long> count = writeOnMirror(write, autoCommit);
+        if (autoCommit) {
+            writer.report(write, count);
+        } else {
+            pending.add(write);
+            counts.add(count);
+        }
+    }
+
+    private Optional<Long> writeOnMirror(final DualWriter.Write write, final boolean autoCommit) {
+        if (failed) {
+            return Optional.empty();
+        }
+        try {
+            if (!mirror.isPresent()) {
+                mirror = Optional.of(writer.connect(autoCommit));
+            }
+            return writer.write(mirror.get(), write);
+        } catch (final SQLException e) {
+            LOGGER.debug("Failed to connect mirror for `{}`", write.getSql(), e);
+            return Optional.empty();
+        }
+    }
+
+    void commit() {
+        if (isSync()) {
+            commitSync();
+        } else if (failed) {
+            pending.forEach(write -> writer.report(write, Optional.empty()));
+        } else {
+            flush();
+        }
+        clear();
+    }
+
+    private void commitSync() {
+        final boolean committed = !failed && counts.stream().allMatch(Optional::isPresent) && onMirror(Connection::commit);
+        if (!committed) {
+            LOGGER.debug("Rolled back mirror, as a write of the transaction failed");
+            onMirror(Connection::rollback);
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            writer.report(pending.get(i), counts.get(i).filter(count -> committed));
+        }
+    }
+
+    void rollback() {
+        onMirror(Connection::rollback);
+        clear();
+    }
+
+    void setSavepoint(final Savepoint savepoint) {
+        savepoints.put(savepoint, new Mark(pending.size(), mirrorSavepoint()));
+    }
+
+    private Optional<Savepoint> mirrorSavepoint() {
+        if (!isSync() || !mirror.isPresent() || failed) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(mirror.get().setSavepoint());
+        } catch (final SQLException e) {
+            LOGGER.debug("Failed to set savepoint on mirror", e);
+            failed = true;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes after `savepoint` are discarded, unknown savepoint stops mirroring the transaction
+     */
+    void rollback(final Savepoint savepoint) {
+        final Mark mark = savepoints.get(savepoint);
+        if (mark == null) {
+            failed = true;
+        } else {
+            pending.subList(mark.position, pending.size()).clear();
+            if (isSync()) {
+                counts.subList(mark.position, counts.size()).clear();
+                rollbackMirror(mark);
+            }
+        }
+    }
+
+    /**
+     * Mirror without savepoint was connected after `mark`, so everything on it is rolled back
+     */
+    private void rollbackMirror(final Mark mark) {
+        final boolean rolledBack;
+        if (mark.mirror.isPresent()) {
+            rolledBack = onMirror(target -> target.rollback(mark.mirror.get()));
+        } else {
+            rolledBack = onMirror(Connection::rollback);
+        }
+        if (!rolledBack) {
+            failed = true;
+        }
+    }
+
+    void releaseSavepoint(final Savepoint savepoint) {
+        final Mark mark = savepoints.remove(savepoint);
+        if (mark != null && mark.mirror.isPresent()) {
+            onMirror(target -> target.releaseSavepoint(mark.mirror.get()));
+        }
+    }
+
+    /**
+     * Changing to auto commit commits the transaction
+     */
+    void setAutoCommit(final boolean autoCommit) {
+        if (autoCommit && (!pending.isEmpty() || failed)) {
+            commit();
+        }
+        onMirror(target -> target.setAutoCommit(autoCommit));
+    }
+
+    void close() {
+        clear();
+        onMirror(Connection::close);
+        mirror = Optional.empty();
+    }
+
+    private boolean isSync() {
+        return writer.getMode() == DualWriteMode.Sync;
+    }
+
+    private void flush() {
+        if (!pending.isEmpty()) {
+            writer.submit(new ArrayList<>(pending));
+            pending.clear();
+        }
+    }
+
+    private void clear() {
+        pending.clear();
+        counts.clear();
+        savepoints.clear();
+        failed = false;
+    }
+
+    /**
+     * @return false when failed on mirror
+     */
+    private boolean onMirror(final MirrorAction action) {
+        if (!mirror.isPresent()) {
+            return true;
+        }
+        try {
+            action.accept(mirror.get());
+            return true;
+        } catch (final SQLException e) {
+            LOGGER.debug("Failed to follow primary on mirror", e);
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface MirrorAction {
+        void accept(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Position of pending writes and savepoint of mirror at a savepoint of primary
+     */
+    private static final class Mark {
+        private final int position;
+        private final Optional<Savepoint> mirror;
+
+        Mark(final int position, final Optional<Savepoint> mirror) {
+            this.position = position;
+            this.mirror = mirror;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Apply writes of primary to mirror, and compare update counts.
+ * Failures on mirror are reported to listeners and never fail the caller.
+ *
+ * @author Taeho Kim
+ */
+public class DualWriter implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DualWriter.class);
+    private final DataSource mirror;
+    private final DualWriteMode mode;
+    private final ExecutorService executor;
+    private final Duration shutdownTimeout;
+    private final LongAdder rejected = new LongAdder();
+    private final List<DualWriteListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param executor        runs {@link DualWriteMode#Async} writes, a single thread keeps the order of commits
+     * @param shutdownTimeout to wait for queued writes on {@link #destroy()}
+     */
+    public DualWriter(final DataSource mirror, final DualWriteMode mode, final ExecutorService executor, final Duration shutdownTimeout) {
+        this.mirror = requireNonNull(mirror);
+        this.mode = requireNonNull(mode);
+        this.executor = requireNonNull(executor);
+        this.shutdownTimeout = requireNonNull(shutdownTimeout);
+    }
+
+    public DualWriteMode getMode() {
+        return mode;
+    }
+
+    public void addListener(final DualWriteListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Count of {@link DualWriteMode#Async} writes dropped as queue is full, or as they are not replayed until shutdown
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    Connection connect(final boolean autoCommit) throws SQLException {
+        final Connection result = mirror.getConnection();
+        result.setAutoCommit(autoCommit);
+        return result;
+    }
+
+    void report(final Write write, final Optional<Long> mirrorCount) {
+        onWritten(write, mirrorCount);
+    }
+
+    void failed(final Write write, final SQLException ex) {
+        LOGGER.debug("Failed to connect mirror for `{}`", write.getSql(), ex);
+        onWritten(write, Optional.empty());
+    }
+
+    /**
+     * Apply committed writes in a transaction of mirror
+     */
+    void submit(final List<Write> writes) {
+        try {
+            executor.execute(new Replay(writes));
+        } catch (final RejectedExecutionException e) {
+            rejected.add(writes.size());
+        }
+    }
+
+    private void replay(final List<Write> writes) {
+        try (Connection connection = connect(false)) {
+            final List<Optional<Long>> counts = writes.stream()
+                                                      .map(write -> write(connection, write))
+                                                      .collect(Collectors.toList());
+            if (counts.stream().allMatch(Optional::isPresent)) {
+                connection.commit();
+                for (int i = 0; i < writes.size(); i++) {
+                    onWritten(writes.get(i), counts.get(i));
+                }
+            } else {
+                connection.rollback();
+                writes.forEach(write -> onWritten(write, Optional.empty()));
+            }
+        } catch (final SQLException e) {
+            writes.forEach(write -> failed(write, e));
+        }
+    }
+
+    /**
+     * @return update count on mirror, empty when failed
+     */
+    Optional<Long> write(final Connection connection, final Write write) {
+        try {
+            long result = 0;
+            for (final ShadowQuery query : write.queries) {
+                result += executeUpdate(connection, query);
+            }
+            return Optional.of(result);
+            // CHECKSTYLE:OFF
+        } catch (SQLException | RuntimeException ex) {
+            // CHECKSTYLE:ON
+            LOGGER.debug("Failed to dual write `{}`", write.getSql(), ex);
+            return Optional.empty();
+        }
+    }
+
+    private long executeUpdate(final Connection connection, final ShadowQuery query) throws SQLException {
+        if (!query.isReplayable()) {
+            throw new SQLException("Parameters of stream or locator can not be written twice");
+        }
+        try (PreparedStatement statement = query.prepare(connection)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private void onWritten(final Write write, final Optional<Long> mirrorCount) {
+        final DualWrite result = new DualWrite(write.getSql(), write.primaryCount, mirrorCount);
+        if (result.getResult() == DualWrite.Result.Diverged) {
+            LOGGER.debug("Dual write diverged, `{}`, primary: {}, mirror: {}", write.getSql(), write.primaryCount, mirrorCount);
+        }
+        listeners.forEach(listener -> listener.onWritten(result));
+    }
+
+    /**
+     * Wait for queued writes until `shutdownTimeout`, and count the rest as rejected
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                drop();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop();
+        }
+    }
+
+    private void drop() {
+        final long dropped = executor.shutdownNow()
+                                     .stream()
+                                     .filter(Replay.class::isInstance)
+                                     .mapToLong(task -> Replay.class.cast(task).writes.size())
+                                     .sum();
+        if (dropped > 0) {
+            rejected.add(dropped);
+            LOGGER.warn("Dropped {} writes to mirror, which were not replayed until shutdown", dropped);
+        }
+    }
+
+    /**
+     * Committed writes of a transaction in queue
+     */
+    private final class Replay implements Runnable {
+        private final List<Write> writes;
+
+        Replay(final List<Write> writes) {
+            this.writes = writes;
+        }
+
+        @Override
+        public void run() {
+            replay(writes);
+        }
+    }
+
+    /**
+     * Statement or batch executed on primary
+     */
+    static final class Write {
+        private final List<ShadowQuery> queries;
+        private final long primaryCount;
+
+        Write(final List<ShadowQuery> queries, final long primaryCount) {
+            this.queries = requireNonNull(queries);
+            this.primaryCount = primaryCount;
+        }
+
+        String getSql() {
+            return queries.stream().map(ShadowQuery::getSql).distinct().collect(Collectors.joining("; "));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Row count and order insensitive checksum of column values as strings.
+ * Long, LOB and XML columns are left out of checksum, as they may be read only once by stream.
+ *
+ * @author Taeho Kim
+ */
+public final class ResultSummary {
+    private final long rows;
+    private final long checksum;
+
+    public ResultSummary(final long rows, final long checksum) {
+        this.rows = rows;
+        this.checksum = checksum;
+    }
+
+    public static ResultSummary of(final ResultSet resultSet) throws SQLException {
+        final Collector collector = new Collector(resultSet);
+        while (resultSet.next()) {
+            collector.add(resultSet);
+        }
+        return collector.toSummary();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ResultSummary)) {
+            return false;
+        }
+        final ResultSummary that = ResultSummary.class.cast(other);
+        return rows == that.rows && checksum == that.checksum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "rows=" + rows + ", checksum=" + checksum;
+    }
+
+    /**
+     * Summary of rows added so far, so a result set read by the caller is summarized as it goes
+     */
+    static final class Collector {
+        private static final Set<Integer> STREAMED_TYPES = new HashSet<>(Arrays.asList(Types.LONGVARCHAR,
+                                                                                       Types.LONGNVARCHAR,
+                                                                                       Types.LONGVARBINARY,
+                                                                                       Types.BLOB,
+                                                                                       Types.CLOB,
+                                                                                       Types.NCLOB,
+                                                                                       Types.SQLXML));
+        private final int[] columns;
+        private final String[] values;
+        private long rows;
+        private long checksum;
+
+        Collector(final ResultSet resultSet) throws SQLException {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            final int[] types = new int[metaData.getColumnCount()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+            this.columns = IntStream.rangeClosed(1, types.length)
+                                    .filter(column -> !STREAMED_TYPES.contains(types[column - 1]))
+                                    .toArray();
+            this.values = new String[columns.length];
+        }
+
+        void add(final ResultSet resultSet) throws SQLException {
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = resultSet.getString(columns[i]);
+            }
+            rows++;
+            checksum += Arrays.hashCode(values);
+        }
+
+        ResultSummary toSummary() {
+            return new ResultSummary(rows, checksum);
+        }
+    }
+}
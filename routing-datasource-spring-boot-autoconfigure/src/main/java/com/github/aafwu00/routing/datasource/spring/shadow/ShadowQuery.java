@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.springframework.util.ReflectionUtils;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Query and parameters captured from a statement, to be run again on another connection.
+ *
+ * @author Taeho Kim
+ */
+final class ShadowQuery {
+    private static final Pattern SELECT = Pattern.compile("^\\s*select\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NOT_PLAIN = Pattern.compile(
+        "\\b(for\\s+(no\\s+key\\s+)?update|for\\s+(key\\s+)?share|lock\\s+in\\s+share\\s+mode|into|nextval|returning)\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Class<?>[] NOT_REPLAYABLE = {InputStream.class, Reader.class, Blob.class, Clob.class,
+                                                      Array.class, Ref.class, SQLXML.class};
+    private final String sql;
+    private final Map<Integer, Parameter> parameters;
+    private boolean replayable = true;
+
+    ShadowQuery(final String sql) {
+        this(sql, new TreeMap<>());
+    }
+
+    private ShadowQuery(final String sql, final Map<Integer, Parameter> parameters) {
+        this.sql = requireNonNull(sql);
+        this.parameters = parameters;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    /**
+     * Record `PreparedStatement#setXxx(index, ...)`, streams and locators can not be read twice
+     */
+    void setParameter(final Method method, final Object[] args) {
+        if (Arrays.stream(method.getParameterTypes()).anyMatch(this::isNotReplayable)) {
+            replayable = false;
+        }
+        parameters.put(Integer.class.cast(args[0]), new Parameter(method, args.clone()));
+    }
+
+    void clearParameters() {
+        parameters.clear();
+        replayable = true;
+    }
+
+    boolean isReplayable() {
+        return replayable;
+    }
+
+    /**
+     * Whether it is a select without locks, sequences or writes, so running it again has no side effect
+     */
+    boolean isPlainSelect() {
+        return SELECT.matcher(sql).find() && !NOT_PLAIN.matcher(sql).find();
+    }
+
+    ShadowQuery copy() {
+        return new ShadowQuery(sql, new TreeMap<>(parameters));
+    }
+
+    PreparedStatement prepare(final Connection connection) throws SQLException {
+        final PreparedStatement result = connection.prepareStatement(sql);
+        for (final Parameter parameter : parameters.values()) {
+            ReflectionUtils.invokeMethod(parameter.method, result, parameter.args);
+        }
+        return result;
+    }
+
+    private boolean isNotReplayable(final Class<?> type) {
+        return Arrays.stream(NOT_REPLAYABLE).anyMatch(notReplayable -> notReplayable.isAssignableFrom(type));
+    }
+
+    private static final class Parameter {
+        private final Method method;
+        private final Object[] args;
+
+        Parameter(final Method method, final Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
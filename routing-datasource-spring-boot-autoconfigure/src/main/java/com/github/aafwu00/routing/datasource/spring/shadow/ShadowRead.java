@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Comparison of a query between primary and shadow.
+ *
+ * @author Taeho Kim
+ */
+public final class ShadowRead {
+    private final String sql;
+    private final long primaryNanos;
+    private final long shadowNanos;
+    private final Optional<ResultSummary> primary;
+    private final Optional<ResultSummary> shadow;
+
+    ShadowRead(final String sql,
+               final long primaryNanos,
+               final long shadowNanos,
+               final Optional<ResultSummary> primary,
+               final Optional<ResultSummary> shadow) {
+        this.sql = requireNonNull(sql);
+        this.primaryNanos = primaryNanos;
+        this.shadowNanos = shadowNanos;
+        this.primary = requireNonNull(primary);
+        this.shadow = requireNonNull(shadow);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Elapsed time of the query served by primary
+     */
+    public long getPrimaryNanos() {
+        return primaryNanos;
+    }
+
+    /**
+     * Elapsed time of the query sent to shadow, zero when failed
+     */
+    public long getShadowNanos() {
+        return shadowNanos;
+    }
+
+    public Optional<ResultSummary> getPrimary() {
+        return primary;
+    }
+
+    public Optional<ResultSummary> getShadow() {
+        return shadow;
+    }
+
+    public Result getResult() {
+        if (!primary.isPresent() || !shadow.isPresent()) {
+            return Result.Failed;
+        }
+        if (primary.equals(shadow)) {
+            return Result.Matched;
+        }
+        return Result.Mismatched;
+    }
+
+    public enum Result {
+        Matched,
+        Mismatched,
+        Failed
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Send sampled read queries of the target to {@link ShadowReader} as well, only while auto commit or read only.
+ *
+ * @author Taeho Kim
+ */
+public class ShadowReadDataSource extends DelegatingDataSource {
+    private final ShadowReader reader;
+
+    public ShadowReadDataSource(final DataSource targetDataSource, final ShadowReader reader) {
+        super(targetDataSource);
+        this.reader = requireNonNull(reader);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return ShadowReadHandler.wrap(obtainTargetDataSource().getConnection(), reader);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return ShadowReadHandler.wrap(obtainTargetDataSource().getConnection(username, password), reader);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Capture {@code prepareStatement}, {@code set*} and {@code executeQuery} of statements created by the connection.
+ * Result set of a sampled plain select is summarized as the caller reads it, and compared once it is read to the end.
+ *
+ * @author Taeho Kim
+ */
+final class ShadowReadHandler implements InvocationHandler {
+    private static final String EXECUTE_QUERY = "executeQuery";
+    private final Object target;
+    private final Connection connection;
+    private final ShadowReader reader;
+    private final Optional<ShadowQuery> query;
+
+    private ShadowReadHandler(final Object target,
+                              final Connection connection,
+                              final ShadowReader reader,
+                              final Optional<ShadowQuery> query) {
+        this.target = requireNonNull(target);
+        this.connection = requireNonNull(connection);
+        this.reader = requireNonNull(reader);
+        this.query = requireNonNull(query);
+    }
+
+    static Connection wrap(final Connection connection, final ShadowReader reader) {
+        return Connection.class.cast(proxy(Connection.class, new ShadowReadHandler(connection, connection, reader, Optional.empty())));
+    }
+
+    private static Object proxy(final Class<?> type, final ShadowReadHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        try {
+            return intercept(method, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object intercept(final Method method, final Object[] args) throws ReflectiveOperationException, SQLException {
+        if (EXECUTE_QUERY.equals(method.getName())) {
+            return executeQuery(method, args);
+        }
+        if (isSetParameter(method, args)) {
+            query.ifPresent(captured -> captured.setParameter(method, args));
+        } else if ("clearParameters".equals(method.getName())) {
+            query.ifPresent(ShadowQuery::clearParameters);
+        }
+        return wrapStatement(method, args, method.invoke(target, args));
+    }
+
+    private boolean isSetParameter(final Method method, final Object[] args) {
+        return method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer;
+    }
+
+    private Object wrapStatement(final Method method, final Object[] args, final Object result) {
+        if (result instanceof PreparedStatement && "prepareStatement".equals(method.getName())) {
+            final ShadowQuery prepared = new ShadowQuery(String.class.cast(args[0]));
+            return proxy(PreparedStatement.class, new ShadowReadHandler(result, connection, reader, Optional.of(prepared)));
+        }
+        if (result instanceof Statement && "createStatement".equals(method.getName())) {
+            return proxy(Statement.class, new ShadowReadHandler(result, connection, reader, Optional.empty()));
+        }
+        return result;
+    }
+
+    private Object executeQuery(final Method method, final Object[] args) throws ReflectiveOperationException, SQLException {
+        final Optional<ShadowQuery> executed = executedQuery(args);
+        if (!executed.isPresent() || !reader.isSampled() || !isReadable() || !executed.get().isPlainSelect()) {
+            return method.invoke(target, args);
+        }
+        final long start = System.nanoTime();
+        final ResultSet result = ResultSet.class.cast(method.invoke(target, args));
+        final long primaryNanos = System.nanoTime() - start;
+        final ShadowQuery replayed = executed.get().copy();
+        return ShadowResultSetHandler.wrap(result, summary -> reader.submit(replayed, summary, primaryNanos));
+    }
+
+    private Optional<ShadowQuery> executedQuery(final Object[] args) {
+        if (args != null && args.length == 1) {
+            return Optional.of(new ShadowQuery(String.class.cast(args[0])));
+        }
+        return query.filter(ShadowQuery::isReplayable);
+    }
+
+    private boolean isReadable() throws SQLException {
+        return connection.getAutoCommit() || connection.isReadOnly();
+    }
+}
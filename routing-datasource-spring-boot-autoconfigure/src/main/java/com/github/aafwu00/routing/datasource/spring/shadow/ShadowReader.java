@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import static com.github.aafwu00.routing.datasource.spring.QueryTimeouts.secondsOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Run sampled queries again on shadow in background, and compare row counts and checksums with the result read by the caller,
+ * so primary serves each query once. Queries are dropped when the executor is saturated, the caller never waits for shadow.
+ *
+ * @author Taeho Kim
+ */
+public class ShadowReader implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShadowReader.class);
+    private final DataSource shadow;
+    private final ExecutorService executor;
+    private final double sampleRate;
+    private final int timeoutSeconds;
+    private final LongAdder rejected = new LongAdder();
+    private final List<ShadowReadListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param sampleRate ratio of queries sent to shadow, e.g. 0.01
+     * @param timeout    query timeout of shadow, rounded up to seconds
+     */
+    public ShadowReader(final DataSource shadow,
+                        final ExecutorService executor,
+                        final double sampleRate,
+                        final Duration timeout) {
+        this.shadow = requireNonNull(shadow);
+        this.executor = requireNonNull(executor);
+        this.sampleRate = sampleRate;
+        this.timeoutSeconds = Math.max(1, secondsOf(timeout));
+    }
+
+    public boolean isSampled() {
+        return ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void addListener(final ShadowReadListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Count of queries dropped as executor is saturated
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @param primaryResult summary of rows read by the caller from primary
+     */
+    void submit(final ShadowQuery query, final ResultSummary primaryResult, final long primaryNanos) {
+        try {
+            executor.execute(() -> compare(query, primaryResult, primaryNanos));
+        } catch (final RejectedExecutionException e) {
+            rejected.increment();
+        }
+    }
+
+    private void compare(final ShadowQuery query, final ResultSummary primaryResult, final long primaryNanos) {
+        final long start = System.nanoTime();
+        final Optional<ResultSummary> shadowResult = summarize(query);
+        final long shadowNanos = System.nanoTime() - start;
+        final ShadowRead read = new ShadowRead(query.getSql(),
+                                               primaryNanos,
+                                               shadowResult.map(summary -> shadowNanos).orElse(0L),
+                                               Optional.of(primaryResult),
+                                               shadowResult);
+        if (read.getResult() == ShadowRead.Result.Mismatched) {
+            LOGGER.debug("Shadow read mismatched, `{}`, primary: {}, shadow: {}", query.getSql(), primaryResult, shadowResult);
+        }
+        listeners.forEach(listener -> listener.onCompared(read));
+    }
+
+    private Optional<ResultSummary> summarize(final ShadowQuery query) {
+        try {
+            return Optional.of(query(query));
+            // CHECKSTYLE:OFF
+        } catch (SQLException | RuntimeException ex) {
+            // CHECKSTYLE:ON
+            LOGGER.debug("Failed to shadow read `{}`", query.getSql(), ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Read only flag is restored, as the connection goes back to pool of shadow
+     */
+    private ResultSummary query(final ShadowQuery query) throws SQLException {
+        try (Connection connection = shadow.getConnection()) {
+            final boolean readOnly = connection.isReadOnly();
+            connection.setReadOnly(true);
+            try {
+                return query(connection, query);
+            } finally {
+                connection.setReadOnly(readOnly);
+            }
+        }
+    }
+
+    private ResultSummary query(final Connection connection, final ShadowQuery query) throws SQLException {
+        try (PreparedStatement statement = query.prepare(connection)) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return ResultSummary.of(resultSet);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
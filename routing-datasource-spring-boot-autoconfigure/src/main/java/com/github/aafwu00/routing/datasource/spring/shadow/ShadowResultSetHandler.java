@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Summarize rows of the result set as the caller moves it by {@code next}, summary is given to `onRead` when no row is left.
+ * Summary is dropped when the caller moves the cursor otherwise or closes it early, failures never reach the caller.
+ *
+ * @author Taeho Kim
+ */
+final class ShadowResultSetHandler implements InvocationHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShadowResultSetHandler.class);
+    private static final String FAILED = "Failed to summarize result set for shadow read";
+    private static final String NEXT = "next";
+    private static final List<String> SCROLLS = Arrays.asList("previous", "absolute", "relative", "first", "last",
+                                                              "beforeFirst", "afterLast");
+    private final ResultSet target;
+    private final ResultSummary.Collector collector;
+    private final Consumer<ResultSummary> onRead;
+    private boolean done;
+
+    private ShadowResultSetHandler(final ResultSet target, final ResultSummary.Collector collector, final Consumer<ResultSummary> onRead) {
+        this.target = requireNonNull(target);
+        this.collector = requireNonNull(collector);
+        this.onRead = requireNonNull(onRead);
+    }
+
+    /**
+     * @return `resultSet` as is when its columns are not known
+     */
+    static ResultSet wrap(final ResultSet resultSet, final Consumer<ResultSummary> onRead) {
+        try {
+            final ShadowResultSetHandler handler = new ShadowResultSetHandler(resultSet, new ResultSummary.Collector(resultSet), onRead);
+            return ResultSet.class.cast(Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, handler));
+        } catch (final SQLException e) {
+            LOGGER.debug(FAILED, e);
+            return resultSet;
+        }
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (!done && NEXT.equals(method.getName())) {
+            onNext(Boolean.TRUE.equals(result));
+        } else if (SCROLLS.contains(method.getName())) {
+            done = true;
+        }
+        return result;
+    }
+
+    private void onNext(final boolean hasRow) {
+        try {
+            if (hasRow) {
+                collector.add(target);
+            } else {
+                done = true;
+                onRead.accept(collector.toSummary());
+            }
+            // CHECKSTYLE:OFF
+        } catch (SQLException | RuntimeException ex) {
+            // CHECKSTYLE:ON
+            LOGGER.debug(FAILED, ex);
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalize SQL so statements differing only by literals, comments, whitespace or length of lists share a fingerprint.
+ *
+ * @author Taeho Kim
+ */
+public final class SqlFingerprint {
+    private static final Pattern STRING = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern COMMENT = Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ROWS = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final String PLACEHOLDER = "?";
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * {@code select * from t where id in (1, 2) and name = 'a'} becomes {@code select * from t where id in (?) and name = ?}
+     */
+    public static String of(final String sql) {
+        String result = STRING.matcher(sql).replaceAll(PLACEHOLDER);
+        result = COMMENT.matcher(result).replaceAll(" ");
+        result = NUMBER.matcher(result).replaceAll(PLACEHOLDER);
+        result = WHITESPACE.matcher(result).replaceAll(" ");
+        result = LIST.matcher(result).replaceAll("(?)");
+        result = ROWS.matcher(result).replaceAll("(?)");
+        return result.trim();
+    }
+}
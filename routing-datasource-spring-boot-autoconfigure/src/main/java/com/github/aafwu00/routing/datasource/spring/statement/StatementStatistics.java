@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Executions of statements by fingerprint of each target, kept in a frequent table and a slowest table bounded separately.
+ * A full table evicts a quarter of its statements at once, the least executed or the fastest by max time,
+ * so the cost of eviction is shared by the new statements admitted until it is full again.
+ * Fingerprints of recent SQLs are cached up to the same bound, so a SQL is normalized once while it is reused.
+ *
+ * @author Taeho Kim
+ */
+public class StatementStatistics {
+    private static final int EVICTION_DIVISOR = 4;
+    private final Map<RoutingTarget, Tables> targets = new ConcurrentHashMap<>();
+    private final List<StatementListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Queue<String> fingerprintOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cachedFingerprints = new AtomicInteger();
+    private final int maxFingerprints;
+
+    /**
+     * @param maxFingerprints maximum fingerprints kept in each table of each target
+     */
+    public StatementStatistics(final int maxFingerprints) {
+        if (maxFingerprints <= 0) {
+            throw new IllegalArgumentException("maxFingerprints must be positive: " + maxFingerprints);
+        }
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public void addListener(final StatementListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Normalized without lock, the oldest cached SQL is evicted for a new one over the bound
+     *
+     * @return fingerprint of the SQL by {@link SqlFingerprint}, cached for recent SQLs
+     */
+    public String fingerprintOf(final String sql) {
+        final String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        final String result = SqlFingerprint.of(sql);
+        if (fingerprints.putIfAbsent(sql, result) == null) {
+            fingerprintOrder.add(sql);
+            if (cachedFingerprints.incrementAndGet() > maxFingerprints) {
+                evictFingerprint();
+            }
+        }
+        return result;
+    }
+
+    private void evictFingerprint() {
+        final String eldest = fingerprintOrder.poll();
+        if (eldest != null) {
+            fingerprints.remove(eldest);
+            cachedFingerprints.decrementAndGet();
+        }
+    }
+
+    public void record(final RoutingTarget target, final String fingerprint, final long nanos) {
+        listeners.forEach(listener -> listener.onExecuted(target, fingerprint, nanos));
+        targets.computeIfAbsent(target, key -> new Tables()).record(fingerprint, nanos);
+    }
+
+    public Set<RoutingTarget> getTargets() {
+        return Collections.unmodifiableSet(targets.keySet());
+    }
+
+    /**
+     * @return at most `limit` statements of the slowest table of the target by max time, slowest first
+     */
+    public List<StatementStats> getSlowest(final RoutingTarget target, final int limit) {
+        return top(target, tables -> tables.slowest, StatementStats::getMaxNanos, limit);
+    }
+
+    /**
+     * @return at most `limit` statements of the frequent table of the target by executions, most frequent first
+     */
+    public List<StatementStats> getMostFrequent(final RoutingTarget target, final int limit) {
+        return top(target, tables -> tables.frequent, StatementStats::getCount, limit);
+    }
+
+    private List<StatementStats> top(final RoutingTarget target,
+                                     final Function<Tables, Map<String, StatementStats>> table,
+                                     final ToLongFunction<StatementStats> value,
+                                     final int limit) {
+        final Tables tables = targets.get(target);
+        if (tables == null) {
+            return Collections.emptyList();
+        }
+        return ranked(table.apply(tables), value).stream()
+                                                 .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+                                                 .limit(limit)
+                                                 .map(Map.Entry::getKey)
+                                                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Values are taken once, as they change while sorting
+     */
+    private static List<Map.Entry<StatementStats, Long>> ranked(final Map<String, StatementStats> table,
+                                                                final ToLongFunction<StatementStats> value) {
+        return table.values()
+                    .stream()
+                    .map(stats -> new AbstractMap.SimpleImmutableEntry<>(stats, value.applyAsLong(stats)))
+                    .collect(Collectors.toList());
+    }
+
+    /**
+     * @return executions of statements evicted from the frequent table of their target
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public void clear() {
+        targets.clear();
+    }
+
+    /**
+     * Tables of a target, locked only to admit a new statement. A statement in both tables shares its {@link StatementStats}.
+     */
+    private final class Tables {
+        private final Map<String, StatementStats> frequent = new ConcurrentHashMap<>();
+        private final Map<String, StatementStats> slowest = new ConcurrentHashMap<>();
+        private final AtomicLong slowestFloor = new AtomicLong();
+
+        void record(final String fingerprint, final long nanos) {
+            StatementStats stats = frequent.get(fingerprint);
+            if (stats == null) {
+                stats = admitFrequent(fingerprint);
+            }
+            stats.record(nanos);
+            if (nanos > slowestFloor.get() && !slowest.containsKey(fingerprint)) {
+                admitSlowest(stats);
+            }
+        }
+
+        private synchronized StatementStats admitFrequent(final String fingerprint) {
+            final StatementStats existing = frequent.get(fingerprint);
+            if (existing != null) {
+                return existing;
+            }
+            if (frequent.size() >= maxFingerprints) {
+                evict(frequent, StatementStats::getCount).forEach(evicted -> dropped.add(evicted.getCount()));
+            }
+            final StatementStats result = slowest.getOrDefault(fingerprint, new StatementStats(fingerprint));
+            frequent.put(fingerprint, result);
+            return result;
+        }
+
+        private synchronized void admitSlowest(final StatementStats stats) {
+            if (slowest.containsKey(stats.getFingerprint())) {
+                return;
+            }
+            if (slowest.size() >= maxFingerprints) {
+                evict(slowest, StatementStats::getMaxNanos);
+                slowest.put(stats.getFingerprint(), stats);
+                slowestFloor.set(slowest.values()
+                                        .stream()
+                                        .mapToLong(StatementStats::getMaxNanos)
+                                        .min()
+                                        .orElse(0));
+            } else {
+                slowest.put(stats.getFingerprint(), stats);
+            }
+        }
+
+        /**
+         * @return statements evicted from the table, a quarter of it by the least value
+         */
+        private List<StatementStats> evict(final Map<String, StatementStats> table, final ToLongFunction<StatementStats> value) {
+            final List<StatementStats> result = ranked(table, value).stream()
+                                                                   .sorted(Map.Entry.comparingByValue())
+                                                                   .limit(Math.max(1, table.size() / EVICTION_DIVISOR))
+                                                                   .map(Map.Entry::getKey)
+                                                                   .collect(Collectors.toList());
+            result.forEach(evicted -> table.remove(evicted.getFingerprint()));
+            return result;
+        }
+    }
+}
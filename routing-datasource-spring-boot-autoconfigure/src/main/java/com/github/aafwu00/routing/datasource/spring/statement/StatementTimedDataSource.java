@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Record executions of statements on connections of the target to {@link StatementStatistics}.
+ *
+ * @author Taeho Kim
+ */
+public class StatementTimedDataSource extends DelegatingDataSource {
+    private final RoutingTarget target;
+    private final StatementStatistics statistics;
+
+    public StatementTimedDataSource(final DataSource targetDataSource,
+                                    final RoutingTarget target,
+                                    final StatementStatistics statistics) {
+        super(targetDataSource);
+        this.target = requireNonNull(target);
+        this.statistics = requireNonNull(statistics);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return StatementTimingHandler.wrap(obtainTargetDataSource().getConnection(), target, statistics);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return StatementTimingHandler.wrap(obtainTargetDataSource().getConnection(username, password), target, statistics);
+    }
+
+    public RoutingTarget getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Optional;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Report elapsed time of {@code execute*} of statements created by the connection with fingerprint of the SQL,
+ * including failed and timed out executions.
+ * Prepared statements are fingerprinted once when prepared, fingerprints are cached by {@link StatementStatistics},
+ * batches of plain statements are not reported as they have several SQLs.
+ *
+ * @author Taeho Kim
+ */
+final class StatementTimingHandler implements InvocationHandler {
+    private final Object target;
+    private final Optional<String> fingerprint;
+    private final RoutingTarget routingTarget;
+    private final StatementStatistics statistics;
+
+    private StatementTimingHandler(final Object target,
+                                   final Optional<String> fingerprint,
+                                   final RoutingTarget routingTarget,
+                                   final StatementStatistics statistics) {
+        this.target = requireNonNull(target);
+        this.fingerprint = requireNonNull(fingerprint);
+        this.routingTarget = requireNonNull(routingTarget);
+        this.statistics = requireNonNull(statistics);
+    }
+
+    static Connection wrap(final Connection connection, final RoutingTarget routingTarget, final StatementStatistics statistics) {
+        return Connection.class.cast(proxy(Connection.class,
+                                           new StatementTimingHandler(connection, Optional.empty(), routingTarget, statistics)));
+    }
+
+    private static Object proxy(final Class<?> type, final StatementTimingHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        try {
+            return intercept(method, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object intercept(final Method method, final Object[] args) throws IllegalAccessException, InvocationTargetException {
+        if (method.getName().startsWith("execute")) {
+            final Optional<String> executed = fingerprintOf(args);
+            final long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } finally {
+                final long nanos = System.nanoTime() - start;
+                executed.ifPresent(sql -> statistics.record(routingTarget, sql, nanos));
+            }
+        }
+        final Object result = method.invoke(target, args);
+        if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+            final Optional<String> prepared = sqlOf(args).map(statistics::fingerprintOf);
+            return proxy(method.getReturnType(), new StatementTimingHandler(result, prepared, routingTarget, statistics));
+        }
+        return result;
+    }
+
+    private Optional<String> fingerprintOf(final Object[] args) {
+        final Optional<String> sql = sqlOf(args);
+        if (sql.isPresent()) {
+            return Optional.of(statistics.fingerprintOf(sql.get()));
+        }
+        return fingerprint;
+    }
+
+    private Optional<String> sqlOf(final Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            return Optional.of(String.class.cast(args[0]));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * {@link RoutingContext} bound by {@link ScopedValue}, so it is neither stored in nor copied to thread locals of virtual threads.
+ * Thread local is used only by {@link RoutingContext#attach()}, which is preferred while it was attached in current scope.
+ * It is not consulted until {@link RoutingContext#attach()} is used once, as reading it creates thread local map of the thread.
+ *
+ * @author Taeho Kim
+ */
+final class RoutingContextHolder {
+    private static final ScopedValue<RoutingContext> SCOPED = ScopedValue.newInstance();
+    private static final ThreadLocal<Attached> ATTACHED = new NamedThreadLocal<>("Routing context");
+    private static final AtomicBoolean ATTACH_USED = new AtomicBoolean();
+
+    private RoutingContextHolder() {
+    }
+
+    /**
+     * @return null when no context is bound
+     */
+    static RoutingContext get() {
+        final RoutingContext scoped = scoped();
+        if (!ATTACH_USED.get()) {
+            return scoped;
+        }
+        final Attached attached = ATTACHED.get();
+        if (attached != null && attached.scope() == scoped) {
+            return attached.context();
+        }
+        return scoped;
+    }
+
+    static RoutingContext.Scope attach(final RoutingContext context) {
+        if (!ATTACH_USED.get()) {
+            ATTACH_USED.set(true);
+        }
+        final Attached previous = ATTACHED.get();
+        ATTACHED.set(new Attached(context, scoped()));
+        return () -> restore(previous);
+    }
+
+    static void run(final RoutingContext context, final Runnable task) {
+        ScopedValue.where(SCOPED, context).run(task);
+    }
+
+    static <V> V call(final RoutingContext context, final Callable<V> task) throws Exception {
+        return ScopedValue.where(SCOPED, context).call(task::call);
+    }
+
+    /**
+     * {@link ScopedValue#orElse(Object)} does not accept null
+     */
+    private static RoutingContext scoped() {
+        if (SCOPED.isBound()) {
+            return SCOPED.get();
+        }
+        return null;
+    }
+
+    private static void restore(final Attached previous) {
+        if (previous == null) {
+            ATTACHED.remove();
+        } else {
+            ATTACHED.set(previous);
+        }
+    }
+
+    /**
+     * Context attached while `scope` was bound(null when unbound), hidden by a nested scope
+     */
+    private record Attached(RoutingContext context, RoutingContext scope) {
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class AtomicSwitchingTest {
+    private final List<Boolean> switched = new ArrayList<>();
+    private AtomicSwitching switching;
+
+    @BeforeEach
+    void setUp() {
+        switching = new AtomicSwitching();
+        switching.addListener(on -> {
+            throw new IllegalStateException("ignored");
+        });
+        switching.addListener(switched::add);
+    }
+
+    @Test
+    void should_notify_only_when_changed() {
+        assertThat(switching.isOn()).isFalse();
+        assertThat(switching.switchTo(true)).isFalse();
+        assertThat(switching.switchTo(true)).isTrue();
+        assertThat(switching.isOn()).isTrue();
+        assertThat(switched).containsExactly(true);
+    }
+
+    @Test
+    void should_be_switched_by_event() {
+        switching.onApplicationEvent(new SwitchingEvent(this, true));
+        assertThat(switching.isOn()).isTrue();
+        assertThat(switched).containsExactly(true);
+    }
+
+    @Test
+    void should_be_ignored_partial_percentage() {
+        switching.switchTo(true);
+        switching.onApplicationEvent(new SwitchingEvent(this, 5));
+        assertThat(switching.isOn()).isTrue();
+        switching.onApplicationEvent(new SwitchingEvent(this, 0));
+        assertThat(switching.isOn()).isFalse();
+        assertThat(switched).containsExactly(true, false);
+    }
+}
@@ -16,10 +16,22 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.RoundRobinLoadBalancer;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -43,4 +55,45 @@ class DelegateRoutingDataSourceTest {
         doReturn(ReplicationType.Master).when(rule).determineCurrentLookupKey();
         assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
     }
+
+    @Test
+    void should_be_resolved_replica_when_target_is_load_balanced() throws SQLException {
+        final DataSource slave1 = mock(DataSource.class);
+        final DataSource slave2 = mock(DataSource.class);
+        final Connection connection1 = mock(Connection.class);
+        final Connection connection2 = mock(Connection.class);
+        doReturn(connection1).when(slave1).getConnection();
+        doReturn(connection2).when(slave2).getConnection();
+        final LoadBalancedDataSource slaves = new LoadBalancedDataSource(
+            Arrays.asList(new Replica("slave1", slave1), new Replica("slave2", slave2)), new RoundRobinLoadBalancer());
+        dataSource.setTargetDataSources(Collections.singletonMap(ReplicationType.Slave, slaves));
+        dataSource.afterPropertiesSet();
+        doReturn(ReplicationType.Slave).when(rule).determineCurrentLookupKey();
+        assertThat(dataSource.getConnection()).isEqualTo(connection1);
+        assertThat(dataSource.getConnection()).isEqualTo(connection2);
+    }
+
+    @Test
+    void should_be_counted_fallback_to_default_separately() throws SQLException {
+        final DataSource master = mock(DataSource.class);
+        final DataSource defaults = mock(DataSource.class);
+        dataSource.setTargetDataSources(Collections.singletonMap(ReplicationType.Master, master));
+        dataSource.setDefaultTargetDataSource(defaults);
+        dataSource.afterPropertiesSet();
+        doReturn(ReplicationType.Master).when(rule).determineCurrentLookupKey();
+        dataSource.getConnection();
+        dataSource.getConnection();
+        doReturn(ReplicationType.Slave).when(rule).determineCurrentLookupKey();
+        dataSource.getConnection();
+        doReturn(null).when(rule).determineCurrentLookupKey();
+        dataSource.getConnection();
+        final RoutingDecisions decisions = dataSource.getDecisions();
+        assertAll(
+            () -> assertThat(decisions.getKeys()).containsExactly(ReplicationType.Master),
+            () -> assertThat(decisions.getCount(ReplicationType.Master)).isEqualTo(2),
+            () -> assertThat(decisions.getCount(ReplicationType.Slave)).isZero(),
+            () -> assertThat(decisions.getUnknownKeys()).isEqualTo(1),
+            () -> assertThat(decisions.getNullKeys()).isEqualTo(1)
+        );
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class EnumRoutingDataSourceTest {
+    private EnumRoutingDataSource<ReplicationType> dataSource;
+    private ReplicationRoutingRule rule;
+    private DataSource master;
+    private DataSource slave;
+
+    @BeforeEach
+    void setUp() {
+        rule = mock(ReplicationRoutingRule.class);
+        master = mock(DataSource.class);
+        slave = mock(DataSource.class);
+        dataSource = new EnumRoutingDataSource<>(rule, ReplicationType.class);
+    }
+
+    @Test
+    void should_be_determined_target_by_ordinal() {
+        final Map<Object, Object> targets = new EnumMap<>(ReplicationType.class);
+        targets.put(ReplicationType.Master, master);
+        targets.put(ReplicationType.Slave, slave);
+        dataSource.setTargetDataSources(targets);
+        dataSource.afterPropertiesSet();
+        doReturn(ReplicationType.Slave).when(rule).determineCurrentLookupKey();
+        assertThat(dataSource.determineTargetDataSource()).isSameAs(slave);
+        doReturn(ReplicationType.Master).when(rule).determineCurrentLookupKey();
+        assertThat(dataSource.determineTargetDataSource()).isSameAs(master);
+        assertThat(dataSource.getDecisions().getCount(ReplicationType.Slave)).isEqualTo(1);
+        assertThat(dataSource.getDecisions().getCount(ReplicationType.Master)).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_determined_default_when_target_not_exists() {
+        dataSource.setTargetDataSources(Collections.singletonMap(ReplicationType.Master, master));
+        dataSource.setDefaultTargetDataSource(slave);
+        dataSource.afterPropertiesSet();
+        doReturn(ReplicationType.Slave).when(rule).determineCurrentLookupKey();
+        assertThat(dataSource.determineTargetDataSource()).isSameAs(slave);
+        doReturn(null).when(rule).determineCurrentLookupKey();
+        assertThat(dataSource.determineTargetDataSource()).isSameAs(slave);
+        assertThat(dataSource.getDecisions().getUnknownKeys()).isEqualTo(1);
+        assertThat(dataSource.getDecisions().getNullKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_target_not_exists_and_not_lenient() {
+        dataSource.setTargetDataSources(Collections.singletonMap(ReplicationType.Master, master));
+        dataSource.setDefaultTargetDataSource(master);
+        dataSource.setLenientFallback(false);
+        dataSource.afterPropertiesSet();
+        doReturn(ReplicationType.Slave).when(rule).determineCurrentLookupKey();
+        assertThatThrownBy(dataSource::determineTargetDataSource).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * @author Taeho Kim
+ */
+class PercentageSwitchingTest {
+    private static final int USERS = 10_000;
+    private String sessionKey;
+    private PercentageSwitching switching;
+
+    @BeforeEach
+    void setUp() {
+        switching = new PercentageSwitching(() -> Optional.ofNullable(sessionKey), 0);
+    }
+
+    @Test
+    void should_split_by_percentage() {
+        assertThat(onRatio()).isZero();
+        switching.setPercentage(30);
+        assertThat(onRatio()).isCloseTo(0.3, within(0.02));
+        switching.setPercentage(PercentageSwitching.FULL);
+        assertThat(onRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void should_keep_sessions_on_while_ramping_up() {
+        switching.setPercentage(10);
+        final Set<Integer> on = IntStream.range(0, USERS)
+                                         .filter(this::isOn)
+                                         .boxed()
+                                         .collect(Collectors.toSet());
+        switching.setPercentage(20);
+        assertThat(on).allMatch(this::isOn);
+    }
+
+    @Test
+    void should_be_off_without_session() {
+        switching.setPercentage(99.99);
+        sessionKey = null;
+        assertThat(switching.isOn()).isFalse();
+    }
+
+    @Test
+    void should_be_switched_by_event() {
+        switching.onApplicationEvent(new SwitchingEvent(this, 12.5));
+        assertThat(switching.getPercentage()).isEqualTo(12.5);
+        switching.onApplicationEvent(new SwitchingEvent(this, true));
+        assertThat(switching.isOn()).isTrue();
+    }
+
+    @Test
+    void should_notify_listeners_when_changed() {
+        final List<Object> notified = new ArrayList<>();
+        switching.addListener(on -> {
+            throw new IllegalStateException("ignored");
+        });
+        switching.addListener(new SwitchingListener() {
+            @Override
+            public void onSwitched(final boolean on) {
+                notified.add(on);
+            }
+
+            @Override
+            public void onPercentageChanged(final double percentage) {
+                notified.add(percentage);
+            }
+        });
+        switching.setPercentage(50);
+        switching.setPercentage(50);
+        switching.setPercentage(PercentageSwitching.FULL);
+        switching.setPercentage(0);
+        assertThat(notified).containsExactly(50.0, 100.0, true, 0.0, false);
+    }
+
+    @Test
+    void should_not_be_out_of_range() {
+        assertThatThrownBy(() -> switching.setPercentage(101)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> switching.setPercentage(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double onRatio() {
+        return IntStream.range(0, USERS)
+                        .filter(this::isOn)
+                        .count() / (double) USERS;
+    }
+
+    private boolean isOn(final int user) {
+        sessionKey = "user-" + user;
+        return switching.isOn();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class QueryTimeoutsTest {
+    @Test
+    void should_be_rounded_up_to_seconds() {
+        assertAll(
+            () -> assertThat(QueryTimeouts.secondsOf(Duration.ZERO)).isZero(),
+            () -> assertThat(QueryTimeouts.secondsOf(Duration.ofMillis(1))).isEqualTo(1),
+            () -> assertThat(QueryTimeouts.secondsOf(Duration.ofSeconds(1))).isEqualTo(1),
+            () -> assertThat(QueryTimeouts.secondsOf(Duration.ofMillis(1900))).isEqualTo(2)
+        );
+    }
+}
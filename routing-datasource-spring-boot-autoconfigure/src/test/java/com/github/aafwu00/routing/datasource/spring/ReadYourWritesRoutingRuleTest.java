@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class ReadYourWritesRoutingRuleTest {
+    private AtomicLong clock;
+    private AtomicReference<Optional<Duration>> lag;
+    private ReadYourWritesRoutingRule rule;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        lag = new AtomicReference<>(Optional.empty());
+        rule = new ReadYourWritesRoutingRule(() -> Optional.of("user"), Duration.ofSeconds(1), lag::get, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void should_be_routed_to_master_within_window_after_commit() {
+        commitWrite();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertAll(
+            () -> assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master),
+            () -> {
+                clock.addAndGet(Duration.ofSeconds(2).toNanos());
+                assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave);
+            }
+        );
+    }
+
+    @Test
+    void should_be_routed_to_slave_when_replicas_caught_up() {
+        commitWrite();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lag.set(Optional.of(Duration.ofMillis(100)));
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+        assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave);
+    }
+
+    @Test
+    void should_be_evicted_oldest_session_over_max_sessions() {
+        final AtomicReference<String> session = new AtomicReference<>("first");
+        final ReadYourWritesRoutingRule bounded = new ReadYourWritesRoutingRule(() -> Optional.of(session.get()),
+                                                                                Duration.ofSeconds(1),
+                                                                                2,
+                                                                                Optional::empty,
+                                                                                clock::get);
+        bounded.recordWrite("first");
+        bounded.recordWrite("second");
+        bounded.recordWrite("first");
+        bounded.recordWrite("third");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertAll(
+            () -> assertThat(bounded.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master),
+            () -> {
+                session.set("second");
+                assertThat(bounded.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave);
+            },
+            () -> {
+                session.set("third");
+                assertThat(bounded.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
+            }
+        );
+    }
+
+    @Test
+    void should_be_routed_to_slave_when_not_written() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave);
+    }
+
+    private void commitWrite() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
+        assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clear();
+    }
+}
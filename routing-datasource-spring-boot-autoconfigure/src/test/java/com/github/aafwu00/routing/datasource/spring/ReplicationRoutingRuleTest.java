@@ -16,11 +16,16 @@
 
 package com.github.aafwu00.routing.datasource.spring;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.aafwu00.routing.datasource.spring.concurrent.RoutingContextTaskDecorator;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
@@ -54,4 +59,68 @@ class ReplicationRoutingRuleTest {
             }
         );
     }
+
+    @Test
+    void decision_in_read_only_route() {
+        ReadOnlyRouteContext.addMonitor();
+        try {
+            RoutingContext.run(ReadOnlyRouteContext.of(Duration.ofMillis(500)), () -> assertAll(
+                () -> assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave),
+                () -> {
+                    TransactionSynchronizationManager.setActualTransactionActive(true);
+                    assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
+                }
+            ));
+        } finally {
+            ReadOnlyRouteContext.removeMonitor();
+        }
+    }
+
+    @Test
+    void should_be_master_in_read_only_route_when_lag_is_not_monitored() {
+        RoutingContext.run(ReadOnlyRouteContext.of(Duration.ofMillis(500)), () -> assertAll(
+            () -> assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master),
+            () -> {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master);
+            }
+        ));
+    }
+
+    @Test
+    void should_be_routed_key_in_read_only_route() {
+        ReadOnlyRouteContext.addMonitor();
+        try {
+            RoutingContext.run(ReadOnlyRouteContext.of(Duration.ofMillis(500)), () -> RoutingContext.run(ReplicationType.Master,
+                () -> assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master)));
+        } finally {
+            ReadOnlyRouteContext.removeMonitor();
+        }
+    }
+
+    @Test
+    void decision_in_routing_context() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RoutingContext.run(ReplicationType.Master,
+            () -> assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Master));
+        assertThat(rule.determineCurrentLookupKey()).isEqualTo(ReplicationType.Slave);
+    }
+
+    @Test
+    void should_be_master_for_write_in_task_propagated_from_read_only_transaction() {
+        final AtomicReference<ReplicationType> read = new AtomicReference<>();
+        final AtomicReference<ReplicationType> write = new AtomicReference<>();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        final Runnable task = new RoutingContextTaskDecorator().decorate(() -> {
+            read.set(rule.determineCurrentLookupKey());
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            write.set(rule.determineCurrentLookupKey());
+        });
+        TransactionSynchronizationManager.clear();
+        task.run();
+        assertAll(
+            () -> assertThat(read.get()).isEqualTo(ReplicationType.Slave),
+            () -> assertThat(write.get()).isEqualTo(ReplicationType.Master)
+        );
+    }
 }
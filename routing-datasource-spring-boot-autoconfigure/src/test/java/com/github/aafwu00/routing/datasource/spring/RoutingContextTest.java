@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class RoutingContextTest {
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void should_be_empty_outside_of_scope() {
+        assertThat(RoutingContext.peek()).isEmpty();
+        assertThat(RoutingContext.capture().isEmpty()).isTrue();
+    }
+
+    @Test
+    void should_stack_keys() {
+        try (RoutingContext.Scope outer = RoutingContext.push(ReplicationType.Slave)) {
+            try (RoutingContext.Scope inner = RoutingContext.push("mapped")) {
+                assertThat(RoutingContext.peek()).contains("mapped");
+                assertThat(RoutingContext.peek(ReplicationType.class)).contains(ReplicationType.Slave);
+                assertThat(RoutingContext.peek(SwitchableMode.class)).isEmpty();
+            }
+            assertThat(RoutingContext.peek()).contains(ReplicationType.Slave);
+        }
+        assertThat(RoutingContext.peek()).isEmpty();
+    }
+
+    @Test
+    void should_restore_captured_context() throws Exception {
+        final Callable<Optional<Object>> peek = RoutingContext::peek;
+        final Callable<Optional<Object>> task = RoutingContext.call("mapped", () -> RoutingContext.capture().wrap(peek));
+        assertThat(RoutingContext.peek()).isEmpty();
+        assertThat(task.call()).contains("mapped");
+        assertThat(RoutingContext.peek()).isEmpty();
+    }
+
+    @Test
+    void should_capture_read_only_transaction_as_slave() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        final RoutingContext context = RoutingContext.capture();
+        TransactionSynchronizationManager.clear();
+        context.wrap(() -> {
+            assertThat(RoutingContext.peek(ReplicationType.class)).contains(ReplicationType.Slave);
+        }).run();
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.multi;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -84,6 +87,33 @@ class MultiDataSourceNameTest {
                 assertThat(property.hasReplication()).isFalse();
                 property.setSlave("test");
                 assertThat(property.hasReplication()).isTrue();
+                property.setSlave(null);
+                property.setSlaves(Arrays.asList("test1", "test2"));
+                assertThat(property.hasReplication()).isTrue();
+            }
+        );
+    }
+
+    @Test
+    void testWeightOf() {
+        assertAll(
+            () -> assertThat(property.weightOf("test")).isEqualTo(1),
+            () -> {
+                property.setWeights(Collections.singletonMap("test", 3));
+                assertThat(property.weightOf("test")).isEqualTo(3);
+                assertThat(property.weightOf("other")).isEqualTo(1);
+            }
+        );
+    }
+
+    @Test
+    void testZoneOf() {
+        assertAll(
+            () -> assertThat(property.zoneOf("test")).isEmpty(),
+            () -> {
+                property.setZones(Collections.singletonMap("test", "ap-northeast-2a"));
+                assertThat(property.zoneOf("test")).contains("ap-northeast-2a");
+                assertThat(property.zoneOf("other")).isEmpty();
             }
         );
     }
@@ -33,6 +33,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAutoConfiguration;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
 import com.zaxxer.hikari.HikariDataSource;
 
 import static com.github.aafwu00.routing.datasource.spring.ReplicationType.Master;
@@ -127,6 +128,25 @@ class MultiRoutingDataSourceConfigurationTest {
                      ));
     }
 
+    @Test
+    void should_be_grouped_single_slave_when_lag_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.lag.enabled=true",
+                                         "datasource.routing.lag.query=SELECT 0",
+                                         "datasource.routing.multi.first.master=master1",
+                                         "datasource.routing.multi.first.slave=slave1",
+                                         "datasource.routing.targets.master1.url=jdbc:h2:mem:MASTER1;DB_CLOSE_DELAY=-1",
+                                         "datasource.routing.targets.master1.initializationMode=never",
+                                         "datasource.routing.targets.master1.username=sa",
+                                         "datasource.routing.targets.slave1.url=jdbc:h2:mem:SLAVE1;DB_CLOSE_DELAY=-1",
+                                         "datasource.routing.targets.slave1.initializationMode=never",
+                                         "datasource.routing.targets.slave1.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasNotFailed(),
+                         () -> assertThat(targetDataSource(context, "first", Slave, LoadBalancedDataSource.class).getReplicas()).hasSize(1)
+                     ));
+    }
+
     private org.apache.tomcat.jdbc.pool.DataSource master(final AssertableApplicationContext context) {
         return targetDataSource(context, "first", Master, org.apache.tomcat.jdbc.pool.DataSource.class);
     }
@@ -17,20 +17,51 @@
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.replication;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tomcat.jdbc.pool.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.github.aafwu00.routing.datasource.spring.ConnectionHoldTracker;
 import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.EnumRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.HoldTrackedDataSource;
+import com.github.aafwu00.routing.datasource.spring.ReadYourWritesRoutingRule;
 import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.RoutingRule;
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+import com.github.aafwu00.routing.datasource.spring.SessionKeyResolver;
+import com.github.aafwu00.routing.datasource.spring.TimedDataSource;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAutoConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.CircuitBreakerMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ConnectionAcquisitionMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ConnectionHoldMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ReplicationLagMetrics;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.StatementStatisticsEndpoint;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.StatementStatisticsMetrics;
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreakerDataSource;
+import com.github.aafwu00.routing.datasource.spring.breaker.CircuitBreakerRegistry;
+import com.github.aafwu00.routing.datasource.spring.concurrent.RoutingContextTaskDecorator;
+import com.github.aafwu00.routing.datasource.spring.health.HealthCheckedDataSource;
+import com.github.aafwu00.routing.datasource.spring.health.HealthChecker;
+import com.github.aafwu00.routing.datasource.spring.hedge.HedgedQueryExecutor;
+import com.github.aafwu00.routing.datasource.spring.lag.ReplicationLagMonitor;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.WeightedLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ZoneAwareLoadBalancer;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementStatistics;
+import com.github.aafwu00.routing.datasource.spring.statement.StatementTimedDataSource;
 import com.zaxxer.hikari.HikariDataSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +71,18 @@ import static org.junit.jupiter.api.Assertions.assertAll;
  * @author Taeho Kim
  */
 class ReplicationDataSourceConfigurationTest {
+    private static final String READ_YOUR_WRITES_ENABLED = "datasource.routing.read-your-writes.enabled=true";
+    private static final String[] PROPERTIES = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+        "datasource.routing.master.driver-class-name=org.h2.Driver",
+        "datasource.routing.master.initializationMode=never",
+        "datasource.routing.master.username=sa",
+        "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+        "datasource.routing.slave.driver-class-name=org.h2.Driver",
+        "datasource.routing.slave.initializationMode=never",
+        "datasource.routing.slave.username=sa"
+    };
     private ApplicationContextRunner contextRunner;
 
     @BeforeEach
@@ -69,15 +112,298 @@ class ReplicationDataSourceConfigurationTest {
                                          "datasource.routing.slave.hikari.maximum-pool-size=8")
                      .run(context -> assertAll(
                          () -> assertThat(context).hasSingleBean(LazyConnectionDataSourceProxy.class),
-                         () -> assertThat(dataSource(context).getTargetDataSource()).isInstanceOf(DelegateRoutingDataSource.class),
+                         () -> assertThat(dataSource(context).getTargetDataSource()).isInstanceOf(EnumRoutingDataSource.class),
                          () -> assertThat(master(context).getMaxActive()).isEqualTo(10),
                          () -> assertThat(master(context).isTestOnBorrow()).isTrue(),
                          () -> assertThat(master(context).getValidationQuery()).isEqualTo("SELECT 1"),
                          () -> assertThat(slave(context).getMaximumPoolSize()).isEqualTo(8),
-                         () -> assertThat(context).hasSingleBean(RoutingDataSourceMetrics.class)
+                         () -> assertThat(context).hasSingleBean(RoutingDataSourceMetrics.class),
+                         () -> assertThat(context).doesNotHaveBean(RoutingContextTaskDecorator.class)
                      ));
     }
 
+    @Test
+    void should_be_loaded_RoutingContextTaskDecorator_when_context_propagation_enabled() {
+        contextRunner.withPropertyValues(PROPERTIES)
+                     .withPropertyValues("datasource.routing.context-propagation=true")
+                     .run(context -> assertThat(context).hasSingleBean(RoutingContextTaskDecorator.class));
+    }
+
+    @Test
+    void should_be_loaded_LoadBalancedDataSource_when_slaves_exists() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.load-balancer.type=Weighted",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slaves[0].url=jdbc:h2:mem:SLAVE1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[0].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[0].initializationMode=never",
+                                         "datasource.routing.slaves[0].username=sa",
+                                         "datasource.routing.slaves[0].weight=3",
+                                         "datasource.routing.slaves[1].url=jdbc:h2:mem:SLAVE2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[1].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[1].initializationMode=never",
+                                         "datasource.routing.slaves[1].username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(LazyConnectionDataSourceProxy.class),
+                         () -> assertThat(context).hasSingleBean(WeightedLoadBalancer.class),
+                         () -> assertThat(slaves(context).getReplicas()).hasSize(2),
+                         () -> assertThat(slaves(context).getReplicas().get(0).getWeight()).isEqualTo(3),
+                         () -> assertThat(slaves(context).getReplicas().get(1).getWeight()).isEqualTo(1),
+                         () -> assertThat(slaves(context).getFallback().get())
+                             .isSameAs(resolvedDataSources(context).get(ReplicationType.Master))
+                     ));
+    }
+
+    @Test
+    void should_be_preferred_slaves_in_same_zone_when_zone_exists() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.load-balancer.zone=zone-a",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slaves[0].url=jdbc:h2:mem:SLAVE1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[0].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[0].initializationMode=never",
+                                         "datasource.routing.slaves[0].username=sa",
+                                         "datasource.routing.slaves[0].zone=zone-b",
+                                         "datasource.routing.slaves[1].url=jdbc:h2:mem:SLAVE2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[1].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[1].initializationMode=never",
+                                         "datasource.routing.slaves[1].username=sa",
+                                         "datasource.routing.slaves[1].zone=zone-a")
+                     .run(context -> assertAll(
+                         () -> assertThat(context.getBean(LoadBalancer.class)).isInstanceOf(ZoneAwareLoadBalancer.class),
+                         () -> assertThat(slaves(context).getReplicas().get(0).getZone()).contains("zone-b"),
+                         () -> assertThat(slaves(context).choose().get().getName()).isEqualTo("slaves[1]")
+                     ));
+    }
+
+    @Test
+    void should_be_loaded_ReplicationLagMonitor_when_lag_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.lag.enabled=true",
+                                         "datasource.routing.lag.query=SELECT 0",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slaves[0].url=jdbc:h2:mem:SLAVE1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[0].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[0].initializationMode=never",
+                                         "datasource.routing.slaves[0].username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(ReplicationLagMonitor.class),
+                         () -> assertThat(context.getBean(ReplicationLagMonitor.class).getReplicas()).hasSize(1),
+                         () -> assertThat(context).hasSingleBean(ReplicationLagMetrics.class)
+                     ));
+    }
+
+    @Test
+    void should_be_probed_single_slave_when_lag_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.lag.enabled=true",
+                                         "datasource.routing.lag.query=SELECT 0",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context.getBean(ReplicationLagMonitor.class).getReplicas()).hasSize(1),
+                         () -> assertThat(slaves(context).getFallback()).isPresent()
+                     ));
+    }
+
+    @Test
+    void should_be_guarded_by_CircuitBreaker_when_circuit_breaker_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.circuit-breaker.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(CircuitBreakerRegistry.class),
+                         () -> assertThat(context).hasSingleBean(CircuitBreakerMetrics.class),
+                         () -> assertThat(targetDataSource(context, ReplicationType.Slave, CircuitBreakerDataSource.class)
+                                              .getCircuitBreaker()
+                                              .getName()).isEqualTo("Slave"),
+                         () -> assertThat(context.getBean(CircuitBreakerRegistry.class).getCircuitBreakers()).hasSize(2)
+                     ));
+    }
+
+    @Test
+    void should_be_timed_connection_acquisition_when_connection_acquisition_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.metrics.connection-acquisition.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(ConnectionAcquisitionMetrics.class),
+                         () -> assertThat(targetDataSource(context, ReplicationType.Slave, TimedDataSource.class).getTarget())
+                             .isEqualTo(new RoutingTarget("Replication", "dataSource", "Slave"))
+                     ));
+    }
+
+    @Test
+    void should_be_failed_when_leak_threshold_is_not_positive() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.metrics.connection-hold.enabled=true",
+                                         "datasource.routing.metrics.connection-hold.leak-threshold=0",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertThat(context).hasFailed()
+                                                        .getFailure()
+                                                        .hasRootCauseInstanceOf(BindValidationException.class)
+                                                        .hasStackTraceContaining("leakThreshold must be positive"));
+    }
+
+    @Test
+    void should_be_tracked_connection_hold_when_connection_hold_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.metrics.connection-hold.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(ConnectionHoldTracker.class)
+                                                  .hasSingleBean(ConnectionHoldMetrics.class),
+                         () -> assertThat(targetDataSource(context, ReplicationType.Master, HoldTrackedDataSource.class).getTarget())
+                             .isEqualTo(new RoutingTarget("Replication", "dataSource", "Master"))
+                     ));
+    }
+
+    @Test
+    void should_be_recorded_statements_when_statements_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.metrics.statements.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(StatementStatistics.class)
+                                                  .hasSingleBean(StatementStatisticsMetrics.class)
+                                                  .hasSingleBean(StatementStatisticsEndpoint.class),
+                         () -> assertThat(targetDataSource(context, ReplicationType.Slave, StatementTimedDataSource.class).getTarget())
+                             .isEqualTo(new RoutingTarget("Replication", "dataSource", "Slave"))
+                     ));
+    }
+
+    @Test
+    void should_be_checked_health_in_background_when_health_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.health.enabled=true",
+                                         "datasource.routing.master.type=org.apache.tomcat.jdbc.pool.DataSource",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(HealthChecker.class),
+                         () -> assertThat(targetDataSource(context, ReplicationType.Slave, HealthCheckedDataSource.class).isUp()).isTrue(),
+                         () -> assertThat(context.getBean(HealthChecker.class).getStatus()).containsOnlyKeys("Master", "Slave"),
+                         () -> assertThat(healthCheckedMaster(context).isTestOnBorrow()).isFalse(),
+                         () -> assertThat(healthCheckedMaster(context).isTestWhileIdle()).isTrue(),
+                         () -> assertThat(healthCheckedMaster(context).getValidationInterval()).isEqualTo(5000)
+                     ));
+    }
+
+    @Test
+    void should_be_loaded_HedgedQueryExecutor_when_hedge_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.hedge.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slaves[0].url=jdbc:h2:mem:SLAVE1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slaves[0].driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slaves[0].initializationMode=never",
+                                         "datasource.routing.slaves[0].username=sa")
+                     .run(context -> assertThat(context).hasSingleBean(HedgedQueryExecutor.class));
+    }
+
+    @Test
+    void should_be_failed_HedgedQueryExecutor_when_slaves_not_exists() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.hedge.enabled=true",
+                                         "datasource.routing.master.url=jdbc:h2:mem:MASTER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.master.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.master.initializationMode=never",
+                                         "datasource.routing.master.username=sa",
+                                         "datasource.routing.slave.url=jdbc:h2:mem:SLAVES;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.slave.driver-class-name=org.h2.Driver",
+                                         "datasource.routing.slave.initializationMode=never",
+                                         "datasource.routing.slave.username=sa")
+                     .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void should_be_loaded_ReadYourWritesRoutingRule_when_read_your_writes_enabled() {
+        contextRunner.withUserConfiguration(SessionKeyResolverConfiguration.class)
+                     .withPropertyValues(PROPERTIES)
+                     .withPropertyValues(READ_YOUR_WRITES_ENABLED)
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(RoutingRule.class),
+                         () -> assertThat(context).hasSingleBean(ReadYourWritesRoutingRule.class),
+                         () -> assertThat(context).hasSingleBean(SessionKeyResolver.class)
+                     ));
+    }
+
+    @Test
+    void should_be_failed_when_read_your_writes_enabled_without_SessionKeyResolver() {
+        contextRunner.withPropertyValues(PROPERTIES)
+                     .withPropertyValues(READ_YOUR_WRITES_ENABLED)
+                     .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void should_be_not_loaded_ReadYourWritesRoutingRule_when_RoutingRule_exists() {
+        contextRunner.withUserConfiguration(SessionKeyResolverConfiguration.class, RoutingRuleConfiguration.class)
+                     .withPropertyValues(PROPERTIES)
+                     .withPropertyValues(READ_YOUR_WRITES_ENABLED)
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(RoutingRule.class),
+                         () -> assertThat(context).doesNotHaveBean(ReadYourWritesRoutingRule.class)
+                     ));
+    }
+
+    private DataSource healthCheckedMaster(final AssertableApplicationContext context) {
+        return DataSource.class.cast(targetDataSource(context, ReplicationType.Master, HealthCheckedDataSource.class)
+                                         .getTargetDataSource());
+    }
+
+    private LoadBalancedDataSource slaves(final AssertableApplicationContext context) {
+        return targetDataSource(context, ReplicationType.Slave, LoadBalancedDataSource.class);
+    }
+
     private LazyConnectionDataSourceProxy dataSource(final AssertableApplicationContext context) {
         return context.getBean(LazyConnectionDataSourceProxy.class);
     }
@@ -121,4 +447,20 @@ class ReplicationDataSourceConfigurationTest {
                                          "datasource.routing.slave.username=sa")
                      .run(context -> assertThat(context).doesNotHaveBean(LazyConnectionDataSourceProxy.class));
     }
+
+    @Configuration
+    static class SessionKeyResolverConfiguration {
+        @Bean
+        public SessionKeyResolver sessionKeyResolver() {
+            return () -> Optional.of("user");
+        }
+    }
+
+    @Configuration
+    static class RoutingRuleConfiguration {
+        @Bean
+        public RoutingRule<ReplicationType> routingRule() {
+            return () -> ReplicationType.Master;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+import com.github.aafwu00.routing.datasource.spring.TimedDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class ConnectionAcquisitionMetricsTest {
+    @Test
+    void metrics() throws SQLException {
+        final ConnectionAcquisitionMetrics metrics = new ConnectionAcquisitionMetrics(true);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        final DataSource master = mock(DataSource.class);
+        final DataSource slave = mock(DataSource.class);
+        doReturn(mock(Connection.class)).when(master).getConnection();
+        doThrow(new SQLException("timeout")).when(slave).getConnection();
+        new TimedDataSource(master, new RoutingTarget("Replication", "dataSource", "Master"), metrics).getConnection();
+        final DataSource timedSlave = new TimedDataSource(slave, new RoutingTarget("Replication", "dataSource", "Slave"), metrics);
+        assertThatThrownBy(timedSlave::getConnection).isInstanceOf(SQLException.class);
+        assertAll(
+            () -> assertThat(registry.get("datasource.connection.acquire")
+                                     .tags("routing", "Replication", "name", "dataSource", "key", "Master", "outcome", "success")
+                                     .timer()
+                                     .count()).isEqualTo(1),
+            () -> assertThat(registry.get("datasource.connection.acquire")
+                                     .tags("key", "Slave", "outcome", "failure")
+                                     .timer()
+                                     .count()).isEqualTo(1)
+        );
+    }
+}
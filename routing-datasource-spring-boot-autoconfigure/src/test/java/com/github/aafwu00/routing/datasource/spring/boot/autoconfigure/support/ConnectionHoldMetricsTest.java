@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.ConnectionHoldTracker;
+import com.github.aafwu00.routing.datasource.spring.HoldTrackedDataSource;
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class ConnectionHoldMetricsTest {
+    @Test
+    void metrics() throws SQLException {
+        final ConnectionHoldTracker tracker = new ConnectionHoldTracker(Duration.ZERO, 1);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ConnectionHoldMetrics(tracker, true).bindTo(registry);
+        final DataSource master = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        doReturn(connection).when(master).getConnection();
+        final DataSource dataSource = new HoldTrackedDataSource(master, new RoutingTarget("Replication", "dataSource", "Master"), tracker);
+        final Connection held = dataSource.getConnection();
+        assertThat(registry.get("datasource.connection.held").gauge().value()).isEqualTo(1);
+        tracker.detect();
+        tracker.detect();
+        held.close();
+        held.close();
+        verify(connection, times(2)).close();
+        assertAll(
+            () -> assertThat(registry.get("datasource.connection.hold")
+                                     .tags("routing", "Replication", "name", "dataSource", "key", "Master")
+                                     .timer()
+                                     .count()).isEqualTo(1),
+            () -> assertThat(registry.get("datasource.connection.leaks")
+                                     .tags("key", "Master")
+                                     .counter()
+                                     .count()).isEqualTo(1),
+            () -> assertThat(registry.get("datasource.connection.held").gauge().value()).isEqualTo(0)
+        );
+    }
+
+    @Test
+    void sharedByBoundRegistries() throws SQLException {
+        final ConnectionHoldTracker tracker = new ConnectionHoldTracker(Duration.ZERO, 1);
+        final ConnectionHoldMetrics metrics = new ConnectionHoldMetrics(tracker, false);
+        final SimpleMeterRegistry first = new SimpleMeterRegistry();
+        final SimpleMeterRegistry second = new SimpleMeterRegistry();
+        metrics.bindTo(first);
+        metrics.bindTo(second);
+        final DataSource slave = mock(DataSource.class);
+        doReturn(mock(Connection.class)).when(slave).getConnection();
+        final DataSource dataSource = new HoldTrackedDataSource(slave, new RoutingTarget("Replication", "dataSource", "Slave"), tracker);
+        dataSource.getConnection().close();
+        dataSource.getConnection().close();
+        assertAll(
+            () -> assertThat(first.get("datasource.connection.hold").tags("key", "Slave").timer().count()).isEqualTo(2),
+            () -> assertThat(second.get("datasource.connection.hold").tags("key", "Slave").timer().count()).isEqualTo(2)
+        );
+    }
+}
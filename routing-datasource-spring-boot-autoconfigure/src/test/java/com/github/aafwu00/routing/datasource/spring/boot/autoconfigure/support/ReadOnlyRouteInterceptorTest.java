@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRoute;
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRouteContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class ReadOnlyRouteInterceptorTest {
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        final ProxyFactory factory = new ProxyFactory(new Catalog());
+        factory.addAdvisor(ReadOnlyRouteConfiguration.readOnlyRouteAdvisor());
+        factory.setProxyTargetClass(true);
+        catalog = Catalog.class.cast(factory.getProxy());
+    }
+
+    @Test
+    void should_be_resolved_max_staleness_per_target_class() {
+        final ReadOnlyRouteInterceptor interceptor = new ReadOnlyRouteInterceptor();
+        assertAll(
+            () -> assertThat(proxy(new Orders(), interceptor).find()).contains(Duration.ofMillis(100)),
+            () -> assertThat(proxy(new Reviews(), interceptor).find()).contains(Duration.ofSeconds(2))
+        );
+    }
+
+    private Repository proxy(final Repository target, final ReadOnlyRouteInterceptor interceptor) {
+        final ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice(interceptor);
+        factory.setProxyTargetClass(true);
+        return Repository.class.cast(factory.getProxy());
+    }
+
+    @Test
+    void should_be_bound_max_staleness_during_invocation() {
+        assertAll(
+            () -> assertThat(catalog.listing()).contains(Duration.ofMillis(500)),
+            () -> assertThat(catalog.detail()).isEmpty(),
+            () -> assertThat(ReadOnlyRouteContext.getMaxStaleness()).isEmpty()
+        );
+    }
+
+    static class Catalog {
+        @ReadOnlyRoute(maxStaleness = "500ms")
+        public Optional<Duration> listing() {
+            return ReadOnlyRouteContext.getMaxStaleness();
+        }
+
+        public Optional<Duration> detail() {
+            return ReadOnlyRouteContext.getMaxStaleness();
+        }
+    }
+
+    static class Repository {
+        public Optional<Duration> find() {
+            return ReadOnlyRouteContext.getMaxStaleness();
+        }
+    }
+
+    @ReadOnlyRoute(maxStaleness = "100ms")
+    static class Orders extends Repository {
+    }
+
+    @ReadOnlyRoute(maxStaleness = "2s")
+    static class Reviews extends Repository {
+    }
+}
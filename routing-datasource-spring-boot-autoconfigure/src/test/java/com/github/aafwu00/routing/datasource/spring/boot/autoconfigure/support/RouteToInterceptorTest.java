@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.RouteTo;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class RouteToInterceptorTest {
+    private Advisor advisor;
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        advisor = RouteToConfiguration.routeToAdvisor();
+        catalog = proxy(new Catalog());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private <T> T proxy(final T target) {
+        final ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(advisor);
+        factory.setProxyTargetClass(true);
+        return (T) factory.getProxy();
+    }
+
+    @Test
+    void should_be_pushed_keys_during_invocation() {
+        assertAll(
+            () -> assertThat(catalog.listing()).contains(ReplicationType.Slave),
+            () -> assertThat(catalog.listingOf()).contains("catalog"),
+            () -> assertThat(catalog.detail()).isEmpty(),
+            () -> assertThat(RoutingContext.peek()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_be_pushed_every_key_until_invocation_is_returned() {
+        assertAll(
+            () -> assertThat(catalog.keys()).containsExactly("catalog", ReplicationType.Slave, SwitchableMode.On),
+            () -> assertThat(RoutingContext.peek()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_be_thrown_exception_of_invocation_as_is() {
+        assertAll(
+            () -> assertThatThrownBy(catalog::failure).isInstanceOf(IOException.class),
+            () -> assertThat(RoutingContext.peek()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_be_resolved_keys_per_target_class() {
+        final Catalog books = proxy(new Books());
+        final Catalog movies = proxy(new Movies());
+        assertAll(
+            () -> assertThat(books.detail()).contains("books"),
+            () -> assertThat(movies.detail()).contains("movies"),
+            () -> assertThat(catalog.detail()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_not_be_pushed_slave_in_read_write_transaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertAll(
+            () -> assertThat(catalog.listing()).isEmpty(),
+            () -> assertThat(catalog.keys()).containsExactly("catalog", SwitchableMode.On)
+        );
+    }
+
+    static class Catalog {
+        @RouteTo(replication = ReplicationType.Slave)
+        public Optional<ReplicationType> listing() {
+            return RoutingContext.peek(ReplicationType.class);
+        }
+
+        @RouteTo(value = "catalog", replication = ReplicationType.Slave)
+        public Optional<String> listingOf() {
+            return RoutingContext.peek(String.class);
+        }
+
+        @RouteTo(value = "catalog", replication = ReplicationType.Slave, switchable = SwitchableMode.On)
+        public List<Object> keys() {
+            return Stream.of(String.class, ReplicationType.class, SwitchableMode.class)
+                         .map(RoutingContext::peek)
+                         .filter(Optional::isPresent)
+                         .map(Optional::get)
+                         .collect(toList());
+        }
+
+        @RouteTo(replication = ReplicationType.Slave)
+        public void failure() throws IOException {
+            throw new IOException("failure");
+        }
+
+        public Optional<Object> detail() {
+            return RoutingContext.peek();
+        }
+    }
+
+    @RouteTo("books")
+    static class Books extends Catalog {
+    }
+
+    @RouteTo("movies")
+    static class Movies extends Catalog {
+    }
+}
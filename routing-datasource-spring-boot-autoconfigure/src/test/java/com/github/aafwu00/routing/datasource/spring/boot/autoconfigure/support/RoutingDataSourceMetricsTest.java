@@ -24,6 +24,8 @@ import javax.sql.DataSource;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.junit.jupiter.api.Test;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,20 +39,26 @@ class RoutingDataSourceMetricsTest {
     void metrics() {
         final Map<String, DataSource> dataSources = new HashMap<>();
         dataSources.put("key1", new BasicDataSource());
-        dataSources.put("KEY2", new BasicDataSource());
-        final TargetDataSources<String> targetDataSources = new TargetDataSources<>(dataSources);
-        final RoutingDataSourceMetrics<String> metrics = new RoutingDataSourceMetrics<>(targetDataSources);
+        dataSources.put("KEY2", new HikariDataSource());
+        final DataSource defaults = new org.apache.tomcat.jdbc.pool.DataSource();
+        final TargetDataSources<String> targetDataSources = new TargetDataSources<>(dataSources, defaults);
+        final RoutingDataSourceMetrics<String> metrics = new RoutingDataSourceMetrics<>("mapped", targetDataSources);
         final SimpleMeterRegistry register = new SimpleMeterRegistry();
         metrics.bindTo(register);
         assertAll(
-            () -> assertThat(register.get("datasource.key1.active").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key1.usage").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key1.max").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key1.min").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key2.active").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key2.usage").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key2.max").gauge().value()).isNotNegative(),
-            () -> assertThat(register.get("datasource.key2.min").gauge().value()).isNotNegative()
+            () -> assertThat(register.get("datasource.pool.active").tags("name", "mapped", "target", "key1", "pool", "dbcp2")
+                                     .gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.usage").tags("target", "key1").gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.max").tags("target", "key1").gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.min").tags("target", "key1").gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.idle").tags("target", "key1").gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.max").tags("target", "KEY2", "pool", "hikari")
+                                     .gauge().value()).isNotNegative(),
+            () -> assertThat(register.get("datasource.pool.pending").tags("target", "KEY2").gauge().value()).isNaN(),
+            () -> assertThat(register.get("datasource.pool.pending").tags("target", "defaults", "pool", "tomcat")
+                                     .gauge().value()).isNaN(),
+            () -> assertThat(register.get("datasource.pool.created").tags("target", "defaults")
+                                     .functionCounter().count()).isZero()
         );
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingDecisions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class RoutingDecisionMetricsTest {
+    @Test
+    void metrics() {
+        final RoutingDecisions decisions = new RoutingDecisions(Arrays.asList("first", "second"));
+        decisions.record("first");
+        decisions.record("first");
+        decisions.record("third");
+        decisions.record(null);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new RoutingDecisionMetrics(Collections.singletonMap("dataSource", decisions)).bindTo(registry);
+        assertAll(
+            () -> assertThat(registry.get("datasource.routing.decisions").tags("name", "dataSource", "key", "first")
+                                     .functionCounter().count()).isEqualTo(2),
+            () -> assertThat(registry.get("datasource.routing.decisions").tags("key", "second")
+                                     .functionCounter().count()).isZero(),
+            () -> assertThat(registry.get("datasource.routing.fallbacks").tags("reason", "unknown")
+                                     .functionCounter().count()).isEqualTo(1),
+            () -> assertThat(registry.get("datasource.routing.fallbacks").tags("reason", "null")
+                                     .functionCounter().count()).isEqualTo(1)
+        );
+    }
+}
@@ -17,29 +17,60 @@
 package com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.switchable;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tomcat.jdbc.pool.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.github.aafwu00.routing.datasource.spring.AtomicSwitching;
 import com.github.aafwu00.routing.datasource.spring.DelegateRoutingDataSource;
+import com.github.aafwu00.routing.datasource.spring.PercentageSwitching;
+import com.github.aafwu00.routing.datasource.spring.SessionKeyResolver;
 import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+import com.github.aafwu00.routing.datasource.spring.Switching;
+import com.github.aafwu00.routing.datasource.spring.SwitchingEvent;
+import com.github.aafwu00.routing.datasource.spring.SwitchingListener;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.RoutingDataSourceAutoConfiguration;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.DualWriteMetrics;
 import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.RoutingDataSourceMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.ShadowReadMetrics;
+import com.github.aafwu00.routing.datasource.spring.boot.autoconfigure.support.SwitchingEndpoint;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriteDataSource;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriteMode;
+import com.github.aafwu00.routing.datasource.spring.shadow.DualWriter;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowReadDataSource;
+import com.github.aafwu00.routing.datasource.spring.shadow.ShadowReader;
 import com.zaxxer.hikari.HikariDataSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Taeho Kim
  */
 class SwitchableDataSourceConfigurationTest {
+    private static final String[] PERCENTAGE_PROPERTIES = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.switch-off.url=jdbc:h2:mem:SWITCHOFF;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+        "datasource.routing.switch-off.initializationMode=never",
+        "datasource.routing.switch-off.username=sa",
+        "datasource.routing.switch-on.url=jdbc:h2:mem:SWITCHON;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+        "datasource.routing.switch-on.initializationMode=never",
+        "datasource.routing.switch-on.username=sa",
+        "datasource.routing.switching.percentage=10"
+    };
     private ApplicationContextRunner contextRunner;
 
     @BeforeEach
@@ -75,6 +106,7 @@ class SwitchableDataSourceConfigurationTest {
                          () -> assertThat(off(context).getValidationQuery()).isEqualTo("SELECT 1"),
                          () -> assertThat(on(context).getMaximumPoolSize()).isEqualTo(9),
                          () -> assertThat(context).hasSingleBean(RoutingDataSourceMetrics.class)
+                                                  .doesNotHaveBean(SwitchingEndpoint.class)
                      ));
     }
 
@@ -121,4 +153,119 @@ class SwitchableDataSourceConfigurationTest {
                                          "datasource.routing.switch-on.username=sa")
                      .run(context -> assertThat(context).doesNotHaveBean(LazyConnectionDataSourceProxy.class));
     }
+
+    @Test
+    void should_be_switched_by_event() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.switch-off.url=jdbc:h2:mem:SWITCHOFF;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-off.initializationMode=never",
+                                         "datasource.routing.switch-off.username=sa",
+                                         "datasource.routing.switch-on.url=jdbc:h2:mem:SWITCHON;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-on.initializationMode=never",
+                                         "datasource.routing.switch-on.username=sa",
+                                         "management.endpoint.switching.enabled=true")
+                     .run(context -> {
+                         assertThat(context).hasSingleBean(AtomicSwitching.class)
+                                            .hasSingleBean(SwitchingEndpoint.class);
+                         assertThatThrownBy(() -> context.getBean(SwitchingEndpoint.class).switchTo(null, 5d))
+                             .isInstanceOf(InvalidEndpointRequestException.class);
+                         context.getBean(SwitchingEndpoint.class).switchTo(SwitchableMode.On, null);
+                         assertThat(context.getBean(Switching.class).isOn()).isTrue();
+                         context.publishEvent(new SwitchingEvent(this, false));
+                         assertThat(context.getBean(SwitchingEndpoint.class).switching()).containsEntry("mode", SwitchableMode.Off);
+                     });
+    }
+
+    @Test
+    void should_be_shadow_read_switch_on_when_shadow_read_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.switch-off.url=jdbc:h2:mem:SWITCHOFF;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-off.initializationMode=never",
+                                         "datasource.routing.switch-off.username=sa",
+                                         "datasource.routing.switch-on.url=jdbc:h2:mem:SWITCHON;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-on.initializationMode=never",
+                                         "datasource.routing.switch-on.username=sa",
+                                         "datasource.routing.shadow-read.enabled=true",
+                                         "datasource.routing.shadow-read.sample-rate=0.5")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(ShadowReader.class)
+                                                  .hasSingleBean(ShadowReadMetrics.class),
+                         () -> assertThat(resolvedDataSources(context).get(SwitchableMode.Off)).isInstanceOf(ShadowReadDataSource.class),
+                         () -> assertThat(resolvedDataSources(context).get(SwitchableMode.On)).isInstanceOf(HikariDataSource.class)
+                     ));
+    }
+
+    @Test
+    void should_be_dual_written_to_switch_on_when_dual_write_enabled() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true",
+                                         "datasource.routing.switch-off.url=jdbc:h2:mem:SWITCHOFF;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-off.initializationMode=never",
+                                         "datasource.routing.switch-off.username=sa",
+                                         "datasource.routing.switch-on.url=jdbc:h2:mem:SWITCHON;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+                                         "datasource.routing.switch-on.initializationMode=never",
+                                         "datasource.routing.switch-on.username=sa",
+                                         "datasource.routing.dual-write.enabled=true",
+                                         "datasource.routing.dual-write.mode=Async")
+                     .run(context -> assertAll(
+                         () -> assertThat(context).hasSingleBean(DualWriter.class)
+                                                  .hasSingleBean(DualWriteMetrics.class),
+                         () -> assertThat(context.getBean(DualWriter.class).getMode()).isEqualTo(DualWriteMode.Async),
+                         () -> assertThat(resolvedDataSources(context).get(SwitchableMode.Off)).isInstanceOf(DualWriteDataSource.class)
+                     ));
+    }
+
+    @Test
+    void should_be_loaded_PercentageSwitching_with_listeners_when_percentage_exists() {
+        contextRunner.withUserConfiguration(SessionKeyResolverConfiguration.class, SwitchingListenerConfiguration.class)
+                     .withPropertyValues(PERCENTAGE_PROPERTIES)
+                     .run(context -> {
+                         assertThat(context).hasSingleBean(PercentageSwitching.class)
+                                            .doesNotHaveBean(AtomicSwitching.class);
+                         context.publishEvent(new SwitchingEvent(this, true));
+                         verify(context.getBean(SwitchingListener.class)).onSwitched(true);
+                     });
+    }
+
+    @Test
+    void should_be_rejected_percentage_out_of_range_by_endpoint() {
+        contextRunner.withUserConfiguration(SessionKeyResolverConfiguration.class)
+                     .withPropertyValues(PERCENTAGE_PROPERTIES)
+                     .withPropertyValues("management.endpoint.switching.enabled=true")
+                     .run(context -> {
+                         final SwitchingEndpoint endpoint = context.getBean(SwitchingEndpoint.class);
+                         final double percentage = context.getBean(PercentageSwitching.class).getPercentage();
+                         assertAll(
+                             () -> assertThatThrownBy(() -> endpoint.switchTo(null, 150d))
+                                 .isInstanceOf(InvalidEndpointRequestException.class),
+                             () -> assertThatThrownBy(() -> endpoint.switchTo(null, -1d))
+                                 .isInstanceOf(InvalidEndpointRequestException.class),
+                             () -> assertThatThrownBy(() -> endpoint.switchTo(null, Double.NaN))
+                                 .isInstanceOf(InvalidEndpointRequestException.class),
+                             () -> assertThat(context.getBean(PercentageSwitching.class).getPercentage()).isEqualTo(percentage),
+                             () -> assertThat(endpoint.switchTo(null, 30d)).containsEntry("percentage", 30d)
+                         );
+                     });
+    }
+
+    @Test
+    void should_be_failed_when_percentage_exists_without_SessionKeyResolver() {
+        contextRunner.withPropertyValues(PERCENTAGE_PROPERTIES)
+                     .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Configuration
+    static class SessionKeyResolverConfiguration {
+        @Bean
+        public SessionKeyResolver sessionKeyResolver() {
+            return () -> Optional.of("user");
+        }
+    }
+
+    @Configuration
+    static class SwitchingListenerConfiguration {
+        @Bean
+        public SwitchingListener switchingListener() {
+            return mock(SwitchingListener.class);
+        }
+    }
 }
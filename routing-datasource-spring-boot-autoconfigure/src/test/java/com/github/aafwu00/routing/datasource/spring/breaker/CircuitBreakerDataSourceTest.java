@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class CircuitBreakerDataSourceTest {
+    private DataSource target;
+    private DataSource fallback;
+    private Connection connection;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        fallback = mock(DataSource.class);
+        connection = mock(Connection.class);
+        doThrow(new SQLTransientConnectionException("timeout")).when(target).getConnection();
+        doReturn(connection).when(fallback).getConnection();
+        circuitBreaker = new CircuitBreaker("master", 1, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void should_be_used_fallback_when_circuit_breaker_is_opened() throws SQLException {
+        final CircuitBreakerDataSource dataSource = new CircuitBreakerDataSource(target, circuitBreaker, Optional.of(fallback));
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getConnection()).isEqualTo(connection);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void should_be_failed_fast_when_circuit_breaker_is_opened_without_fallback() throws SQLException {
+        final CircuitBreakerDataSource dataSource = new CircuitBreakerDataSource(target, circuitBreaker, Optional.empty());
+        assertThatThrownBy(dataSource::getConnection).hasMessage("timeout");
+        assertThatThrownBy(dataSource::getConnection).hasMessageContaining("opened");
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void should_be_closed_when_connected() throws SQLException {
+        final DataSource healthy = mock(DataSource.class);
+        doReturn(connection).when(healthy).getConnection();
+        final CircuitBreakerDataSource dataSource = new CircuitBreakerDataSource(healthy, circuitBreaker, Optional.empty());
+        assertThat(dataSource.getConnection()).isEqualTo(connection);
+        assertThat(dataSource.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.Closed);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class CircuitBreakerRegistryTest {
+    @Test
+    void should_be_claimed_trial_only_by_chosen_replica() throws SQLException {
+        final DataSource first = mock(DataSource.class);
+        final DataSource second = mock(DataSource.class);
+        doReturn(mock(Connection.class)).when(first).getConnection();
+        doReturn(mock(Connection.class)).when(second).getConnection();
+        final CircuitBreakerRegistry registry = new CircuitBreakerRegistry(1, Duration.ZERO);
+        final AtomicInteger chosen = new AtomicInteger();
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Arrays.asList(new Replica("first", first),
+                                                                                           new Replica("second", second)),
+                                                                             replicas -> replicas.get(Math.min(chosen.get(),
+                                                                                                               replicas.size() - 1)));
+        dataSource.addFilter(registry);
+        dataSource.addListener(registry);
+        registry.circuitBreaker("second").onFailure();
+        for (int i = 0; i < 3; i++) {
+            dataSource.getConnection();
+        }
+        final CircuitBreaker.State halfOpened = registry.circuitBreaker("second").getState();
+        final int available = dataSource.getAvailableReplicas().size();
+        chosen.set(1);
+        dataSource.getConnection();
+        assertAll(
+            () -> assertThat(halfOpened).isEqualTo(CircuitBreaker.State.HalfOpen),
+            () -> assertThat(available).isEqualTo(2),
+            () -> verify(first, times(3)).getConnection(),
+            () -> verify(second).getConnection(),
+            () -> assertThat(registry.circuitBreaker("second").getState()).isEqualTo(CircuitBreaker.State.Closed),
+            () -> assertThat(registry.circuitBreaker("second").getNotPermittedCalls()).isZero()
+        );
+    }
+
+    @Test
+    void should_be_given_back_trial_when_another_filter_rejects() throws SQLException {
+        final DataSource target = mock(DataSource.class);
+        final DataSource fallback = mock(DataSource.class);
+        doReturn(mock(Connection.class)).when(fallback).getConnection();
+        final CircuitBreakerRegistry registry = new CircuitBreakerRegistry(1, Duration.ZERO);
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Arrays.asList(new Replica("slave", target)),
+                                                                             replicas -> replicas.get(0),
+                                                                             Optional.of(fallback));
+        final AtomicInteger checked = new AtomicInteger();
+        dataSource.addFilter(registry);
+        dataSource.addFilter(new RejectingOnAcquire(checked));
+        registry.circuitBreaker("slave").onFailure();
+        dataSource.getConnection();
+        assertAll(
+            () -> verify(fallback).getConnection(),
+            () -> assertThat(checked).hasValue(1),
+            () -> assertThat(registry.circuitBreaker("slave").isAvailable()).isTrue(),
+            () -> assertThat(registry.circuitBreaker("slave").isCallPermitted()).isTrue()
+        );
+    }
+
+    private static final class RejectingOnAcquire implements ReplicaFilter {
+        private final AtomicInteger acquired;
+
+        RejectingOnAcquire(final AtomicInteger acquired) {
+            this.acquired = acquired;
+        }
+
+        @Override
+        public boolean isAvailable(final Replica replica) {
+            return true;
+        }
+
+        @Override
+        public boolean tryAcquire(final Replica replica) {
+            acquired.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.breaker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Taeho Kim
+ */
+class CircuitBreakerTest {
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        circuitBreaker = new CircuitBreaker("slave", 2, Duration.ofNanos(100), clock::get);
+    }
+
+    @Test
+    void should_be_opened_when_failures_reach_threshold() {
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.Open);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.getNotPermittedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_reset_failures_when_succeeded() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.Closed);
+    }
+
+    @Test
+    void should_be_half_opened_after_wait_duration() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.set(100);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HalfOpen);
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.Open);
+        clock.set(200);
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.Closed);
+    }
+
+    @Test
+    void should_be_permitted_single_trial_call_when_half_opened() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.set(100);
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.getNotPermittedCalls()).isEqualTo(1);
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void should_be_thrown_exception_when_threshold_is_not_positive() {
+        assertThatThrownBy(() -> new CircuitBreaker("slave", 0, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
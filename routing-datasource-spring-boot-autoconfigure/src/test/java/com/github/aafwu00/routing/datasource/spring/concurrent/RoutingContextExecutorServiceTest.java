@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class RoutingContextExecutorServiceTest {
+    private final Callable<Optional<ReplicationType>> peek = () -> RoutingContext.peek(ReplicationType.class);
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = new RoutingContextExecutorService(Executors.newSingleThreadExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void should_propagate_context_to_submitted_task() throws Exception {
+        final Future<Optional<ReplicationType>> future = RoutingContext.call(ReplicationType.Slave, () -> executorService.submit(peek));
+        assertThat(future.get(1, TimeUnit.SECONDS)).contains(ReplicationType.Slave);
+        assertThat(executorService.submit(peek).get(1, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void should_propagate_context_to_all_tasks() throws Exception {
+        final List<Future<Optional<ReplicationType>>> futures
+            = RoutingContext.call(ReplicationType.Slave, () -> executorService.invokeAll(Arrays.asList(peek, peek)));
+        for (final Future<Optional<ReplicationType>> future : futures) {
+            assertThat(future.get()).contains(ReplicationType.Slave);
+        }
+    }
+}
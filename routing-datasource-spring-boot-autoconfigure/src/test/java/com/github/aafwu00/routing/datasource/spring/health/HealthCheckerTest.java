@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.health;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class HealthCheckerTest {
+    private HealthChecker checker;
+    private DataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        checker = new HealthChecker(Duration.ofSeconds(1), Duration.ofSeconds(1));
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        doReturn(connection).when(dataSource).getConnection();
+    }
+
+    @Test
+    void should_be_marked_down_when_validation_failed() throws SQLException {
+        final BooleanSupplier up = checker.register("slave", dataSource);
+        assertThat(up.getAsBoolean()).isTrue();
+        doReturn(false).when(connection).isValid(1);
+        checker.check();
+        assertThat(up.getAsBoolean()).isFalse();
+        assertThat(checker.isAvailable(new Replica("slave", dataSource))).isFalse();
+        assertThat(checker.getStatus()).containsEntry("slave", false);
+        verify(connection).close();
+    }
+
+    @Test
+    void should_be_marked_up_when_validation_succeeded() throws SQLException {
+        final BooleanSupplier up = checker.register("slave", dataSource);
+        doThrow(new SQLException("down")).when(dataSource).getConnection();
+        checker.check();
+        assertThat(up.getAsBoolean()).isFalse();
+        doReturn(connection).when(dataSource).getConnection();
+        doReturn(true).when(connection).isValid(1);
+        checker.check();
+        assertThat(up.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void should_be_rounded_up_sub_second_timeout() throws SQLException {
+        checker = new HealthChecker(Duration.ofSeconds(1), Duration.ofMillis(200));
+        final BooleanSupplier up = checker.register("slave", dataSource);
+        doReturn(true).when(connection).isValid(1);
+        checker.check();
+        assertThat(up.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void should_not_be_delayed_by_blocked_data_source() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final DataSource blocked = mock(DataSource.class);
+        doAnswer(invocation -> {
+            released.await();
+            return connection;
+        }).when(blocked).getConnection();
+        checker = new HealthChecker(Duration.ofMillis(10), Duration.ofSeconds(1));
+        checker.register("blocked", blocked);
+        checker.register("slave", dataSource);
+        checker.afterPropertiesSet();
+        try {
+            verify(connection, timeout(1000).atLeast(2)).isValid(1);
+        } finally {
+            released.countDown();
+            checker.destroy();
+        }
+    }
+
+    @Test
+    void should_be_regarded_as_up_when_not_registered() {
+        assertThat(checker.isUp(dataSource)).isTrue();
+    }
+
+    @Test
+    void should_be_used_fallback_while_target_is_down() throws SQLException {
+        final DataSource fallback = mock(DataSource.class);
+        final Connection fallbackConnection = mock(Connection.class);
+        doReturn(fallbackConnection).when(fallback).getConnection();
+        final HealthCheckedDataSource guarded = new HealthCheckedDataSource(dataSource, () -> false, Optional.of(fallback));
+        assertThat(guarded.getConnection()).isEqualTo(fallbackConnection);
+        verify(dataSource, never()).getConnection();
+        assertThat(new HealthCheckedDataSource(dataSource, () -> false, Optional.empty()).getConnection()).isEqualTo(connection);
+    }
+}
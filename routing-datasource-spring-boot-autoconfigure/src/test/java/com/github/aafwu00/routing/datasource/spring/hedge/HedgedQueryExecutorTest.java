@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.hedge;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.ReplicaListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class HedgedQueryExecutorTest {
+    private static final String SQL = "SELECT 1";
+    private final ResultSetExtractor<String> extractor = ResultSet::getCursorName;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private PreparedStatement slowStatement;
+    private PreparedStatement fastStatement;
+    private DataSource slow;
+    private DataSource fast;
+    private HedgedQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slowStatement = mock(PreparedStatement.class);
+        fastStatement = mock(PreparedStatement.class);
+        slow = dataSource(slowStatement, "slow");
+        fast = dataSource(fastStatement, "fast");
+        doAnswer(invocation -> {
+            cancelled.await(1, TimeUnit.SECONDS);
+            throw new SQLException("cancelled");
+        }).when(slowStatement).executeQuery();
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(slowStatement).cancel();
+    }
+
+    private DataSource dataSource(final PreparedStatement statement, final String name) throws Exception {
+        final DataSource result = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        doReturn(connection).when(result).getConnection();
+        doReturn(statement).when(connection).prepareStatement(anyString());
+        doReturn(resultSet).when(statement).executeQuery();
+        doReturn(name).when(resultSet).getCursorName();
+        return result;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void should_be_hedged_to_another_replica_when_chosen_replica_is_slow() throws Exception {
+        executor = executor(Arrays.asList(new Replica("slow", slow), new Replica("fast", fast)));
+        assertThat(executor.query(SQL, extractor)).isEqualTo("fast");
+        verify(slowStatement, timeout(1000)).cancel();
+    }
+
+    @Test
+    void should_be_checked_out_through_load_balanced_data_source() throws Exception {
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Arrays.asList(new Replica("slow", slow),
+                                                                                           new Replica("fast", fast)),
+                                                                             list -> list.get(0));
+        final List<String> connected = new CopyOnWriteArrayList<>();
+        final AtomicInteger decorated = new AtomicInteger();
+        dataSource.addListener(new ReplicaListener() {
+            @Override
+            public void onConnected(final Replica replica) {
+                connected.add(replica.getName());
+            }
+
+            @Override
+            public void onConnectionFailure(final Replica replica, final SQLException exception) {
+            }
+        });
+        dataSource.addDecorator(target -> {
+            decorated.incrementAndGet();
+            return target;
+        });
+        executor = new HedgedQueryExecutor(dataSource, Executors.newFixedThreadPool(2), 0.95, Duration.ofMillis(10));
+        assertThat(executor.query(SQL, extractor)).isEqualTo("fast");
+        verify(slowStatement, timeout(1000)).cancel();
+        assertAll(
+            () -> assertThat(connected).containsOnly("slow", "fast"),
+            () -> assertThat(decorated).hasValue(2)
+        );
+    }
+
+    @Test
+    void should_not_be_hedged_when_chosen_replica_is_fast() throws Exception {
+        executor = executor(Arrays.asList(new Replica("fast", fast), new Replica("slow", slow)));
+        assertThat(executor.query(SQL, extractor)).isEqualTo("fast");
+        assertThat(executor.getDelayNanos()).isEqualTo(Duration.ofMillis(10).toNanos());
+        verify(slowStatement, timeout(100).never()).executeQuery();
+    }
+
+    @Test
+    void should_be_queried_directly_when_there_is_only_one_replica() {
+        executor = executor(Collections.singletonList(new Replica("fast", fast)));
+        assertThat(executor.query(SQL, extractor)).isEqualTo("fast");
+    }
+
+    @Test
+    void should_be_thrown_exception_when_all_attempts_are_failed() throws Exception {
+        doThrow(new SQLException("fail")).when(fastStatement).executeQuery();
+        executor = executor(Arrays.asList(new Replica("slow", slow), new Replica("fast", fast)));
+        assertThatThrownBy(() -> executor.query(SQL, extractor)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void should_be_thrown_error_when_all_attempts_are_failed() throws Exception {
+        doThrow(new LinkageError("fail")).when(slowStatement).executeQuery();
+        doThrow(new LinkageError("fail")).when(fastStatement).executeQuery();
+        executor = executor(Arrays.asList(new Replica("slow", slow), new Replica("fast", fast)));
+        assertThatThrownBy(() -> executor.query(SQL, extractor)).isInstanceOf(LinkageError.class);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_percentile_is_invalid() {
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Collections.singletonList(new Replica("fast", fast)),
+                                                                             replicas -> replicas.get(0));
+        assertThatThrownBy(() -> new HedgedQueryExecutor(dataSource, mock(ExecutorService.class), 0, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private HedgedQueryExecutor executor(final List<Replica> replicas) {
+        return new HedgedQueryExecutor(new LoadBalancedDataSource(replicas, list -> list.get(0)),
+                                       Executors.newFixedThreadPool(2),
+                                       0.95,
+                                       Duration.ofMillis(10));
+    }
+}
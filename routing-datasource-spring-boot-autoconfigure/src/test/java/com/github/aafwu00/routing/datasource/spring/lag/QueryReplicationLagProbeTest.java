@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.lag;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class QueryReplicationLagProbeTest {
+    private DriverManagerDataSource dataSource;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:HEARTBEAT;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false", "sa", "");
+        now = Instant.parse("2018-01-01T00:00:10Z");
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS heartbeat (ts TIMESTAMP)");
+        jdbcTemplate.execute("DELETE FROM heartbeat");
+        jdbcTemplate.update("INSERT INTO heartbeat VALUES (?)", Timestamp.from(Instant.parse("2018-01-01T00:00:07Z")));
+    }
+
+    @Test
+    void should_be_measured_lag_from_heartbeat_timestamp() throws Exception {
+        final QueryReplicationLagProbe probe
+            = new QueryReplicationLagProbe("SELECT ts FROM heartbeat", 1, Clock.fixed(now, ZoneOffset.UTC));
+        assertThat(probe.measure(dataSource)).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void should_be_measured_lag_from_milliseconds() throws Exception {
+        final QueryReplicationLagProbe probe = new QueryReplicationLagProbe("SELECT 1500", 1);
+        assertThat(probe.measure(dataSource)).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void should_be_zero_when_null() throws Exception {
+        final QueryReplicationLagProbe probe = new QueryReplicationLagProbe("SELECT CAST(NULL AS TIMESTAMP)", 1);
+        assertThat(probe.measure(dataSource)).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.lag;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.aafwu00.routing.datasource.spring.ReadOnlyRouteContext;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.LoadBalancedDataSource;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.Replica;
+import com.github.aafwu00.routing.datasource.spring.loadbalancer.RoundRobinLoadBalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class ReplicationLagMonitorTest {
+    private DataSource slave1;
+    private DataSource slave2;
+    private DataSource master;
+    private ReplicationLagProbe probe;
+    private LoadBalancedDataSource dataSource;
+    private ReplicationLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        slave1 = mock(DataSource.class);
+        slave2 = mock(DataSource.class);
+        master = mock(DataSource.class);
+        probe = mock(ReplicationLagProbe.class);
+        dataSource = new LoadBalancedDataSource(Arrays.asList(new Replica("slave1", slave1), new Replica("slave2", slave2)),
+                                                new RoundRobinLoadBalancer(),
+                                                Optional.of(master));
+        monitor = new ReplicationLagMonitor(Collections.singletonList(dataSource), probe, Duration.ofSeconds(1), Duration.ofHours(1));
+        dataSource.addFilter(monitor);
+    }
+
+    @Test
+    void should_be_excluded_replica_when_lag_exceeds_threshold() throws SQLException {
+        doReturn(Duration.ofSeconds(5)).when(probe).measure(slave1);
+        doReturn(Duration.ofMillis(100)).when(probe).measure(slave2);
+        monitor.probe();
+        final Replica replica1 = dataSource.getReplicas().get(0);
+        final Replica replica2 = dataSource.getReplicas().get(1);
+        assertAll(
+            () -> assertThat(monitor.isAvailable(replica1)).isFalse(),
+            () -> assertThat(monitor.isAvailable(replica2)).isTrue(),
+            () -> assertThat(monitor.getLag(replica1)).contains(Duration.ofSeconds(5)),
+            () -> assertThat(dataSource.choose()).contains(replica2),
+            () -> assertThat(dataSource.choose()).contains(replica2)
+        );
+    }
+
+    @Test
+    void should_be_excluded_replica_not_probed_yet() {
+        assertAll(
+            () -> assertThat(monitor.getLag(dataSource.getReplicas().get(0))).isEmpty(),
+            () -> assertThat(monitor.isAvailable(dataSource.getReplicas().get(0))).isFalse(),
+            () -> assertThat(dataSource.choose()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_be_fallback_when_every_replica_is_excluded() throws SQLException {
+        final Connection connection = mock(Connection.class);
+        doReturn(connection).when(master).getConnection();
+        doThrow(new SQLException()).when(probe).measure(slave1);
+        doReturn(Duration.ofSeconds(5)).when(probe).measure(slave2);
+        monitor.probe();
+        assertAll(
+            () -> assertThat(monitor.getLag(dataSource.getReplicas().get(0))).isEmpty(),
+            () -> assertThat(dataSource.choose()).isEmpty(),
+            () -> assertThat(dataSource.getConnection()).isEqualTo(connection)
+        );
+    }
+
+    @Test
+    void should_be_compared_with_max_staleness_of_read_only_route() throws SQLException {
+        doReturn(Duration.ofMillis(700)).when(probe).measure(slave1);
+        doReturn(Duration.ofMillis(100)).when(probe).measure(slave2);
+        monitor.probe();
+        final Replica replica1 = dataSource.getReplicas().get(0);
+        RoutingContext.run(ReadOnlyRouteContext.of(Duration.ofMillis(500)), () -> assertAll(
+            () -> assertThat(monitor.isAvailable(replica1)).isFalse(),
+            () -> assertThat(monitor.isAvailable(dataSource.getReplicas().get(1))).isTrue()
+        ));
+        assertThat(monitor.isAvailable(replica1)).isTrue();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class EwmaLoadBalancerTest {
+    private AtomicLong clock;
+    private EwmaLoadBalancer loadBalancer;
+    private List<Replica> replicas;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        loadBalancer = new EwmaLoadBalancer(Duration.ofSeconds(10), clock::get);
+        replicas = Arrays.asList(new Replica("slave1", mock(DataSource.class)), new Replica("slave2", mock(DataSource.class)));
+    }
+
+    @Test
+    void should_be_chosen_faster_replica() {
+        loadBalancer.recordCheckout(replicas.get(0), MILLISECONDS.toNanos(100));
+        loadBalancer.recordQuery(replicas.get(1), MILLISECONDS.toNanos(1));
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(1));
+        }
+    }
+
+    @Test
+    void should_be_decayed_score_when_idle() {
+        loadBalancer.recordQuery(replicas.get(0), MILLISECONDS.toNanos(100));
+        final double score = loadBalancer.score(replicas.get(0));
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertAll(
+            () -> assertThat(score).isEqualTo(MILLISECONDS.toNanos(100)),
+            () -> assertThat(loadBalancer.score(replicas.get(0))).isLessThan(score),
+            () -> assertThat(loadBalancer.score(replicas.get(1))).isZero()
+        );
+    }
+
+    @Test
+    void should_be_recorded_latency_of_load_balanced_data_source() throws Exception {
+        final DataSource slave = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        doReturn(connection).when(slave).getConnection();
+        doReturn(statement).when(connection).prepareStatement("SELECT 1");
+        doAnswer(invocation -> {
+            MILLISECONDS.sleep(1);
+            return null;
+        }).when(statement).executeQuery();
+        final Replica slow = new Replica("slave", slave);
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Arrays.asList(slow), loadBalancer);
+        dataSource.getConnection().prepareStatement("SELECT 1").executeQuery();
+        final List<Replica> candidates = Arrays.asList(slow, replicas.get(0));
+        assertAll(
+            () -> verify(statement).executeQuery(),
+            () -> assertThat(loadBalancer.score(slow)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(1)),
+            () -> assertThat(loadBalancer.choose(candidates)).isEqualTo(replicas.get(0))
+        );
+    }
+
+    @Test
+    void should_be_recorded_latency_of_failed_query() throws Exception {
+        final DataSource slave = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        doReturn(connection).when(slave).getConnection();
+        doReturn(statement).when(connection).prepareStatement("SELECT 1");
+        doAnswer(invocation -> {
+            MILLISECONDS.sleep(1);
+            throw new SQLTimeoutException("timeout");
+        }).when(statement).executeQuery();
+        final Replica timedOut = new Replica("slave", slave);
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(Arrays.asList(timedOut), loadBalancer);
+        final PreparedStatement prepared = dataSource.getConnection().prepareStatement("SELECT 1");
+        assertAll(
+            () -> assertThatThrownBy(prepared::executeQuery).isInstanceOf(SQLTimeoutException.class),
+            () -> assertThat(loadBalancer.score(timedOut)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(1)),
+            () -> assertThat(loadBalancer.choose(Arrays.asList(timedOut, replicas.get(0)))).isEqualTo(replicas.get(0))
+        );
+    }
+}
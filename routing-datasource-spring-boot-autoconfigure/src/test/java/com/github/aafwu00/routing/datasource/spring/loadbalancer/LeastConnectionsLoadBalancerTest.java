@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class LeastConnectionsLoadBalancerTest {
+    private DataSourcePoolMetadata metadata1;
+    private DataSourcePoolMetadata metadata2;
+    private List<Replica> replicas;
+    private LeastConnectionsLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        final DataSource slave1 = mock(DataSource.class);
+        final DataSource slave2 = mock(DataSource.class);
+        metadata1 = mock(DataSourcePoolMetadata.class);
+        metadata2 = mock(DataSourcePoolMetadata.class);
+        replicas = Arrays.asList(new Replica("slave1", slave1), new Replica("slave2", slave2));
+        loadBalancer = new LeastConnectionsLoadBalancer(dataSource -> {
+            if (dataSource == slave1) {
+                return Optional.of(metadata1);
+            }
+            return Optional.of(metadata2);
+        });
+    }
+
+    @Test
+    void should_be_chosen_lowest_usage() {
+        doReturn(0.9F).when(metadata1).getUsage();
+        doReturn(0.1F).when(metadata2).getUsage();
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(1));
+        }
+    }
+
+    @Test
+    void should_be_compared_active_over_max_when_usage_is_unknown() {
+        doReturn(null).when(metadata1).getUsage();
+        doReturn(0.5F).when(metadata2).getUsage();
+        doReturn(1).when(metadata1).getActive();
+        doReturn(10).when(metadata1).getMax();
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(0));
+        }
+    }
+
+    @Test
+    void should_be_chosen_round_robin_when_load_of_any_replica_is_unknown() {
+        doReturn(0.1F).when(metadata1).getUsage();
+        doReturn(null).when(metadata2).getUsage();
+        doReturn(5).when(metadata2).getActive();
+        assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(0));
+        assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(1));
+    }
+}
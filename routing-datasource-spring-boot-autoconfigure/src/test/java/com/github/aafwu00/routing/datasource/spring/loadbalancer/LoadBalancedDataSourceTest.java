@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class LoadBalancedDataSourceTest {
+    @Test
+    void should_be_returned_connection_of_chosen_replica() throws Exception {
+        final DataSource slave1 = mock(DataSource.class);
+        final DataSource slave2 = mock(DataSource.class);
+        final Connection connection1 = mock(Connection.class);
+        final Connection connection2 = mock(Connection.class);
+        doReturn(connection1).when(slave1).getConnection();
+        doReturn(connection2).when(slave2).getConnection();
+        final LoadBalancedDataSource dataSource = new LoadBalancedDataSource(
+            Arrays.asList(new Replica("slave1", slave1), new Replica("slave2", slave2)), new RoundRobinLoadBalancer());
+        assertThat(dataSource.getConnection()).isEqualTo(connection1);
+        assertThat(dataSource.getConnection()).isEqualTo(connection2);
+        assertThat(dataSource.getReplicas()).hasSize(2);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_replicas_are_empty() {
+        assertThatThrownBy(() -> new LoadBalancedDataSource(Collections.emptyList(), new RoundRobinLoadBalancer()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class RoundRobinLoadBalancerTest {
+    private RoundRobinLoadBalancer loadBalancer;
+    private List<Replica> replicas;
+
+    @BeforeEach
+    void setUp() {
+        loadBalancer = new RoundRobinLoadBalancer();
+        replicas = Arrays.asList(new Replica("slave1", mock(DataSource.class)), new Replica("slave2", mock(DataSource.class)));
+    }
+
+    @Test
+    void should_be_chosen_in_turn() {
+        assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(0));
+        assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(1));
+        assertThat(loadBalancer.choose(replicas)).isEqualTo(replicas.get(0));
+    }
+}
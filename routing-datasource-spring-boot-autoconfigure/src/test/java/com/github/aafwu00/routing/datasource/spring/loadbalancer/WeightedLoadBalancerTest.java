@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class WeightedLoadBalancerTest {
+    @Test
+    void should_be_always_chosen_when_single_replica() {
+        final Replica heavy = new Replica("slave1", mock(DataSource.class), 10);
+        final List<Replica> replicas = Arrays.asList(heavy);
+        final WeightedLoadBalancer loadBalancer = new WeightedLoadBalancer();
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(replicas)).isEqualTo(heavy);
+        }
+    }
+
+    @Test
+    void should_be_chosen_by_weight() {
+        final Replica light = new Replica("slave1", mock(DataSource.class), 1);
+        final Replica heavy = new Replica("slave2", mock(DataSource.class), 99);
+        final List<Replica> replicas = Arrays.asList(light, heavy);
+        final WeightedLoadBalancer loadBalancer = new WeightedLoadBalancer();
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (loadBalancer.choose(replicas) == heavy) {
+                count++;
+            }
+        }
+        assertThat(count).isGreaterThan(900);
+    }
+
+    @Test
+    void should_be_thrown_exception_when_weight_is_not_positive() {
+        assertThatThrownBy(() -> new Replica("slave", mock(DataSource.class), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.loadbalancer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class ZoneAwareLoadBalancerTest {
+    private final Replica local = new Replica("slave1", mock(DataSource.class), 1, "zone-a");
+    private final Replica remote = new Replica("slave2", mock(DataSource.class), 1, "zone-b");
+    private final Replica unknown = new Replica("slave3", mock(DataSource.class));
+    private final List<Replica> replicas = Arrays.asList(local, remote, unknown);
+
+    @Test
+    void should_be_chosen_replica_in_same_zone() {
+        final LoadBalancer loadBalancer = new ZoneAwareLoadBalancer(new RoundRobinLoadBalancer(), "zone-a");
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(replicas)).isEqualTo(local);
+        }
+    }
+
+    @Test
+    void should_be_spilled_over_when_no_replica_in_same_zone() {
+        final LoadBalancer loadBalancer = new ZoneAwareLoadBalancer(new RoundRobinLoadBalancer(), "zone-a");
+        assertThat(loadBalancer.choose(Arrays.asList(remote, unknown))).isIn(remote, unknown);
+    }
+
+    @Test
+    void should_be_spilled_over_when_replica_in_same_zone_is_saturated() {
+        final LoadBalancer loadBalancer = new ZoneAwareLoadBalancer(new RoundRobinLoadBalancer(), "zone-a", local::equals);
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose(replicas)).isNotEqualTo(local);
+        }
+    }
+
+    @Test
+    void should_be_chosen_any_replica_when_all_are_saturated() {
+        final LoadBalancer loadBalancer = new ZoneAwareLoadBalancer(new RoundRobinLoadBalancer(), "zone-a", replica -> true);
+        assertThat(loadBalancer.choose(replicas)).isIn(replicas);
+    }
+
+    @Test
+    void should_be_latency_aware_when_delegate_is_latency_aware() {
+        assertThat(ZoneAwareLoadBalancer.create(new EwmaLoadBalancer(), "zone-a", replica -> false)).isInstanceOf(LatencyAware.class);
+        assertThat(ZoneAwareLoadBalancer.create(new RandomLoadBalancer(), "zone-a", replica -> false)).isNotInstanceOf(LatencyAware.class);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.r2dbc;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.aafwu00.routing.datasource.spring.ReplicationType;
+import com.github.aafwu00.routing.datasource.spring.RoutingContext;
+import com.github.aafwu00.routing.datasource.spring.SwitchableMode;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Taeho Kim
+ */
+class RoutingConnectionFactoryTest {
+    private Connection masterConnection;
+    private Connection slaveConnection;
+    private Map<ReplicationType, ConnectionFactory> targets;
+
+    @BeforeEach
+    void setUp() {
+        masterConnection = mock(Connection.class);
+        slaveConnection = mock(Connection.class);
+        targets = new EnumMap<>(ReplicationType.class);
+        targets.put(ReplicationType.Master, connectionFactory(masterConnection));
+        targets.put(ReplicationType.Slave, connectionFactory(slaveConnection));
+    }
+
+    @Test
+    void should_route_by_key_in_subscriber_context() {
+        final RoutingConnectionFactory<ReplicationType> connectionFactory
+            = new RoutingConnectionFactory<>(ReactiveRoutingRules.replication(), targets);
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                    .expectNext(masterConnection)
+                    .verifyComplete();
+        StepVerifier.create(Mono.from(connectionFactory.create())
+                                .subscriberContext(ReactiveRoutingContext.routeTo(ReplicationType.Slave)))
+                    .expectNext(slaveConnection)
+                    .verifyComplete();
+    }
+
+    @Test
+    void should_not_be_affected_by_thread() {
+        final RoutingConnectionFactory<ReplicationType> connectionFactory
+            = new RoutingConnectionFactory<>(ReactiveRoutingRules.replication(), targets);
+        RoutingContext.run(ReplicationType.Slave, () -> StepVerifier.create(Mono.from(connectionFactory.create()))
+                                                                    .expectNext(masterConnection)
+                                                                    .verifyComplete());
+    }
+
+    @Test
+    void should_not_be_affected_by_transaction_of_thread() {
+        final RoutingConnectionFactory<ReplicationType> connectionFactory
+            = new RoutingConnectionFactory<>(ReactiveRoutingRules.replication(), targets);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            StepVerifier.create(Mono.from(connectionFactory.create()))
+                        .expectNext(masterConnection)
+                        .verifyComplete();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    @Test
+    void should_route_by_switching_when_mode_is_not_in_subscriber_context() {
+        final Connection onConnection = mock(Connection.class);
+        final Connection offConnection = mock(Connection.class);
+        final Map<SwitchableMode, ConnectionFactory> modes = new EnumMap<>(SwitchableMode.class);
+        modes.put(SwitchableMode.On, connectionFactory(onConnection));
+        modes.put(SwitchableMode.Off, connectionFactory(offConnection));
+        final RoutingConnectionFactory<SwitchableMode> connectionFactory
+            = new RoutingConnectionFactory<>(ReactiveRoutingRules.switchable(() -> true), modes);
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                    .expectNext(onConnection)
+                    .verifyComplete();
+        StepVerifier.create(Mono.from(connectionFactory.create())
+                                .subscriberContext(ReactiveRoutingContext.routeTo(SwitchableMode.Off)))
+                    .expectNext(offConnection)
+                    .verifyComplete();
+    }
+
+    @Test
+    void should_be_defaults_when_key_is_not_matched() {
+        final Connection defaultConnection = mock(Connection.class);
+        final RoutingConnectionFactory<String> connectionFactory
+            = new RoutingConnectionFactory<>(context -> "unknown", emptyTargets(), Optional.of(connectionFactory(defaultConnection)));
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                    .expectNext(defaultConnection)
+                    .verifyComplete();
+    }
+
+    @Test
+    void should_be_error_when_key_is_not_matched_without_defaults() {
+        final RoutingConnectionFactory<String> connectionFactory = new RoutingConnectionFactory<>(context -> "unknown", emptyTargets());
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                    .verifyError(IllegalStateException.class);
+    }
+
+    private Map<String, ConnectionFactory> emptyTargets() {
+        return Collections.emptyMap();
+    }
+
+    private ConnectionFactory connectionFactory(final Connection connection) {
+        final ConnectionFactory result = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(result).create();
+        return result;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class DualWriterTest {
+    private static final String INSERT = "INSERT INTO MEMBER VALUES (?, ?)";
+    private static final String COUNT = "SELECT COUNT(*) FROM MEMBER";
+    private final BlockingQueue<DualWrite> writes = new LinkedBlockingQueue<>();
+    private DataSource primary;
+    private DataSource mirror;
+    private ExecutorService executor;
+    private DualWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        primary = dataSource("DUAL_PRIMARY");
+        mirror = dataSource("DUAL_MIRROR");
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.destroy();
+        new JdbcTemplate(primary).execute("DROP TABLE MEMBER");
+        new JdbcTemplate(mirror).execute("DROP TABLE MEMBER");
+    }
+
+    private DataSource dataSource(final String name) {
+        final JdbcDataSource result = new JdbcDataSource();
+        result.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(result).execute("CREATE TABLE MEMBER (ID INT PRIMARY KEY, NAME VARCHAR(10))");
+        return result;
+    }
+
+    private DataSource dualWrite(final DualWriteMode mode) {
+        writer = new DualWriter(mirror, mode, executor, Duration.ofSeconds(1));
+        writer.addListener(writes::add);
+        return new DualWriteDataSource(primary, writer);
+    }
+
+    @Test
+    void should_be_written_to_mirror_in_same_transaction_when_sync() throws Exception {
+        final DataSource dataSource = dualWrite(DualWriteMode.Sync);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setInt(1, 1);
+                statement.setString(2, "a");
+                statement.addBatch();
+                statement.setInt(1, 2);
+                statement.setString(2, "b");
+                statement.addBatch();
+                statement.executeBatch();
+            }
+            assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isZero();
+            connection.commit();
+        }
+        final DualWrite write = writes.poll();
+        assertAll(
+            () -> assertThat(write.getResult()).isEqualTo(DualWrite.Result.Matched),
+            () -> assertThat(write.getMirrorCount()).hasValue(2L),
+            () -> assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void should_be_failed_and_rolled_back_on_mirror_when_sync_write_fails() throws Exception {
+        new JdbcTemplate(mirror).update(INSERT, 2, "b");
+        final DataSource dataSource = dualWrite(DualWriteMode.Sync);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (1, 'a')");
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (2, 'b')");
+            connection.commit();
+        }
+        assertAll(
+            () -> assertThat(writes.poll().getResult()).isEqualTo(DualWrite.Result.Failed),
+            () -> assertThat(writes.poll().getResult()).isEqualTo(DualWrite.Result.Failed),
+            () -> assertThat(new JdbcTemplate(primary).queryForObject(COUNT, Integer.class)).isEqualTo(2),
+            () -> assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void should_be_rolled_back_to_savepoint_on_mirror_when_sync() throws Exception {
+        assertRolledBackToSavepoint(DualWriteMode.Sync);
+    }
+
+    @Test
+    void should_be_rolled_back_to_savepoint_on_mirror_when_async() throws Exception {
+        assertRolledBackToSavepoint(DualWriteMode.Async);
+    }
+
+    private void assertRolledBackToSavepoint(final DualWriteMode mode) throws Exception {
+        final DataSource dataSource = dualWrite(mode);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (1, 'a')");
+            final Savepoint savepoint = connection.setSavepoint();
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (2, 'b')");
+            connection.rollback(savepoint);
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (3, 'c')");
+            connection.commit();
+        }
+        assertThat(writes.poll(1, TimeUnit.SECONDS).getResult()).isEqualTo(DualWrite.Result.Matched);
+        assertThat(writes.poll(1, TimeUnit.SECONDS).getResult()).isEqualTo(DualWrite.Result.Matched);
+        assertThat(writes.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(new JdbcTemplate(mirror).queryForList("SELECT ID FROM MEMBER ORDER BY ID", Integer.class)).containsExactly(1, 3);
+    }
+
+    @Test
+    void should_be_rolled_back_on_mirror_when_sync() throws Exception {
+        final DataSource dataSource = dualWrite(DualWriteMode.Sync);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (1, 'a')");
+            connection.rollback();
+        }
+        assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isZero();
+    }
+
+    @Test
+    void should_be_diverged_when_update_counts_differ() {
+        new JdbcTemplate(primary).update(INSERT, 1, "a");
+        new JdbcTemplate(dualWrite(DualWriteMode.Sync)).update("UPDATE MEMBER SET NAME = ?", "b");
+        assertThat(writes.poll().getResult()).isEqualTo(DualWrite.Result.Diverged);
+    }
+
+    @Test
+    void should_be_written_to_mirror_after_commit_when_async() throws Exception {
+        final DataSource dataSource = dualWrite(DualWriteMode.Async);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setInt(1, 1);
+                statement.setString(2, "a");
+                statement.executeUpdate();
+            }
+            assertThat(writes.poll(100, TimeUnit.MILLISECONDS)).isNull();
+            connection.commit();
+        }
+        assertThat(writes.poll(1, TimeUnit.SECONDS).getResult()).isEqualTo(DualWrite.Result.Matched);
+        assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_failed_and_rolled_back_on_mirror_when_async_write_fails() throws Exception {
+        new JdbcTemplate(mirror).update(INSERT, 2, "b");
+        final DataSource dataSource = dualWrite(DualWriteMode.Async);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (1, 'a')");
+            connection.createStatement().executeUpdate("INSERT INTO MEMBER VALUES (2, 'b')");
+            connection.commit();
+        }
+        assertThat(writes.poll(1, TimeUnit.SECONDS).getResult()).isEqualTo(DualWrite.Result.Failed);
+        assertThat(writes.poll(1, TimeUnit.SECONDS).getResult()).isEqualTo(DualWrite.Result.Failed);
+        assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void should_be_replayed_queued_writes_on_destroy() {
+        final DataSource dataSource = dualWrite(DualWriteMode.Async);
+        for (int i = 0; i < 10; i++) {
+            new JdbcTemplate(dataSource).update(INSERT, i, "a");
+        }
+        writer.destroy();
+        assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isEqualTo(10);
+    }
+
+    @Test
+    void should_be_counted_rejected_when_not_replayed_until_shutdown_timeout() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer = new DualWriter(mirror, DualWriteMode.Async, executor, Duration.ofMillis(100));
+        new JdbcTemplate(new DualWriteDataSource(primary, writer)).update(INSERT, 1, "a");
+        writer.destroy();
+        assertThat(writer.getRejected()).isEqualTo(1);
+        assertThat(new JdbcTemplate(mirror).queryForObject(COUNT, Integer.class)).isZero();
+    }
+
+    @Test
+    void should_be_counted_rejected_when_async_queue_is_full() {
+        executor.shutdown();
+        new JdbcTemplate(dualWrite(DualWriteMode.Async)).update(INSERT, 1, "a");
+        assertThat(writer.getRejected()).isEqualTo(1);
+        assertThat(new JdbcTemplate(primary).queryForObject(COUNT, Integer.class)).isEqualTo(1);
+    }
+}
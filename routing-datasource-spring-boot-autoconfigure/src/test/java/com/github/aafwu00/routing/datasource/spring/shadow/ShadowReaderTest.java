@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.shadow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Taeho Kim
+ */
+class ShadowReaderTest {
+    private static final String SQL = "SELECT NAME FROM MEMBER WHERE ID < ?";
+    private final BlockingQueue<ShadowRead> reads = new LinkedBlockingQueue<>();
+    private DataSource primary;
+    private Connection shadowConnection;
+    private SingleConnectionDataSource shadow;
+    private ExecutorService executor;
+    private ShadowReader reader;
+    private ShadowReadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSource("SHADOW_PRIMARY", "a", "b", "c");
+        shadowConnection = spy(dataSource("SHADOW_SHADOW", "c", "b", "a").getConnection());
+        shadow = new SingleConnectionDataSource(shadowConnection, true);
+        executor = Executors.newSingleThreadExecutor();
+        reader = new ShadowReader(shadow, executor, 1, Duration.ofSeconds(1));
+        reader.addListener(reads::add);
+        dataSource = new ShadowReadDataSource(primary, reader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reader.destroy();
+        new JdbcTemplate(primary).execute("DROP TABLE MEMBER");
+        new JdbcTemplate(shadow).execute("DROP TABLE MEMBER");
+        shadow.destroy();
+    }
+
+    private DataSource dataSource(final String name, final String... names) {
+        final JdbcDataSource result = new JdbcDataSource();
+        result.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(result);
+        jdbcTemplate.execute("CREATE TABLE MEMBER (ID INT PRIMARY KEY, NAME VARCHAR(10))");
+        for (int i = 0; i < names.length; i++) {
+            jdbcTemplate.update("INSERT INTO MEMBER VALUES (?, ?)", i, names[i]);
+        }
+        return result;
+    }
+
+    @Test
+    void should_be_matched_when_same_rows_in_any_order() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT NAME FROM MEMBER")) {
+            while (resultSet.next()) {
+                assertThat(resultSet.getString(1)).isNotEmpty();
+            }
+        }
+        final ShadowRead read = reads.poll(1, TimeUnit.SECONDS);
+        assertAll(
+            () -> assertThat(read.getResult()).isEqualTo(ShadowRead.Result.Matched),
+            () -> assertThat(read.getPrimary().map(ResultSummary::getRows)).hasValue(3L),
+            () -> assertThat(read.getPrimaryNanos()).isPositive(),
+            () -> verify(shadowConnection).setReadOnly(false)
+        );
+    }
+
+    @Test
+    void should_be_read_lob_column_by_caller_only() throws Exception {
+        final StringBuilder names = new StringBuilder();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT ID, CAST(NAME AS CLOB) FROM MEMBER ORDER BY ID")) {
+            while (resultSet.next()) {
+                names.append(FileCopyUtils.copyToString(resultSet.getCharacterStream(2)));
+            }
+        }
+        final ShadowRead read = reads.poll(1, TimeUnit.SECONDS);
+        assertAll(
+            () -> assertThat(names.toString()).isEqualTo("abc"),
+            () -> assertThat(read.getResult()).isEqualTo(ShadowRead.Result.Matched),
+            () -> assertThat(read.getShadow().map(ResultSummary::getRows)).hasValue(3L)
+        );
+    }
+
+    @Test
+    void should_be_left_out_streamed_columns_of_checksum() throws SQLException {
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        doReturn(metaData).when(resultSet).getMetaData();
+        doReturn(2).when(metaData).getColumnCount();
+        doReturn(Types.VARCHAR).when(metaData).getColumnType(1);
+        doReturn(Types.BLOB).when(metaData).getColumnType(2);
+        doReturn(true, false).when(resultSet).next();
+        assertThat(ResultSummary.of(resultSet).getRows()).isEqualTo(1);
+        verify(resultSet).getString(1);
+        verify(resultSet, never()).getString(2);
+    }
+
+    @Test
+    void should_be_not_compared_when_result_set_is_not_read_to_the_end() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT NAME FROM MEMBER")) {
+            assertThat(resultSet.next()).isTrue();
+        }
+        assertThat(reads.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void should_be_not_shadow_read_when_not_plain_select() throws Exception {
+        new JdbcTemplate(dataSource).queryForList("SELECT NAME FROM MEMBER WHERE ID < ? FOR UPDATE", String.class, 2);
+        new JdbcTemplate(primary).execute("CREATE SEQUENCE SEQ");
+        new JdbcTemplate(dataSource).queryForList("SELECT NEXTVAL('SEQ')", String.class);
+        new JdbcTemplate(primary).execute("DROP SEQUENCE SEQ");
+        new JdbcTemplate(dataSource).queryForList("VALUES (1)", String.class);
+        assertThat(reads.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void should_be_mismatched_when_rows_differ() throws Exception {
+        assertThat(new JdbcTemplate(dataSource).queryForList(SQL, String.class, 2)).containsExactly("a", "b");
+        final ShadowRead read = reads.poll(1, TimeUnit.SECONDS);
+        assertAll(
+            () -> assertThat(read.getResult()).isEqualTo(ShadowRead.Result.Mismatched),
+            () -> assertThat(read.getSql()).isEqualTo(SQL),
+            () -> assertThat(read.getShadow().map(ResultSummary::getRows)).hasValue(2L)
+        );
+    }
+
+    @Test
+    void should_be_failed_when_shadow_fails() throws Exception {
+        new JdbcTemplate(shadow).execute("ALTER TABLE MEMBER RENAME TO OTHER");
+        new JdbcTemplate(dataSource).queryForList(SQL, String.class, 2);
+        final ShadowRead read = reads.poll(1, TimeUnit.SECONDS);
+        new JdbcTemplate(shadow).execute("ALTER TABLE OTHER RENAME TO MEMBER");
+        assertAll(
+            () -> assertThat(read.getResult()).isEqualTo(ShadowRead.Result.Failed),
+            () -> assertThat(read.getShadow()).isEmpty()
+        );
+    }
+
+    @Test
+    void should_be_not_shadow_read_in_transaction() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+                statement.setInt(1, 2);
+                statement.executeQuery().close();
+            }
+            connection.rollback();
+        }
+        assertThat(reads.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void should_be_counted_rejected_when_executor_saturated() throws Exception {
+        executor.shutdown();
+        assertThat(new JdbcTemplate(dataSource).queryForList(SQL, String.class, 2)).hasSize(2);
+        assertThat(reader.getRejected()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class SqlFingerprintTest {
+    @Test
+    void should_be_replaced_literals_with_placeholder() {
+        assertAll(
+            () -> assertThat(SqlFingerprint.of("SELECT * FROM MEMBER WHERE ID = 1 AND NAME = 'it''s'"))
+                .isEqualTo("SELECT * FROM MEMBER WHERE ID = ? AND NAME = ?"),
+            () -> assertThat(SqlFingerprint.of("SELECT * FROM MEMBER2 WHERE SCORE > 1.5"))
+                .isEqualTo("SELECT * FROM MEMBER2 WHERE SCORE > ?")
+        );
+    }
+
+    @Test
+    void should_be_removed_comments_and_whitespace() {
+        assertThat(SqlFingerprint.of("/* find */ SELECT *\n  FROM MEMBER -- all\n WHERE ID = ?"))
+            .isEqualTo("SELECT * FROM MEMBER WHERE ID = ?");
+    }
+
+    @Test
+    void should_be_collapsed_lists_and_rows() {
+        assertAll(
+            () -> assertThat(SqlFingerprint.of("SELECT * FROM MEMBER WHERE ID IN (1, 2, 3)"))
+                .isEqualTo("SELECT * FROM MEMBER WHERE ID IN (?)"),
+            () -> assertThat(SqlFingerprint.of("INSERT INTO MEMBER VALUES (?, ?), (?, ?)"))
+                .isEqualTo("INSERT INTO MEMBER VALUES (?)")
+        );
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring.statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.aafwu00.routing.datasource.spring.RoutingTarget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * @author Taeho Kim
+ */
+class StatementStatisticsTest {
+    private static final RoutingTarget TARGET = new RoutingTarget("Replication", "dataSource", "Slave");
+    private final List<String> executed = new ArrayList<>();
+    private StatementStatistics statistics;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcDataSource target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:STATEMENTS;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(target).execute("CREATE TABLE MEMBER (ID INT PRIMARY KEY, NAME VARCHAR(10))");
+        statistics = new StatementStatistics(2);
+        statistics.addListener((routingTarget, fingerprint, nanos) -> executed.add(fingerprint));
+        final DataSource dataSource = new StatementTimedDataSource(target, TARGET, statistics);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE MEMBER");
+    }
+
+    @Test
+    void should_be_recorded_by_fingerprint() {
+        jdbcTemplate.update("INSERT INTO MEMBER VALUES (?, ?)", 1, "a");
+        jdbcTemplate.update("INSERT INTO MEMBER VALUES (?, ?)", 2, "b");
+        jdbcTemplate.update("INSERT INTO MEMBER VALUES (?, ?)", 3, "c");
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MEMBER WHERE ID > 0", Integer.class);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MEMBER WHERE ID > 1", Integer.class);
+        jdbcTemplate.queryForObject("SELECT NAME FROM MEMBER WHERE ID = 1", String.class);
+        final List<StatementStats> frequent = statistics.getMostFrequent(TARGET, 1);
+        assertAll(
+            () -> assertThat(statistics.getTargets()).containsExactly(TARGET),
+            () -> assertThat(frequent).hasSize(1),
+            () -> assertThat(frequent.get(0).getCount()).isEqualTo(3),
+            () -> assertThat(frequent.get(0).getMaxNanos()).isPositive(),
+            () -> assertThat(statistics.getSlowest(TARGET, 10)).extracting(StatementStats::getFingerprint)
+                                                               .hasSize(2)
+                                                               .contains("SELECT NAME FROM MEMBER WHERE ID = ?"),
+            () -> assertThat(statistics.getDropped()).isEqualTo(2),
+            () -> assertThat(executed).hasSize(6)
+        );
+    }
+
+    @Test
+    void should_be_kept_slowest_statements_apart_from_frequent_ones() {
+        final StatementStatistics tables = new StatementStatistics(4);
+        record(tables, "a", 10, 5);
+        record(tables, "b", 20, 4);
+        record(tables, "c", 30, 3);
+        record(tables, "d", 40, 2);
+        record(tables, "e", 1000, 1);
+        assertAll(
+            () -> assertThat(tables.getMostFrequent(TARGET, 10)).extracting(StatementStats::getFingerprint)
+                                                                .containsExactly("a", "b", "c", "e"),
+            () -> assertThat(tables.getSlowest(TARGET, 2)).extracting(StatementStats::getFingerprint)
+                                                          .containsExactly("e", "d"),
+            () -> assertThat(tables.getDropped()).isEqualTo(2)
+        );
+        record(tables, "f", 5, 1);
+        assertAll(
+            () -> assertThat(tables.getMostFrequent(TARGET, 10)).extracting(StatementStats::getFingerprint)
+                                                                .containsExactly("a", "b", "c", "f"),
+            () -> assertThat(tables.getSlowest(TARGET, 10)).extracting(StatementStats::getFingerprint)
+                                                           .containsExactly("e", "d", "c", "b"),
+            () -> assertThat(tables.getDropped()).isEqualTo(3)
+        );
+    }
+
+    private void record(final StatementStatistics tables, final String fingerprint, final long nanos, final int times) {
+        for (int i = 0; i < times; i++) {
+            tables.record(TARGET, fingerprint, nanos);
+        }
+    }
+
+    @Test
+    void should_be_recorded_failed_execution() {
+        assertThatThrownBy(() -> jdbcTemplate.queryForObject("SELECT NAME FROM OTHER WHERE ID = 1", String.class))
+            .isInstanceOf(DataAccessException.class);
+        assertThat(executed).containsExactly("SELECT NAME FROM OTHER WHERE ID = ?");
+    }
+
+    @Test
+    void fingerprint_should_be_cached_by_sql() {
+        final String sql = "SELECT NAME FROM MEMBER WHERE ID = 1";
+        final String fingerprint = statistics.fingerprintOf(sql);
+        assertAll(
+            () -> assertThat(fingerprint).isEqualTo("SELECT NAME FROM MEMBER WHERE ID = ?"),
+            () -> assertThat(statistics.fingerprintOf(sql)).isSameAs(fingerprint),
+            () -> assertThat(statistics.fingerprintOf("SELECT NAME FROM MEMBER WHERE ID = 2")).isEqualTo(fingerprint)
+        );
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Taeho Kim
+ */
+class RoutingContextHolderTest {
+    @Test
+    void should_be_bound_only_in_scope() {
+        RoutingContext.run("mapped", () -> {
+            assertThat(RoutingContext.peek()).contains("mapped");
+        });
+        assertThat(RoutingContext.peek()).isEmpty();
+    }
+
+    @Test
+    void should_be_hidden_attached_context_by_nested_scope() {
+        RoutingContext.run("outer", () -> {
+            try (RoutingContext.Scope ignored = RoutingContext.push("attached")) {
+                assertThat(RoutingContext.peek()).contains("attached");
+                RoutingContext.empty().wrap(() -> {
+                    assertThat(RoutingContext.peek()).isEmpty();
+                }).run();
+                assertThat(RoutingContext.peek()).contains("attached");
+            }
+            assertThat(RoutingContext.peek()).contains("outer");
+        });
+        assertThat(RoutingContext.peek()).isEmpty();
+    }
+
+    @Test
+    void should_be_carried_to_virtual_thread_by_wrapped_task() throws Exception {
+        final Callable<Optional<Object>> peek = RoutingContext::peek;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Optional<Object>> key = RoutingContext.call(ReplicationType.Slave,
+                                                                     () -> executor.submit(RoutingContext.capture().wrap(peek)));
+            assertThat(key.get()).contains(ReplicationType.Slave);
+        }
+    }
+}
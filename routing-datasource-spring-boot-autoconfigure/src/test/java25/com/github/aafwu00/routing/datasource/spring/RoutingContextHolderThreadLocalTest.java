@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.aafwu00.routing.datasource.spring;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Run in own JVM by `forkEvery`, as thread local is consulted for good once attach is used.
+ *
+ * @author Taeho Kim
+ */
+class RoutingContextHolderThreadLocalTest {
+    @Test
+    void should_not_create_thread_locals_of_virtual_thread_until_attach_is_used() throws Exception {
+        assertThat(threadLocalsAfter(() -> RoutingContext.call("mapped", RoutingContext::peek))).isNull();
+        assertThat(threadLocalsAfter(() -> RoutingContext.callAll(Arrays.asList("mapped", ReplicationType.Slave),
+                                                                  RoutingContext::peek))).isNull();
+        try (RoutingContext.Scope ignored = RoutingContext.push("attached")) {
+            assertThat(RoutingContext.peek()).contains("attached");
+        }
+        assertThat(threadLocalsAfter(RoutingContext::peek)).isNotNull();
+    }
+
+    private Object threadLocalsAfter(final Callable<?> task) throws Exception {
+        final Field field = Thread.class.getDeclaredField("threadLocals");
+        field.setAccessible(true);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return executor.submit(() -> {
+                task.call();
+                return field.get(Thread.currentThread());
+            }).get();
+        }
+    }
+}